@@ -0,0 +1,189 @@
+import { SocketCommand } from '../../shared/models';
+
+/**
+ * Decoder for the server's binary protocol (subprotocol `turrest.bin.v1`).
+ *
+ * Frames are `u8 version, u8 opcode, varint tick, varint count` followed by
+ * fixed-layout entries. They decode to the same SocketCommand shape as the
+ * JSON form, so game handlers do not care which protocol was negotiated.
+ */
+export const BINARY_PROTOCOL = 'turrest.bin.v1';
+export const JSON_PROTOCOL = 'turrest.json.v1';
+
+const VERSION = 1;
+const POSITION_SCALE = 100;
+
+const OP_CREEP_SPAWN = 2;
+const OP_TOWER_ATTACK = 3;
+const OP_CREEP_DELTA = 4;
+const OP_CREEP_KEYFRAME = 5;
+const OP_TICK_FRAME = 6;
+
+const PART_BINARY = 0;
+
+const FLAG_PROGRESS = 1;
+const FLAG_HP = 1 << 1;
+const FLAG_SPEED = 1 << 2;
+
+const utf8 = new TextDecoder();
+
+class FrameReader {
+  private offset = 0;
+  private readonly view: DataView;
+
+  constructor(private readonly bytes: Uint8Array) {
+    this.view = new DataView(bytes.buffer, bytes.byteOffset, bytes.byteLength);
+  }
+
+  byte(): number {
+    return this.view.getUint8(this.offset++);
+  }
+
+  varint(): number {
+    let value = 0;
+    let multiplier = 1;
+    let b: number;
+    do {
+      b = this.byte();
+      value += (b & 0x7f) * multiplier;
+      multiplier *= 128;
+    } while (b & 0x80);
+    return value;
+  }
+
+  position(): number {
+    const value = this.view.getUint16(this.offset);
+    this.offset += 2;
+    return value / POSITION_SCALE;
+  }
+
+  float(): number {
+    const value = this.view.getFloat32(this.offset);
+    this.offset += 4;
+    return value;
+  }
+
+  string(): string {
+    return utf8.decode(this.bytesField());
+  }
+
+  bytesField(): Uint8Array {
+    const length = this.varint();
+    const value = this.bytes.subarray(this.offset, this.offset + length);
+    this.offset += length;
+    return value;
+  }
+
+  uuid(): string {
+    let hex = '';
+    for (let i = 0; i < 16; i++) {
+      hex += this.byte().toString(16).padStart(2, '0');
+    }
+    return `${hex.slice(0, 8)}-${hex.slice(8, 12)}-${hex.slice(12, 16)}-${hex.slice(16, 20)}-${hex.slice(20)}`;
+  }
+}
+
+export function decodeBinaryFrame(buffer: ArrayBuffer): SocketCommand | null {
+  return decodeFrame(new Uint8Array(buffer));
+}
+
+function decodeFrame(bytes: Uint8Array): SocketCommand | null {
+  const reader = new FrameReader(bytes);
+  if (reader.byte() !== VERSION) {
+    return null;
+  }
+  const opcode = reader.byte();
+  const tick = reader.varint();
+  const count = reader.varint();
+
+  switch (opcode) {
+    case OP_CREEP_SPAWN: {
+      const spawns = [];
+      for (let i = 0; i < count; i++) {
+        const creepId = reader.varint();
+        const creepType = reader.string();
+        const x = reader.position();
+        const y = reader.position();
+        const playerNumber = reader.byte();
+        const sender = reader.byte();
+        spawns.push({
+          creepId, creepType, x, y, playerNumber,
+          spawnedByPlayer: sender === 0 ? null : sender - 1,
+          hitpoints: reader.varint(),
+          maxHitpoints: reader.varint(),
+          speed: reader.float()
+        });
+      }
+      return { subject: 'GAME', topic: 'BATCHED_SPAWN_CREEP', data: { tick, spawns } };
+    }
+    case OP_TOWER_ATTACK: {
+      const attacks = [];
+      for (let i = 0; i < count; i++) {
+        attacks.push({
+          towerId: reader.uuid(),
+          towerX: reader.position(),
+          towerY: reader.position(),
+          targetCreepId: reader.varint(),
+          targetX: reader.position(),
+          targetY: reader.position(),
+          damage: reader.varint(),
+          bulletType: reader.string()
+        });
+      }
+      return { subject: 'GAME', topic: 'BATCHED_TOWER_ATTACK', data: { tick, attacks } };
+    }
+    case OP_CREEP_DELTA: {
+      const updates = [];
+      for (let i = 0; i < count; i++) {
+        const update: Record<string, number> = { id: reader.varint() };
+        const mask = reader.byte();
+        if (mask & FLAG_PROGRESS) {
+          update['progress'] = reader.float();
+        }
+        if (mask & FLAG_HP) {
+          update['hp'] = reader.varint();
+        }
+        if (mask & FLAG_SPEED) {
+          update['speed'] = reader.float();
+        }
+        updates.push(update);
+      }
+      return { subject: 'GAME', topic: 'CREEP_DELTA', data: { tick, updates } };
+    }
+    case OP_CREEP_KEYFRAME: {
+      const creeps = [];
+      for (let i = 0; i < count; i++) {
+        const creepId = reader.varint();
+        const creepType = reader.string();
+        const x = reader.position();
+        const y = reader.position();
+        const playerNumber = reader.byte();
+        const sender = reader.byte();
+        creeps.push({
+          creepId, creepType, x, y, playerNumber,
+          spawnedByPlayer: sender === 0 ? null : sender - 1,
+          hitpoints: reader.varint(),
+          maxHitpoints: reader.varint(),
+          speed: reader.float(),
+          progress: reader.float()
+        });
+      }
+      return { subject: 'GAME', topic: 'CREEP_KEYFRAME', data: { tick, creeps } };
+    }
+    case OP_TICK_FRAME: {
+      // Everything one tick produced for this player: nested binary frames or JSON commands
+      const commands = [];
+      for (let i = 0; i < count; i++) {
+        const kind = reader.byte();
+        const part = reader.bytesField();
+        const command = kind === PART_BINARY ? decodeFrame(part) : JSON.parse(utf8.decode(part));
+        if (command) {
+          commands.push(command);
+        }
+      }
+      return { subject: 'GAME', topic: 'TICK_FRAME', data: { tick, commands } };
+    }
+    default:
+      return null;
+  }
+}
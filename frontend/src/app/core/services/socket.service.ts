@@ -3,6 +3,7 @@ import { Router } from '@angular/router';
 import { Subject, Observable, filter, map } from 'rxjs';
 import { SocketCommand, ClientSocketSubject, SocketTopic } from '../../shared/models';
 import { AuthService } from './auth.service';
+import { BINARY_PROTOCOL, JSON_PROTOCOL, decodeBinaryFrame } from './binary-frame.decoder';
 
 export type ConnectionState = 'disconnected' | 'connecting' | 'connected' | 'error' | 'server_down';
 
@@ -34,7 +35,9 @@ export class SocketService {
     this.connectionState.set('connecting');
 
     try {
-      this.socket = new WebSocket(this.WS_URL);
+      // Offer the binary protocol for hot game topics; the server falls back to JSON otherwise
+      this.socket = new WebSocket(this.WS_URL, [BINARY_PROTOCOL, JSON_PROTOCOL]);
+      this.socket.binaryType = 'arraybuffer';
 
       this.socket.onopen = () => {
         console.log('WebSocket connected');
@@ -44,6 +47,15 @@ export class SocketService {
       };
 
       this.socket.onmessage = (event) => {
+        if (event.data instanceof ArrayBuffer) {
+          const frame = decodeBinaryFrame(event.data);
+          if (frame) {
+            this.emit(frame);
+          } else {
+            console.error('Failed to decode binary frame');
+          }
+          return;
+        }
         try {
           const command: SocketCommand = JSON.parse(event.data);
           console.log('Received:', command);
@@ -56,7 +68,7 @@ export class SocketService {
           // Any successful message means we're authenticated - reset reconnect counter
           this.reconnectAttempts = 0;
 
-          this.messageSubject.next(command);
+          this.emit(command);
         } catch (e) {
           console.error('Failed to parse message:', event.data);
         }
@@ -78,6 +90,19 @@ export class SocketService {
     }
   }
 
+  /**
+   * Hand a command to subscribers; tick frames are unpacked into the commands they carry, in order.
+   */
+  private emit(command: SocketCommand): void {
+    if (command.subject === 'GAME' && command.topic === 'TICK_FRAME') {
+      for (const part of command.data['commands'] as SocketCommand[]) {
+        this.messageSubject.next(part);
+      }
+      return;
+    }
+    this.messageSubject.next(command);
+  }
+
   private authenticate(): void {
     const token = this.authService.getToken();
     const userId = this.authService.getUserId();
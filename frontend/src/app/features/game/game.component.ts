@@ -2,7 +2,7 @@ import { Component, OnInit, OnDestroy, ElementRef, ViewChild, AfterViewInit, Hos
 import { CommonModule } from '@angular/common';
 import { Router } from '@angular/router';
 import { LobbyService, SocketService, AuthService, AudioService, InputService } from '../../core/services';
-import { TerrainType, Tile, StructureType, PlayerResources, BuildingDefinition, BUILDING_DEFINITIONS, Creep, PlayerScoreEntry, Tower, TowerAttack, TowerDefinition, TOWER_DEFINITIONS, CreepDefinition, InputAction, InputContext } from '../../shared/models';
+import { TerrainType, Tile, StructureType, PlayerResources, BuildingDefinition, BUILDING_DEFINITIONS, Creep, CreepPath, PlayerScoreEntry, Tower, TowerAttack, TargetingStrategy, TowerDefinition, TOWER_DEFINITIONS, CreepDefinition, InputAction, InputContext } from '../../shared/models';
 import { getPlayerColor } from '../../shared/constants/player-colors';
 import { ChatComponent } from '../../shared/components/chat/chat.component';
 import { TileInfoComponent } from './components/tile-info/tile-info.component';
@@ -474,7 +474,8 @@ export class GameComponent implements OnInit, OnDestroy, AfterViewInit {
   playerColorMap: Map<number, number> = new Map(); // playerNumber -> colorIndex
 
   // Creeps
-  creeps: Map<string, Creep> = new Map();
+  creeps: Map<number, Creep> = new Map();
+  private creepPaths: CreepPath[] = [];
   gameOver = false;
   gameOverMessage = '';
 
@@ -682,6 +683,19 @@ export class GameComponent implements OnInit, OnDestroy, AfterViewInit {
       });
     this.subscriptions.push(batchedUpdateSub);
 
+    // Listen for creep state deltas and keyframes
+    const creepDeltaSub = this.socketService.onCommand('GAME', 'CREEP_DELTA')
+      .subscribe(cmd => {
+        this.handleCreepDelta(cmd.data);
+      });
+    this.subscriptions.push(creepDeltaSub);
+
+    const creepKeyframeSub = this.socketService.onCommand('GAME', 'CREEP_KEYFRAME')
+      .subscribe(cmd => {
+        this.handleCreepKeyframe(cmd.data);
+      });
+    this.subscriptions.push(creepKeyframeSub);
+
     // Listen for creep despawn
     const despawnCreepSub = this.socketService.onCommand('GAME', 'DESPAWN_CREEP')
       .subscribe(cmd => {
@@ -689,6 +703,14 @@ export class GameComponent implements OnInit, OnDestroy, AfterViewInit {
       });
     this.subscriptions.push(despawnCreepSub);
 
+    const batchedDespawnSub = this.socketService.onCommand('GAME', 'BATCHED_DESPAWN_CREEP')
+      .subscribe(cmd => {
+        for (const despawn of cmd.data['despawns'] as Array<Record<string, any>>) {
+          this.handleDespawnCreep(despawn);
+        }
+      });
+    this.subscriptions.push(batchedDespawnSub);
+
     // Listen for player damage - run in NgZone to trigger change detection
     const damageSub = this.socketService.onCommand('GAME', 'PLAYER_TAKES_DAMAGE')
       .subscribe(cmd => {
@@ -724,6 +746,13 @@ export class GameComponent implements OnInit, OnDestroy, AfterViewInit {
       });
     this.subscriptions.push(towerPlacedSub);
 
+    // Listen for tower targeting changes
+    const towerTargetingSub = this.socketService.onCommand('GAME', 'TOWER_TARGETING_CHANGED')
+      .subscribe(cmd => {
+        this.handleTowerTargetingChanged(cmd.data);
+      });
+    this.subscriptions.push(towerTargetingSub);
+
     // Listen for tower attacks
     const towerAttackSub = this.socketService.onCommand('GAME', 'BATCHED_TOWER_ATTACK')
       .subscribe(cmd => {
@@ -793,7 +822,15 @@ export class GameComponent implements OnInit, OnDestroy, AfterViewInit {
   private updateCreepPositions(deltaTime: number): void {
     if (deltaTime <= 0) return;
 
+    const now = performance.now();
     for (const creep of this.creeps.values()) {
+      const path = this.creepPaths[creep.playerNumber];
+      if (path && creep.progress !== undefined && creep.anchorTime !== undefined) {
+        // Extrapolate along the path from the last anchor; the server only re-anchors on speed changes
+        this.placeOnPath(creep, path, creep.progress + creep.speed * (now - creep.anchorTime) / 1000);
+        continue;
+      }
+
       const dx = creep.targetX - creep.x;
       const dy = creep.targetY - creep.y;
       const distance = Math.sqrt(dx * dx + dy * dy);
@@ -816,6 +853,21 @@ export class GameComponent implements OnInit, OnDestroy, AfterViewInit {
     }
   }
 
+  private placeOnPath(creep: Creep, path: CreepPath, progress: number): void {
+    const last = path.xs.length - 1;
+    if (progress >= path.cumulative[last]) {
+      creep.x = path.xs[last];
+      creep.y = path.ys[last];
+      return;
+    }
+    let i = 1;
+    while (i < last && path.cumulative[i] < progress) i++;
+    const segment = path.cumulative[i] - path.cumulative[i - 1];
+    const t = segment > 0 ? Math.max(0, progress - path.cumulative[i - 1]) / segment : 1;
+    creep.x = path.xs[i - 1] + (path.xs[i] - path.xs[i - 1]) * t;
+    creep.y = path.ys[i - 1] + (path.ys[i] - path.ys[i - 1]) * t;
+  }
+
   private updateBulletPositions(deltaTime: number): void {
     if (deltaTime <= 0) return;
 
@@ -1129,6 +1181,19 @@ export class GameComponent implements OnInit, OnDestroy, AfterViewInit {
       this.tiles.set(`${tile.x},${tile.y}`, tile);
     }
 
+    this.creepPaths = ((data['paths'] as number[][] | undefined) || []).map(flat => {
+      const xs: number[] = [];
+      const ys: number[] = [];
+      const cumulative: number[] = [];
+      for (let i = 0; i < flat.length; i += 2) {
+        const n = xs.length;
+        cumulative.push(n === 0 ? 0 : cumulative[n - 1] + Math.hypot(flat[i] - xs[n - 1], flat[i + 1] - ys[n - 1]));
+        xs.push(flat[i]);
+        ys.push(flat[i + 1]);
+      }
+      return { xs, ys, cumulative };
+    });
+
     this.hasReceivedTiles = true;
     this.render();
   }
@@ -1138,7 +1203,7 @@ export class GameComponent implements OnInit, OnDestroy, AfterViewInit {
     const y = data['y'] as number;
     const spawnedByPlayer = data['spawnedByPlayer'] as number | null ?? null;
     const creep: Creep = {
-      id: data['creepId'] as string,
+      id: data['creepId'] as number,
       creepType: data['creepType'] as string,
       x: x,
       y: y,
@@ -1148,14 +1213,16 @@ export class GameComponent implements OnInit, OnDestroy, AfterViewInit {
       spawnedByPlayer: spawnedByPlayer,
       hitpoints: data['hitpoints'] as number,
       maxHitpoints: data['maxHitpoints'] as number,
-      speed: data['speed'] as number || 0.33
+      speed: data['speed'] as number || 0.33,
+      progress: 0,
+      anchorTime: performance.now()
     };
     this.creeps.set(creep.id, creep);
     console.log('Spawned creep:', creep.id, 'at', creep.x, creep.y, 'spawnedBy:', spawnedByPlayer);
   }
 
   private handleUpdateCreep(data: Record<string, any>): void {
-    const creepId = data['creepId'] as string;
+    const creepId = data['creepId'] as number;
     const creep = this.creeps.get(creepId);
     if (creep) {
       // Set target position for interpolation (don't jump immediately)
@@ -1168,7 +1235,7 @@ export class GameComponent implements OnInit, OnDestroy, AfterViewInit {
   private handleBatchedCreepUpdate(data: Record<string, any>): void {
     const updates = data['updates'] as Array<Record<string, any>>;
     for (const update of updates) {
-      const creep = this.creeps.get(update['id'] as string);
+      const creep = this.creeps.get(update['id'] as number);
       if (creep) {
         creep.targetX = update['x'] as number;
         creep.targetY = update['y'] as number;
@@ -1177,6 +1244,58 @@ export class GameComponent implements OnInit, OnDestroy, AfterViewInit {
     }
   }
 
+  /**
+   * Apply changed fields only: progress re-anchors the creep on its path, from where it walks at its speed.
+   * Removed creeps arrive as BATCHED_DESPAWN_CREEP.
+   */
+  private handleCreepDelta(data: Record<string, any>): void {
+    const updates = data['updates'] as Array<Record<string, any>>;
+    for (const update of updates) {
+      const creep = this.creeps.get(update['id'] as number);
+      if (!creep) continue;
+      if (update['progress'] !== undefined) {
+        creep.progress = update['progress'] as number;
+        creep.anchorTime = performance.now();
+      }
+      if (update['hp'] !== undefined) {
+        creep.hitpoints = update['hp'] as number;
+      }
+      if (update['speed'] !== undefined) {
+        creep.speed = update['speed'] as number;
+      }
+    }
+  }
+
+  /**
+   * Replace all creeps with the server's full state (periodic, and after reconnecting).
+   */
+  private handleCreepKeyframe(data: Record<string, any>): void {
+    const creeps = data['creeps'] as Array<Record<string, any>>;
+    const next = new Map<number, Creep>();
+    const now = performance.now();
+    for (const state of creeps) {
+      const id = state['creepId'] as number;
+      const x = state['x'] as number;
+      const y = state['y'] as number;
+      next.set(id, {
+        id,
+        creepType: state['creepType'] as string,
+        x,
+        y,
+        targetX: x,
+        targetY: y,
+        progress: state['progress'] as number,
+        anchorTime: now,
+        playerNumber: state['playerNumber'] as number,
+        spawnedByPlayer: state['spawnedByPlayer'] as number | null ?? null,
+        hitpoints: state['hitpoints'] as number,
+        maxHitpoints: state['maxHitpoints'] as number,
+        speed: state['speed'] as number
+      });
+    }
+    this.creeps = next;
+  }
+
   private handleBatchedSpawnCreep(data: Record<string, any>): void {
     const spawns = data['spawns'] as Array<Record<string, any>>;
     for (const spawn of spawns) {
@@ -1184,7 +1303,7 @@ export class GameComponent implements OnInit, OnDestroy, AfterViewInit {
       const y = spawn['y'] as number;
       const spawnedByPlayer = spawn['spawnedByPlayer'] as number | null ?? null;
       const creep: Creep = {
-        id: spawn['creepId'] as string,
+        id: spawn['creepId'] as number,
         creepType: spawn['creepType'] as string,
         x: x,
         y: y,
@@ -1194,7 +1313,9 @@ export class GameComponent implements OnInit, OnDestroy, AfterViewInit {
         spawnedByPlayer: spawnedByPlayer,
         hitpoints: spawn['hitpoints'] as number,
         maxHitpoints: spawn['maxHitpoints'] as number,
-        speed: spawn['speed'] as number || 0.66 // Default to doubled speed
+        speed: spawn['speed'] as number || 0.66, // Default to doubled speed
+        progress: 0,
+        anchorTime: performance.now()
       };
       this.creeps.set(creep.id, creep);
     }
@@ -1202,7 +1323,7 @@ export class GameComponent implements OnInit, OnDestroy, AfterViewInit {
   }
 
   private handleDespawnCreep(data: Record<string, any>): void {
-    const creepId = data['creepId'] as string;
+    const creepId = data['creepId'] as number;
     // Note: gold display is now handled by ResourceEventCommand
     // The goldAwarded/awardedToPlayer are kept for backwards compatibility
     // but the actual floating text is triggered by the separate RESOURCE_EVENT
@@ -1222,13 +1343,28 @@ export class GameComponent implements OnInit, OnDestroy, AfterViewInit {
       damage: data['damage'] as number,
       cooldownMs: data['cooldownMs'] as number,
       theoreticalFireRate: data['theoreticalFireRate'] as number,
-      practicalFireRate: data['practicalFireRate'] as number
+      practicalFireRate: data['practicalFireRate'] as number,
+      targeting: data['targeting'] as TargetingStrategy
     };
     this.towers.set(tower.id, tower);
     console.log(`Tower placed: ${tower.towerName} at (${tower.x}, ${tower.y}) by player ${tower.playerNumber}`);
     console.log(`  Rate: ${tower.theoreticalFireRate.toFixed(2)}/s theoretical, ${tower.practicalFireRate.toFixed(2)}/s practical`);
   }
 
+  private handleTowerTargetingChanged(data: Record<string, any>): void {
+    const tower = this.towers.get(data['towerId'] as string);
+    if (tower) {
+      tower.targeting = data['targeting'] as TargetingStrategy;
+    }
+  }
+
+  setTowerTargeting(tower: Tower, targeting: TargetingStrategy): void {
+    this.socketService.sendCommand('GAME', 'SET_TOWER_TARGETING', {
+      towerId: tower.id,
+      targeting
+    });
+  }
+
   private handleTowerAttacks(data: Record<string, any>): void {
     const attacks = data['attacks'] as Array<Record<string, any>>;
     for (const attack of attacks) {
@@ -1236,7 +1372,7 @@ export class GameComponent implements OnInit, OnDestroy, AfterViewInit {
         towerId: attack['towerId'] as string,
         towerX: attack['towerX'] as number,
         towerY: attack['towerY'] as number,
-        targetCreepId: attack['targetCreepId'] as string,
+        targetCreepId: attack['targetCreepId'] as number,
         targetX: attack['targetX'] as number,
         targetY: attack['targetY'] as number,
         damage: attack['damage'] as number,
@@ -80,7 +80,7 @@ export interface GamePlayer {
 }
 
 export interface Creep {
-  id: string;
+  id: number;             // Compact server-assigned creep id
   creepType: string;
   x: number;              // Current rendered position (interpolated)
   y: number;
@@ -91,6 +91,14 @@ export interface Creep {
   hitpoints: number;
   maxHitpoints: number;
   speed: number;          // Tiles per second
+  progress?: number;      // Distance along the section path at anchorTime
+  anchorTime?: number;    // performance.now() when progress was received
+}
+
+export interface CreepPath {
+  xs: number[];           // Tile-center polyline, starting at the spawner
+  ys: number[];
+  cumulative: number[];   // Distance from the spawner to each point
 }
 
 export interface PlayerScoreEntry {
@@ -190,13 +198,16 @@ export interface Tower {
   cooldownMs: number;
   theoreticalFireRate: number;
   practicalFireRate: number;
+  targeting: TargetingStrategy;
 }
 
+export type TargetingStrategy = 'FIRST' | 'LAST' | 'STRONGEST' | 'WEAKEST' | 'CLOSEST';
+
 export interface TowerAttack {
   towerId: string;
   towerX: number;
   towerY: number;
-  targetCreepId: string;
+  targetCreepId: number;
   targetX: number;
   targetY: number;
   damage: number;
@@ -1,31 +1,49 @@
 package be.lefief.config;
 
-import be.lefief.controller.SocketController;
 import be.lefief.lobby.LobbyManager;
+import be.lefief.service.lobby.LobbyService;
 import be.lefief.service.userprofile.UserProfileService;
 import be.lefief.sockets.handlers.routing.CommandRouter;
+import be.lefief.sockets.nio.FrameCodec;
+import be.lefief.sockets.nio.NioSocketServer;
 import be.lefief.util.ClientListener;
 import be.lefief.util.SocketManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.io.IOException;
 import java.util.Collection;
 
 @Configuration
 public class Test {
 
-    @Bean
-    public SocketController socketController() {
-        return new SocketController(1234);
+    /**
+     * Newline-delimited lobby socket. Served by the selector transport, so its connections
+     * need no reader or writer threads of their own.
+     */
+    @Bean(destroyMethod = "stop")
+    public NioSocketServer lineSocketServer(
+            @Value("${turrest.tcp.line.port:1234}") int port,
+            LobbyManager lobbyManager,
+            CommandRouter commandRouter
+    ) throws IOException {
+        NioSocketServer server = new NioSocketServer(port, 1, FrameCodec.LINES);
+        server.start(lobbyManager, commandRouter);
+        return server;
     }
 
-    @Bean
-    Object socketManager(
-            SocketController socketController,
-            LobbyManager lobbyManager,
+    @Bean(destroyMethod = "stop")
+    @ConditionalOnProperty(name = "turrest.tcp.nio.enabled", havingValue = "true")
+    public NioSocketServer nioSocketServer(
+            @Value("${turrest.tcp.nio.port:1235}") int port,
+            @Value("${turrest.tcp.nio.io-threads:0}") int ioThreads,
+            LobbyService lobbyService,
             CommandRouter commandRouter
-    ) {
-        socketController.startAcceptConnections(lobbyManager, commandRouter);
-        return new Object();
+    ) throws IOException {
+        NioSocketServer server = new NioSocketServer(port, ioThreads);
+        server.start(lobbyService, commandRouter);
+        return server;
     }
 }
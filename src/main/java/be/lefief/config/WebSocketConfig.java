@@ -1,12 +1,15 @@
 package be.lefief.config;
 
 import be.lefief.sockets.WebSocketConnectionHandler;
+import be.lefief.sockets.reactive.ReactiveWebSocketConfig;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
 
 @Configuration
+@Profile("!" + ReactiveWebSocketConfig.PROFILE)
 @EnableWebSocket
 public class WebSocketConfig implements WebSocketConfigurer {
 
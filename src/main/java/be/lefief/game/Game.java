@@ -1,6 +1,7 @@
 package be.lefief.game;
 
 import be.lefief.sockets.ClientSession;
+import be.lefief.sockets.PreparedMessage;
 import be.lefief.sockets.commands.ServerToClientCommand;
 import lombok.Getter;
 import lombok.Setter;
@@ -10,32 +11,43 @@ import org.slf4j.LoggerFactory;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 @Getter
 public abstract class Game<T extends Player> {
     private static final Logger LOG = LoggerFactory.getLogger(Game.class);
-    private static final int COMMUNICATION_POOL_SIZE = 4;
+    public static final int MAX_COMMANDS_PER_TICK = 1024;
 
     private Map<Integer, T> playerByNumber;
     private UUID gameID;
     private UUID lobbyHostId;
-    private ExecutorService communicationPool;
+    private GameLoop gameLoop;
+    private final GameClock clock = new GameClock();
 
     @Setter
-    private boolean gameIsRunning = true;
+    private volatile boolean gameIsRunning = true;
 
     @Setter
     private Runnable onGameEnd;
 
-    public Game(List<ClientSession> players, UUID lobbyHostId, Map<UUID, Integer> playerColorMap) {
+    // Per-player frames of the tick being run; only the tick thread collects into them
+    @Getter(lombok.AccessLevel.NONE)
+    private final Map<Integer, TickFrame> tickFrames = new HashMap<>();
+    @Getter(lombok.AccessLevel.NONE)
+    private volatile Thread tickThread;
+
+    // Commands from handler threads waiting for the tick thread; lock-free, many producers, one consumer
+    @Getter(lombok.AccessLevel.NONE)
+    private final Queue<Runnable> inbound = new ConcurrentLinkedQueue<>();
+
+    public Game(List<ClientSession> players, UUID lobbyHostId, Map<UUID, Integer> playerColorMap,
+                GameLoop gameLoop) {
         playerByNumber = new HashMap<>();
         gameID = UUID.randomUUID();
         this.lobbyHostId = lobbyHostId;
-        this.communicationPool = Executors.newFixedThreadPool(COMMUNICATION_POOL_SIZE);
+        this.gameLoop = gameLoop;
         for (int i = 0; i < players.size(); i++) {
             ClientSession session = players.get(i);
             int colorIndex = playerColorMap.getOrDefault(session.getUserId(), i);
@@ -54,34 +66,118 @@ public abstract class Game<T extends Player> {
 
     protected abstract void resyncPlayer(T player);
 
+    /**
+     * Encodes the command once and hands the same payload to every connected player.
+     */
     public void broadcastToAllPlayers(ServerToClientCommand command) {
+        PreparedMessage message = PreparedMessage.of(command);
         for (T player : playerByNumber.values()) {
-            sendToPlayer(player, command);
+            sendToPlayer(player, message);
         }
     }
 
     public void sendToPlayer(T player, ServerToClientCommand command) {
-        if (player.isConnected() && player.getClientSession() != null) {
-            // Send directly - ClientSession already handles threading
+        sendToPlayer(player, PreparedMessage.of(command));
+    }
+
+    /**
+     * Send to one player. Inside a tick the message is added to the player's {@link TickFrame}
+     * and goes out with everything else of that tick in {@link #flushTickFrames()}.
+     */
+    public void sendToPlayer(T player, PreparedMessage message) {
+        if (!player.isConnected() || player.getClientSession() == null) {
+            return;
+        }
+        if (Thread.currentThread() == tickThread) {
+            tickFrames.computeIfAbsent(player.getPlayerNumber(), n -> new TickFrame(clock.getTick()))
+                    .add(message);
+            return;
+        }
+        deliver(player, message);
+    }
+
+    /**
+     * Queue a command that reads or changes game state. It runs on the tick thread at the start
+     * of the next tick, in submission order, so game state only ever has one writer and command
+     * effects line up with ticks. Safe to call from any thread. Ignored once the game has ended,
+     * when no tick drains the queue any more.
+     */
+    public void submit(Runnable command) {
+        if (!gameIsRunning) {
+            LOG.debug("Game {} has ended, dropping submitted command", gameID);
+            return;
+        }
+        inbound.add(command);
+    }
+
+    /**
+     * Run the submitted commands, at most {@link #MAX_COMMANDS_PER_TICK}; the rest wait for the
+     * next tick. Tick thread only, before anything else in the tick.
+     */
+    protected void drainInbound() {
+        for (int i = 0; i < MAX_COMMANDS_PER_TICK; i++) {
+            Runnable command = inbound.poll();
+            if (command == null) {
+                return;
+            }
             try {
-                player.getClientSession().sendCommand(command);
-            } catch (Exception e) {
-                LOG.error("Failed to send command to player {}", player.getPlayerNumber(), e);
+                command.run();
+            } catch (RuntimeException e) {
+                LOG.error("Failed to run submitted command", e);
             }
         }
     }
 
-    protected void shutdownCommunicationPool() {
-        if (communicationPool != null) {
-            communicationPool.shutdown();
-            try {
-                if (!communicationPool.awaitTermination(5, TimeUnit.SECONDS)) {
-                    communicationPool.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                communicationPool.shutdownNow();
+    /**
+     * Start collecting this thread's sends into per-player tick frames.
+     */
+    protected void beginTickFrames() {
+        tickThread = Thread.currentThread();
+    }
+
+    /**
+     * Stop collecting and send every player one message with what this tick produced, followed by
+     * the tick's newest {@link be.lefief.sockets.commands.DeliveryPolicy#LATEST_ONLY} commands.
+     */
+    protected void flushTickFrames() {
+        tickThread = null;
+        if (tickFrames.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<Integer, TickFrame> entry : tickFrames.entrySet()) {
+            T player = playerByNumber.get(entry.getKey());
+            TickFrame frame = entry.getValue();
+            if (player == null || !player.isConnected() || player.getClientSession() == null) {
+                continue;
+            }
+            // A lone command needs no envelope
+            if (frame.size() == 1) {
+                deliver(player, frame.get(0));
+            } else if (frame.size() > 1) {
+                deliver(player, PreparedMessage.of(frame));
+            }
+            // Separately, so the outbound queue can drop them once a newer one is queued
+            for (PreparedMessage latest : frame.getLatestOnly()) {
+                deliver(player, latest);
             }
         }
+        tickFrames.clear();
+    }
+
+    private void deliver(T player, PreparedMessage message) {
+        // Send directly - ClientSession already handles threading
+        try {
+            player.getClientSession().sendPrepared(message);
+        } catch (Exception e) {
+            LOG.error("Failed to send command to player {}", player.getPlayerNumber(), e);
+        }
+    }
+
+    /**
+     * Stop ticking and give this game's slot on its game loop back.
+     */
+    protected void releaseGameLoop() {
+        gameLoop.cancel();
     }
 
     public void reconnectPlayer(UUID userId, ClientSession newSession) {
@@ -90,8 +186,8 @@ public abstract class Game<T extends Player> {
             if (oldSession != null && userId.equals(oldSession.getUserId())) {
                 LOG.info("Player {} reconnecting (was disconnected for {}ms)",
                         player.getPlayerNumber(),
-                        player.getDisconnectedAt() != null ?
-                                System.currentTimeMillis() - player.getDisconnectedAt().toEpochMilli() : 0);
+                        player.getDisconnectedAtMs() != null ?
+                                clock.nowMs() - player.getDisconnectedAtMs() : 0);
                 player.setClientSession(newSession);
                 player.markReconnected();
                 resyncPlayer(player);
@@ -104,7 +200,7 @@ public abstract class Game<T extends Player> {
         for (T player : playerByNumber.values()) {
             if (player.getClientSession() != null && userId.equals(player.getClientSession().getUserId())) {
                 LOG.info("Player {} disconnected, starting grace period", player.getPlayerNumber());
-                player.markDisconnected();
+                player.markDisconnected(clock.nowMs());
                 broadcastToAllPlayers(new be.lefief.sockets.commands.client.reception.DisplayChatCommand(
                         player.getClientSession().getUserName() + " disconnected. Waiting for reconnection..."));
             }
@@ -127,7 +223,7 @@ public abstract class Game<T extends Player> {
      */
     protected void checkGracePeriods() {
         for (T player : playerByNumber.values()) {
-            if (player.isGracePeriodExpired()) {
+            if (player.isGracePeriodExpired(clock.nowMs())) {
                 LOG.info("Player {} grace period expired, treating as forfeit", player.getPlayerNumber());
                 onPlayerGracePeriodExpired(player);
             }
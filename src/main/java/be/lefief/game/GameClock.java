@@ -0,0 +1,38 @@
+package be.lefief.game;
+
+/**
+ * Simulation time of one game, advanced only by the game's own ticks.
+ * <p>
+ * Everything time-based inside the simulation (slow effects, grace periods)
+ * reads this clock instead of the wall clock, so a game behaves the same
+ * whether it ticks at 5 Hz on a shard or as fast as possible headless.
+ */
+public class GameClock {
+
+    private volatile long tick;
+    private volatile long nowMs;
+
+    /**
+     * Advance the clock by one tick covering {@code deltaSeconds} of game time.
+     *
+     * @return the new tick number
+     */
+    public long advance(double deltaSeconds) {
+        nowMs += Math.round(deltaSeconds * 1000);
+        return ++tick;
+    }
+
+    /**
+     * Number of ticks simulated so far.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Game time elapsed since the first tick, in milliseconds.
+     */
+    public long nowMs() {
+        return nowMs;
+    }
+}
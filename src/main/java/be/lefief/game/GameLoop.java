@@ -0,0 +1,32 @@
+package be.lefief.game;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives a game's ticks and delayed tasks. A game never owns threads itself.
+ */
+public interface GameLoop {
+
+    /**
+     * Start calling {@code tick} once per game tick.
+     */
+    void start(GameTick tick);
+
+    /**
+     * Run a one-shot task after a delay, on the same thread as the ticks.
+     */
+    void schedule(Runnable task, long delay, TimeUnit unit);
+
+    /**
+     * Stop ticking and drop pending tasks. Safe to call from inside a tick and more than once.
+     */
+    void cancel();
+
+    /**
+     * One step of a game loop.
+     */
+    @FunctionalInterface
+    interface GameTick {
+        void run(double deltaSeconds);
+    }
+}
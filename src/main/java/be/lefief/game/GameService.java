@@ -2,6 +2,7 @@ package be.lefief.game;
 
 import be.lefief.game.turrest01.TurrestGameMode01;
 import be.lefief.game.turrest02.TurrestGameMode02;
+import be.lefief.game.turrest02.level.LevelRegistry;
 import be.lefief.service.lobby.LobbyService;
 import be.lefief.service.turrest02.PersistentStatsService;
 import be.lefief.sockets.ClientSession;
@@ -23,10 +24,15 @@ public class GameService {
     private final Map<UUID, UUID> playerActiveGame;
     private final LobbyService lobbyService;
     private final PersistentStatsService persistentStatsService;
+    private final GameTickScheduler tickScheduler;
+    private final LevelRegistry levelRegistry;
 
-    public GameService(LobbyService lobbyService, PersistentStatsService persistentStatsService) {
+    public GameService(LobbyService lobbyService, PersistentStatsService persistentStatsService,
+                       GameTickScheduler tickScheduler, LevelRegistry levelRegistry) {
         this.lobbyService = lobbyService;
         this.persistentStatsService = persistentStatsService;
+        this.tickScheduler = tickScheduler;
+        this.levelRegistry = levelRegistry;
         games = new ConcurrentHashMap<>();
         playerActiveGame = new ConcurrentHashMap<>();
     }
@@ -36,12 +42,13 @@ public class GameService {
 
         Game<?> game;
         if ("TURREST-mode1".equals(gameType)) {
-            game = new TurrestGameMode01(lobbyPlayers, lobbyHostId, playerColorMap);
+            game = new TurrestGameMode01(lobbyPlayers, lobbyHostId, playerColorMap, tickScheduler.assign(gameType));
         } else if ("TURREST-mode2".equals(gameType)) {
-            game = new TurrestGameMode02(lobbyPlayers, lobbyHostId, playerColorMap, persistentStatsService);
+            game = new TurrestGameMode02(lobbyPlayers, lobbyHostId, playerColorMap, tickScheduler.assign(gameType),
+                    levelRegistry.getDefaultTemplate(), persistentStatsService);
         } else {
             LOG.warn("Unknown game type '{}', defaulting to TURREST-mode1", gameType);
-            game = new TurrestGameMode01(lobbyPlayers, lobbyHostId, playerColorMap);
+            game = new TurrestGameMode01(lobbyPlayers, lobbyHostId, playerColorMap, tickScheduler.assign(gameType));
         }
 
         games.put(game.getGameID(), game);
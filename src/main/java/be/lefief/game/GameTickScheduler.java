@@ -0,0 +1,266 @@
+package be.lefief.game;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives the game loops of all running games on a small, fixed set of shard threads.
+ * <p>
+ * Every game is pinned to one shard for its whole lifetime (the least loaded one
+ * when it is assigned), so its ticks and its delayed tasks always run on the same
+ * thread. Each shard ticks all of its games back to back at {@link #TICK_RATE_MS}.
+ * <p>
+ * Every tick is measured against the time it was due. A game that has fallen
+ * behind is handled according to the configured {@link TickOverrunPolicy}, and
+ * tick duration and lateness are exported per shard as histograms.
+ */
+@Service
+public class GameTickScheduler implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GameTickScheduler.class);
+    public static final int TICK_RATE_MS = 200; // Game tick 5 times per second (5 Hz)
+    public static final double TICK_DURATION_SEC = TICK_RATE_MS / 1000.0;
+    private static final long TICK_RATE_NANOS = TimeUnit.MILLISECONDS.toNanos(TICK_RATE_MS);
+
+    private final Shard[] shards;
+    private final TickOverrunPolicy overrunPolicy;
+    private final int maxBurst;
+
+    @Autowired
+    public GameTickScheduler(@Value("${turrest.tick.shards:0}") int shardCount,
+                             @Value("${turrest.tick.overrun-policy:CATCH_UP}") TickOverrunPolicy overrunPolicy,
+                             @Value("${turrest.tick.max-burst:3}") int maxBurst,
+                             MeterRegistry meterRegistry) {
+        this.overrunPolicy = overrunPolicy;
+        this.maxBurst = Math.max(1, maxBurst);
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        shards = new Shard[count];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(this, i, meterRegistry);
+        }
+        LOG.info("Game tick scheduler started with {} shards at {}ms, overrun policy {} (max burst {})",
+                shards.length, TICK_RATE_MS, overrunPolicy, this.maxBurst);
+    }
+
+    /**
+     * Pin a game to the least loaded shard.
+     * The returned handle is used to start ticking, schedule delayed work and release the slot.
+     */
+    public TickRegistration assign(String name) {
+        Shard target = shards[0];
+        for (Shard shard : shards) {
+            if (shard.load.get() < target.load.get()) {
+                target = shard;
+            }
+        }
+        target.load.incrementAndGet();
+        LOG.debug("Assigned {} to tick shard {}", name, target.index);
+        return new TickRegistration(target, name);
+    }
+
+    public TickOverrunPolicy getOverrunPolicy() {
+        return overrunPolicy;
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Number of games currently pinned to each shard.
+     */
+    public int[] getShardLoads() {
+        int[] loads = new int[shards.length];
+        for (int i = 0; i < shards.length; i++) {
+            loads[i] = shards[i].load.get();
+        }
+        return loads;
+    }
+
+    @Override
+    public void destroy() {
+        for (Shard shard : shards) {
+            shard.executor.shutdownNow();
+        }
+    }
+
+    /**
+     * A game's slot on a shard.
+     */
+    public static final class TickRegistration implements GameLoop {
+
+        private final Shard shard;
+        private final String name;
+        private volatile GameLoop.GameTick tick;
+        private volatile boolean cancelled;
+        // Tick bookkeeping, only touched on the shard thread
+        private long nextTickAt;
+        private long lastTickStart;
+
+        private TickRegistration(Shard shard, String name) {
+            this.shard = shard;
+            this.name = name;
+        }
+
+        /**
+         * Start calling {@code tick} every {@link #TICK_RATE_MS} on this game's shard.
+         */
+        @Override
+        public void start(GameTick tick) {
+            if (cancelled) return;
+            this.tick = tick;
+            shard.executor.execute(() -> {
+                if (cancelled) return;
+                nextTickAt = shard.nextBeat;
+                lastTickStart = nextTickAt - TICK_RATE_NANOS;
+                shard.games.add(this);
+            });
+        }
+
+        /**
+         * Run a one-shot task on this game's shard after a delay.
+         */
+        @Override
+        public void schedule(Runnable task, long delay, TimeUnit unit) {
+            if (cancelled) return;
+            shard.executor.schedule(() -> {
+                if (!cancelled) runSafely(task);
+            }, delay, unit);
+        }
+
+        /**
+         * Stop ticking and release the slot. Safe to call from inside a tick and more than once.
+         */
+        @Override
+        public void cancel() {
+            if (cancelled) return;
+            cancelled = true;
+            shard.load.decrementAndGet();
+            shard.executor.execute(() -> shard.games.remove(this));
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        private void runTick(double deltaSeconds) {
+            long start = System.nanoTime();
+            lastTickStart = start;
+            try {
+                tick.run(deltaSeconds);
+            } catch (Exception e) {
+                LOG.error("Error in game tick of {}", name, e);
+            }
+            shard.tickDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        private void runSafely(Runnable task) {
+            try {
+                task.run();
+            } catch (Exception e) {
+                LOG.error("Error in scheduled task of {}", name, e);
+            }
+        }
+    }
+
+    private static final class Shard {
+
+        private final GameTickScheduler scheduler;
+        private final int index;
+        private final ScheduledExecutorService executor;
+        private final List<TickRegistration> games = new ArrayList<>();  // only touched on the shard thread
+        private final AtomicInteger load = new AtomicInteger();
+        private final Timer tickDuration;
+        private final Timer tickLateness;
+        private final Counter droppedTicks;
+        private long nextBeat;
+
+        private Shard(GameTickScheduler scheduler, int index, MeterRegistry meterRegistry) {
+            this.scheduler = scheduler;
+            this.index = index;
+            String shardTag = String.valueOf(index);
+            this.tickDuration = Timer.builder("turrest.tick.duration")
+                    .description("Time spent running one game tick")
+                    .tag("shard", shardTag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.tickLateness = Timer.builder("turrest.tick.lateness")
+                    .description("How long after its due time a game tick started")
+                    .tag("shard", shardTag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.droppedTicks = Counter.builder("turrest.tick.dropped")
+                    .description("Game ticks dropped by the overrun policy")
+                    .tag("shard", shardTag)
+                    .register(meterRegistry);
+            this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "game-tick-" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.nextBeat = System.nanoTime() + TICK_RATE_NANOS;
+            executor.scheduleAtFixedRate(this::tickAll, TICK_RATE_MS, TICK_RATE_MS, TimeUnit.MILLISECONDS);
+        }
+
+        private void tickAll() {
+            nextBeat += TICK_RATE_NANOS;
+            // Games cancelled mid-loop stay in the list until their removal task runs
+            for (int i = 0; i < games.size(); i++) {
+                TickRegistration game = games.get(i);
+                if (!game.cancelled) {
+                    tickGame(game);
+                }
+            }
+        }
+
+        private void tickGame(TickRegistration game) {
+            long now = System.nanoTime();
+            long lateness = now - game.nextTickAt;
+            if (lateness < 0) {
+                return;
+            }
+            tickLateness.record(lateness, TimeUnit.NANOSECONDS);
+
+            int due = (int) Math.min(Integer.MAX_VALUE, lateness / TICK_RATE_NANOS + 1);
+            game.nextTickAt += due * TICK_RATE_NANOS;
+            int maxBurst = scheduler.maxBurst;
+
+            switch (scheduler.overrunPolicy) {
+                case SKIP -> {
+                    droppedTicks.increment(due - 1);
+                    game.runTick(TICK_DURATION_SEC);
+                }
+                case CATCH_UP -> {
+                    int runs = Math.min(due, maxBurst);
+                    droppedTicks.increment(due - runs);
+                    for (int i = 0; i < runs && !game.cancelled; i++) {
+                        game.runTick(TICK_DURATION_SEC);
+                    }
+                }
+                case STRETCH -> {
+                    double elapsed = (now - game.lastTickStart) / 1_000_000_000.0;
+                    double delta = Math.max(TICK_DURATION_SEC, Math.min(elapsed, maxBurst * TICK_DURATION_SEC));
+                    game.runTick(delta);
+                }
+            }
+            if (due > 1) {
+                LOG.debug("{} was {} ticks behind ({}ms late), policy {}",
+                        game.name, due - 1, TimeUnit.NANOSECONDS.toMillis(lateness), scheduler.overrunPolicy);
+            }
+        }
+    }
+}
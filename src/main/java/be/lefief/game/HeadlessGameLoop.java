@@ -0,0 +1,83 @@
+package be.lefief.game;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Game loop without a scheduler: ticks run back to back on the calling thread.
+ * <p>
+ * Delayed tasks fire in game time order, so a countdown costs nothing. Every tick
+ * gets the nominal delta, which keeps the simulation identical to a 5 Hz game on
+ * a shard, only faster than real time.
+ */
+public class HeadlessGameLoop implements GameLoop {
+
+    private final PriorityQueue<DelayedTask> tasks = new PriorityQueue<>();
+    private GameTick tick;
+    private boolean cancelled;
+    private long nowMs;
+    private long sequence;
+
+    @Override
+    public void start(GameTick tick) {
+        if (!cancelled) {
+            this.tick = tick;
+        }
+    }
+
+    @Override
+    public void schedule(Runnable task, long delay, TimeUnit unit) {
+        if (!cancelled) {
+            tasks.add(new DelayedTask(nowMs + unit.toMillis(delay), sequence++, task));
+        }
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        tasks.clear();
+    }
+
+    /**
+     * Run the game until it cancels its loop, runs out of work, or {@code maxTicks} ticks have run.
+     *
+     * @return number of ticks run
+     */
+    public long run(long maxTicks) {
+        long ticks = 0;
+        while (!cancelled && ticks < maxTicks) {
+            if (tick == null) {
+                // Not ticking yet: jump straight to the next delayed task
+                DelayedTask next = tasks.poll();
+                if (next == null) {
+                    break;
+                }
+                nowMs = Math.max(nowMs, next.dueMs());
+                next.task().run();
+                continue;
+            }
+            while (!tasks.isEmpty() && tasks.peek().dueMs() <= nowMs && !cancelled) {
+                tasks.poll().task().run();
+            }
+            if (cancelled) {
+                break;
+            }
+            tick.run(GameTickScheduler.TICK_DURATION_SEC);
+            ticks++;
+            nowMs += GameTickScheduler.TICK_RATE_MS;
+        }
+        return ticks;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    private record DelayedTask(long dueMs, long sequence, Runnable task) implements Comparable<DelayedTask> {
+        @Override
+        public int compareTo(DelayedTask other) {
+            int byTime = Long.compare(dueMs, other.dueMs);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+}
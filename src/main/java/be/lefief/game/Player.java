@@ -3,7 +3,6 @@ package be.lefief.game;
 import be.lefief.sockets.ClientSession;
 import lombok.Data;
 
-import java.time.Instant;
 import java.util.UUID;
 
 @Data
@@ -16,7 +15,7 @@ public abstract class Player {
     private UUID gameID;
     private boolean connected = true;
     private int colorIndex;
-    private Instant disconnectedAt;
+    private Long disconnectedAtMs;  // game clock time
 
     public Player(ClientSession clientSession, Integer playerNumber, UUID gameID, int colorIndex) {
         this.clientSession = clientSession;
@@ -24,15 +23,15 @@ public abstract class Player {
         this.gameID = gameID;
         this.connected = true;
         this.colorIndex = colorIndex;
-        this.disconnectedAt = null;
+        this.disconnectedAtMs = null;
     }
 
     /**
-     * Mark player as disconnected with timestamp.
+     * Mark player as disconnected at the given game clock time.
      */
-    public void markDisconnected() {
+    public void markDisconnected(long nowMs) {
         this.connected = false;
-        this.disconnectedAt = Instant.now();
+        this.disconnectedAtMs = nowMs;
     }
 
     /**
@@ -40,27 +39,29 @@ public abstract class Player {
      */
     public void markReconnected() {
         this.connected = true;
-        this.disconnectedAt = null;
+        this.disconnectedAtMs = null;
     }
 
     /**
      * Check if the grace period has expired for a disconnected player.
+     *
+     * @param nowMs current game clock time
      */
-    public boolean isGracePeriodExpired() {
-        if (connected || disconnectedAt == null) {
+    public boolean isGracePeriodExpired(long nowMs) {
+        if (connected || disconnectedAtMs == null) {
             return false;
         }
-        return Instant.now().toEpochMilli() - disconnectedAt.toEpochMilli() > GRACE_PERIOD_MS;
+        return nowMs - disconnectedAtMs > GRACE_PERIOD_MS;
     }
 
     /**
      * Get remaining grace period in milliseconds.
      */
-    public long getRemainingGracePeriodMs() {
-        if (connected || disconnectedAt == null) {
+    public long getRemainingGracePeriodMs(long nowMs) {
+        if (connected || disconnectedAtMs == null) {
             return GRACE_PERIOD_MS;
         }
-        long elapsed = Instant.now().toEpochMilli() - disconnectedAt.toEpochMilli();
+        long elapsed = nowMs - disconnectedAtMs;
         return Math.max(0, GRACE_PERIOD_MS - elapsed);
     }
 
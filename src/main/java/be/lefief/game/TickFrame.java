@@ -0,0 +1,115 @@
+package be.lefief.game;
+
+import be.lefief.sockets.PreparedMessage;
+import be.lefief.sockets.binary.BinaryEncodable;
+import be.lefief.sockets.binary.BinaryFrameWriter;
+import be.lefief.sockets.binary.BinaryProtocol;
+import be.lefief.sockets.commands.DeliveryPolicy;
+import be.lefief.sockets.commands.JsonPayload;
+import be.lefief.sockets.commands.ServerToClientCommand;
+import be.lefief.sockets.commands.client.ClientSocketSubject;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All commands one player receives during a single game tick, sent as one message.
+ * <p>
+ * Parts are kept as {@link PreparedMessage}s, so a broadcast is still encoded once and only
+ * the per-recipient envelope is written here. The JSON form embeds every part's payload
+ * verbatim under {@code commands}. The binary form is an {@link BinaryProtocol#OP_TICK_FRAME}
+ * frame whose entries are {@code u8 kind, varint length, bytes}: the part's binary frame when
+ * it has one, its JSON text otherwise.
+ * <p>
+ * {@link DeliveryPolicy#LATEST_ONLY} parts are not embedded. Inside a frame the outbound queue
+ * could not drop them when a newer one supersedes them, so they are kept per topic (the newest of
+ * the tick wins) and sent on their own after the frame.
+ */
+public class TickFrame extends ServerToClientCommand implements JsonPayload, BinaryEncodable {
+
+    public static final String TOPIC = "TICK_FRAME";
+
+    private final long tick;
+    private final List<PreparedMessage> parts = new ArrayList<>();
+    private final Map<String, PreparedMessage> latestOnly = new LinkedHashMap<>();
+
+    public TickFrame(long tick) {
+        super(ClientSocketSubject.GAME, TOPIC);
+        this.tick = tick;
+    }
+
+    public void add(PreparedMessage message) {
+        ServerToClientCommand command = message.getCommand();
+        if (command.getDeliveryPolicy() == DeliveryPolicy.LATEST_ONLY) {
+            latestOnly.remove(command.getTopic());
+            latestOnly.put(command.getTopic(), message);
+        } else {
+            parts.add(message);
+        }
+    }
+
+    /**
+     * Number of parts embedded in the frame, without the {@link #getLatestOnly()} ones.
+     */
+    public int size() {
+        return parts.size();
+    }
+
+    /**
+     * The newest {@link DeliveryPolicy#LATEST_ONLY} message of each topic, to be sent after the frame.
+     */
+    public Collection<PreparedMessage> getLatestOnly() {
+        return latestOnly.values();
+    }
+
+    public PreparedMessage get(int index) {
+        return parts.get(index);
+    }
+
+    /**
+     * A frame carrying game over or resync data must not be dropped either. It never holds
+     * {@link DeliveryPolicy#LATEST_ONLY} parts, so anything else is {@link DeliveryPolicy#NORMAL}.
+     */
+    @Override
+    public DeliveryPolicy getDeliveryPolicy() {
+        for (PreparedMessage part : parts) {
+            if (part.getCommand().getDeliveryPolicy() == DeliveryPolicy.CRITICAL) {
+                return DeliveryPolicy.CRITICAL;
+            }
+        }
+        return DeliveryPolicy.NORMAL;
+    }
+
+    @Override
+    public void writeData(JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("tick", tick);
+        gen.writeArrayFieldStart("commands");
+        for (PreparedMessage part : parts) {
+            String payload = part.getPayload();
+            if (payload != null) {
+                gen.writeRawValue(payload);
+            }
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+
+    @Override
+    public void encode(BinaryFrameWriter out) {
+        out.header(BinaryProtocol.OP_TICK_FRAME, tick, parts.size());
+        for (PreparedMessage part : parts) {
+            if (part.hasBinaryFrame()) {
+                out.writeByte(BinaryProtocol.PART_BINARY).writeBytes(part.getBinaryFrame());
+            } else {
+                String payload = part.getPayload();
+                out.writeByte(BinaryProtocol.PART_JSON).writeString(payload == null ? "null" : payload);
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package be.lefief.game;
+
+/**
+ * What a game loop does when it falls behind its tick schedule,
+ * e.g. because a previous tick overran or its shard thread was starved.
+ */
+public enum TickOverrunPolicy {
+
+    /**
+     * Run one normal tick and drop the missed ones. The simulation slows down under load.
+     */
+    SKIP,
+
+    /**
+     * Run the missed ticks back to back, up to the configured burst size, then drop the rest.
+     */
+    CATCH_UP,
+
+    /**
+     * Run one tick whose delta covers the real time since the previous tick (capped at the burst size).
+     */
+    STRETCH
+}
@@ -3,6 +3,7 @@ package be.lefief.game.ai;
 import be.lefief.repository.UserData;
 import be.lefief.service.userprofile.UserProfileService;
 import be.lefief.sockets.ClientSession;
+import be.lefief.sockets.PreparedMessage;
 import be.lefief.sockets.commands.ServerToClientCommand;
 
 import java.time.LocalDateTime;
@@ -38,6 +39,11 @@ public class BotSession implements ClientSession {
         // Bots don't need UI updates - they access game state directly
     }
 
+    @Override
+    public void sendPrepared(PreparedMessage message) {
+        // Never touches the payload, so bot-only broadcasts are never serialized
+    }
+
     @Override
     public void close() {
         if (onClose != null) {
@@ -72,8 +72,8 @@ public class EasyBotStrategy implements BotStrategy {
         }
 
         // Build the tower
-        int x = getTileX(game.getGameMap(), tile);
-        int y = getTileY(game.getGameMap(), tile);
+        int x = tile.getX();
+        int y = tile.getY();
 
         resources.subtract(selectedTower.getCost());
         game.getTowerManager().addTower(new GenericTower(selectedTower, player.getPlayerNumber(), x, y));
@@ -101,8 +101,8 @@ public class EasyBotStrategy implements BotStrategy {
             return;
         }
 
-        int x = getTileX(game.getGameMap(), tile);
-        int y = getTileY(game.getGameMap(), tile);
+        int x = tile.getX();
+        int y = tile.getY();
 
         resources.subtract(selectedBuilding.getCost());
         resources.addProductionBonuses(selectedBuilding.getProductionBonus());
@@ -133,13 +133,14 @@ public class EasyBotStrategy implements BotStrategy {
         GameMap map = game.getGameMap();
         List<int[]> candidates = new ArrayList<>();
 
-        for (int x = 0; x < map.getWidth(); x++) {
+        // Only the bot's own section can contain buildable tiles
+        int playerNumber = player.getPlayerNumber();
+        int fromX = map.getPlayerOffsetX(playerNumber);
+        for (int x = fromX; x < fromX + map.getPlayerSectionWidth(); x++) {
             for (int y = 0; y < map.getHeight(); y++) {
-                Tile tile = map.getTile(x, y);
-                if (tile != null
-                        && tile.canPlayerBuild(player.getPlayerNumber())
-                        && !tile.hasStructure()
-                        && tower.canBuildOn(tile.getTerrainType())) {
+                if (map.canPlayerBuild(x, y, playerNumber)
+                        && !map.hasStructure(x, y)
+                        && tower.canBuildOn(map.getTerrainType(x, y))) {
                     candidates.add(new int[]{x, y});
                 }
             }
@@ -157,13 +158,14 @@ public class EasyBotStrategy implements BotStrategy {
         GameMap map = game.getGameMap();
         List<int[]> candidates = new ArrayList<>();
 
-        for (int x = 0; x < map.getWidth(); x++) {
+        // Only the bot's own section can contain buildable tiles
+        int playerNumber = player.getPlayerNumber();
+        int fromX = map.getPlayerOffsetX(playerNumber);
+        for (int x = fromX; x < fromX + map.getPlayerSectionWidth(); x++) {
             for (int y = 0; y < map.getHeight(); y++) {
-                Tile tile = map.getTile(x, y);
-                if (tile != null
-                        && tile.canPlayerBuild(player.getPlayerNumber())
-                        && !tile.hasStructure()
-                        && building.canBuildOn(tile.getTerrainType())) {
+                if (map.canPlayerBuild(x, y, playerNumber)
+                        && !map.hasStructure(x, y)
+                        && building.canBuildOn(map.getTerrainType(x, y))) {
                     candidates.add(new int[]{x, y});
                 }
             }
@@ -177,29 +179,6 @@ public class EasyBotStrategy implements BotStrategy {
         return map.getTile(selected[0], selected[1]);
     }
 
-    private int getTileX(GameMap map, Tile tile) {
-        // This is a workaround - we should track coordinates differently
-        for (int x = 0; x < map.getWidth(); x++) {
-            for (int y = 0; y < map.getHeight(); y++) {
-                if (map.getTile(x, y) == tile) {
-                    return x;
-                }
-            }
-        }
-        return -1;
-    }
-
-    private int getTileY(GameMap map, Tile tile) {
-        for (int x = 0; x < map.getWidth(); x++) {
-            for (int y = 0; y < map.getHeight(); y++) {
-                if (map.getTile(x, y) == tile) {
-                    return y;
-                }
-            }
-        }
-        return -1;
-    }
-
     @Override
     public String getDifficultyName() {
         return "Easy";
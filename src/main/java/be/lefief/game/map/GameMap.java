@@ -1,27 +1,54 @@
 package be.lefief.game.map;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.awt.Point;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Supplier;
 
+/**
+ * The combined map of a game, stored as flat primitive arrays.
+ * <p>
+ * Per tile there is one terrain byte, one short structure id (0 = none, otherwise
+ * an index into this map's structure table) and one owner bitmask (bit n = player n
+ * may build there). Tiles are laid out column by column ({@code x * height + y}),
+ * matching the x-then-y order full-map scans use. {@link Tile} is a thin view on
+ * one position for code that prefers working with objects.
+ */
 @Getter
 public class GameMap {
 
     private static final Logger LOG = LoggerFactory.getLogger(GameMap.class);
+    private static final TerrainType[] TERRAIN_TYPES = TerrainType.values();
+    public static final int MAX_PLAYERS = Long.SIZE;
 
-    private final Tile[][] map;
     private final int width;
     private final int height;
     private final int playerCount;
     private final int playerSectionWidth;
     private final int playerSectionHeight;
 
+    @Getter(AccessLevel.NONE)
+    private final byte[] terrain;
+    @Getter(AccessLevel.NONE)
+    private final short[] structureIds;
+    @Getter(AccessLevel.NONE)
+    private final long[] owners;
+    @Getter(AccessLevel.NONE)
+    private final List<Structure> structureTable = new ArrayList<>();
+    @Getter(AccessLevel.NONE)
+    private final Map<Structure, Short> structureIdByInstance = new IdentityHashMap<>();
+
     /**
      * Creates a combined game map by cloning a level for each player.
      * Players are arranged horizontally side by side.
@@ -37,7 +64,7 @@ public class GameMap {
      * @param levelPath     Path to the level file
      * @param playerCount   Number of players
      * @param roadPositions Set of positions that should have roads
-     * @param roadSupplier  Supplier to create road structures
+     * @param roadSupplier  Supplier of the road structure, shared by all road tiles
      */
     public static GameMap createFromLevelWithRoads(String levelPath, int playerCount,
                                                     Set<Point> roadPositions,
@@ -46,8 +73,20 @@ public class GameMap {
         return new GameMap(level, playerCount, roadPositions, roadSupplier);
     }
 
+    /**
+     * Creates a combined game map with roads from an already loaded level.
+     */
+    public static GameMap createFromLevelWithRoads(LevelLoader level, int playerCount,
+                                                    Set<Point> roadPositions,
+                                                    Supplier<Structure> roadSupplier) {
+        return new GameMap(level, playerCount, roadPositions, roadSupplier);
+    }
+
     private GameMap(LevelLoader level, int playerCount, Set<Point> roadPositions,
                     Supplier<Structure> roadSupplier) {
+        if (playerCount > MAX_PLAYERS) {
+            throw new IllegalArgumentException("At most " + MAX_PLAYERS + " players supported, got " + playerCount);
+        }
         this.playerCount = playerCount;
         this.playerSectionWidth = level.getWidth();
         this.playerSectionHeight = level.getHeight();
@@ -55,42 +94,44 @@ public class GameMap {
         // Arrange players horizontally
         this.width = level.getWidth() * playerCount;
         this.height = level.getHeight();
-        this.map = new Tile[width][height];
+        this.terrain = new byte[width * height];
+        this.structureIds = new short[width * height];
+        this.owners = new long[width * height];
+        structureTable.add(null);  // id 0 = no structure
 
         LOG.info("Creating combined map {}x{} for {} players (each section {}x{})",
                 width, height, playerCount, playerSectionWidth, playerSectionHeight);
 
-        // Clone level for each player with ownership
+        // Build one section, then copy its columns into every player's section
+        short roadId = roadSupplier != null && !roadPositions.isEmpty() ? register(roadSupplier.get()) : 0;
+        byte[] sectionTerrain = new byte[playerSectionWidth * height];
+        short[] sectionStructures = new short[playerSectionWidth * height];
+        for (int x = 0; x < playerSectionWidth; x++) {
+            for (int y = 0; y < height; y++) {
+                sectionTerrain[x * height + y] = (byte) level.getTerrainAt(x, y).ordinal();
+            }
+        }
+        if (roadId != 0) {
+            for (Point road : roadPositions) {
+                if (road.x >= 0 && road.x < playerSectionWidth && road.y >= 0 && road.y < height) {
+                    sectionStructures[road.x * height + road.y] = roadId;
+                }
+            }
+        }
+
+        int sectionSize = playerSectionWidth * height;
         for (int playerNum = 0; playerNum < playerCount; playerNum++) {
-            int offsetX = playerNum * playerSectionWidth;
-            copyLevelToMap(level, offsetX, 0, roadPositions, roadSupplier, playerNum);
+            int start = getPlayerOffsetX(playerNum) * height;
+            System.arraycopy(sectionTerrain, 0, terrain, start, sectionSize);
+            System.arraycopy(sectionStructures, 0, structureIds, start, sectionSize);
+            // Assign ownership to this player's section
+            Arrays.fill(owners, start, start + sectionSize, 1L << playerNum);
         }
 
         LOG.info("Combined map created successfully with {} road positions per player section",
                 roadPositions.size());
     }
 
-    private void copyLevelToMap(LevelLoader level, int offsetX, int offsetY,
-                                Set<Point> roadPositions, Supplier<Structure> roadSupplier,
-                                int ownerPlayerNumber) {
-        for (int x = 0; x < level.getWidth(); x++) {
-            for (int y = 0; y < level.getHeight(); y++) {
-                TerrainType terrain = level.getTerrainAt(x, y);
-                Tile tile = new Tile(terrain);
-
-                // Assign ownership to this player's section
-                tile.addOwner(ownerPlayerNumber);
-
-                // Apply road if this position has one
-                if (roadSupplier != null && roadPositions.contains(new Point(x, y))) {
-                    tile.setStructure(roadSupplier.get());
-                }
-
-                map[offsetX + x][offsetY + y] = tile;
-            }
-        }
-    }
-
     /**
      * Gets the X offset for a player's section of the map.
      */
@@ -105,10 +146,78 @@ public class GameMap {
         return 0; // Players arranged horizontally
     }
 
+    public boolean isInBounds(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    /**
+     * View on the tile at (x, y), or null when out of bounds.
+     */
     public Tile getTile(int x, int y) {
-        if (x >= 0 && x < width && y >= 0 && y < height) {
-            return map[x][y];
+        return isInBounds(x, y) ? new Tile(this, x, y) : null;
+    }
+
+    // Direct accessors; callers must stay in bounds
+
+    public TerrainType getTerrainType(int x, int y) {
+        return TERRAIN_TYPES[terrain[index(x, y)]];
+    }
+
+    public Structure getStructure(int x, int y) {
+        return structureTable.get(structureIds[index(x, y)]);
+    }
+
+    public boolean hasStructure(int x, int y) {
+        return structureIds[index(x, y)] != 0;
+    }
+
+    public void setStructure(int x, int y, Structure structure) {
+        structureIds[index(x, y)] = structure == null ? 0 : register(structure);
+    }
+
+    /**
+     * Owner bitmask of a tile: bit n is set when player n may build there.
+     */
+    public long getOwnerMask(int x, int y) {
+        return owners[index(x, y)];
+    }
+
+    public void setOwnerMask(int x, int y, long mask) {
+        owners[index(x, y)] = mask;
+    }
+
+    public boolean canPlayerBuild(int x, int y, int playerNumber) {
+        return playerNumber >= 0 && playerNumber < MAX_PLAYERS
+                && (owners[index(x, y)] & (1L << playerNumber)) != 0;
+    }
+
+    /**
+     * Player numbers set in an owner bitmask, ascending.
+     */
+    public static List<Integer> ownersOf(long mask) {
+        List<Integer> result = new ArrayList<>(Long.bitCount(mask));
+        while (mask != 0) {
+            result.add(Long.numberOfTrailingZeros(mask));
+            mask &= mask - 1;
+        }
+        return result;
+    }
+
+    private int index(int x, int y) {
+        return x * height + y;
+    }
+
+    private short register(Structure structure) {
+        Short id = structureIdByInstance.get(structure);
+        if (id != null) {
+            return id;
+        }
+        if (structureTable.size() > Short.MAX_VALUE) {
+            throw new IllegalStateException("Too many structures on map (max " + Short.MAX_VALUE + ")");
         }
-        return null;
+        short newId = (short) structureTable.size();
+        structureTable.add(structure);
+        structureIdByInstance.put(structure, newId);
+        return newId;
     }
 }
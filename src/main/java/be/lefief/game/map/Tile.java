@@ -1,67 +1,92 @@
 package be.lefief.game.map;
 
-import lombok.Data;
-
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
-@Data
-public class Tile {
+/**
+ * Lightweight view on one position of a {@link GameMap}.
+ * Holds no state of its own: reads and writes go straight to the map's arrays.
+ */
+public final class Tile {
 
-    private TerrainType terrainType;
-    private boolean pathed;
-    private Structure structure;
-    private Set<Integer> owners = new HashSet<>();  // Players who can build here
+    private final GameMap map;
+    private final int x;
+    private final int y;
 
-    public Tile(TerrainType terrainType) {
-        this.terrainType = terrainType;
-        this.pathed = false;
-        this.structure = null;
+    Tile(GameMap map, int x, int y) {
+        this.map = map;
+        this.x = x;
+        this.y = y;
     }
 
-    /**
-     * Check if this tile has any structure on it.
-     */
-    public boolean hasStructure() {
-        return structure != null;
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public TerrainType getTerrainType() {
+        return map.getTerrainType(x, y);
+    }
+
+    public Structure getStructure() {
+        return map.getStructure(x, y);
+    }
+
+    public void setStructure(Structure structure) {
+        map.setStructure(x, y, structure);
     }
 
     /**
-     * Creates a copy of this tile (for map cloning).
+     * Check if this tile has any structure on it.
      */
-    public Tile copy() {
-        Tile copy = new Tile(this.terrainType);
-        copy.pathed = this.pathed;
-        // Note: structure is shared reference for roads (they're the same for all players)
-        copy.structure = this.structure;
-        copy.owners = new HashSet<>(this.owners);
-        return copy;
+    public boolean hasStructure() {
+        return map.hasStructure(x, y);
     }
 
     // Ownership methods
     public Set<Integer> getOwners() {
-        return Collections.unmodifiableSet(owners);
+        return Set.copyOf(GameMap.ownersOf(map.getOwnerMask(x, y)));
     }
 
     public void addOwner(int playerNumber) {
-        owners.add(playerNumber);
+        map.setOwnerMask(x, y, map.getOwnerMask(x, y) | (1L << playerNumber));
     }
 
     public void removeOwner(int playerNumber) {
-        owners.remove(playerNumber);
+        map.setOwnerMask(x, y, map.getOwnerMask(x, y) & ~(1L << playerNumber));
     }
 
     public void setOwners(Set<Integer> newOwners) {
-        owners.clear();
-        owners.addAll(newOwners);
+        long mask = 0;
+        for (int owner : newOwners) {
+            mask |= 1L << owner;
+        }
+        map.setOwnerMask(x, y, mask);
     }
 
     public boolean canPlayerBuild(int playerNumber) {
-        return owners.contains(playerNumber);
+        return map.canPlayerBuild(x, y, playerNumber);
     }
 
     public boolean hasOwners() {
-        return !owners.isEmpty();
+        return map.getOwnerMask(x, y) != 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Tile other && other.map == map && other.x == x && other.y == y;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * System.identityHashCode(map) + x) + y;
+    }
+
+    @Override
+    public String toString() {
+        return "Tile(" + x + ", " + y + ", " + getTerrainType() + ")";
     }
 }
@@ -70,12 +70,13 @@ public class GameSnapshot {
 
     @Data
     public static class CreepSnapshot {
-        private UUID creepId;
+        private int creepId;
         private String creepTypeId;
         private int ownerPlayerNumber;
         private double x;
         private double y;
         private int hitpoints;
+        private double progress;           // Distance along the section path; x/y and path index follow from it
         private int currentPathIndex;
         private double slowFactor;
         private long slowEndTime;
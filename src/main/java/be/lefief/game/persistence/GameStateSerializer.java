@@ -1,10 +1,10 @@
 package be.lefief.game.persistence;
 
 import be.lefief.game.map.GameMap;
-import be.lefief.game.map.Tile;
+import be.lefief.game.map.Structure;
 import be.lefief.game.turrest02.Turrest02Player;
 import be.lefief.game.turrest02.TurrestGameMode02;
-import be.lefief.game.turrest02.creep.Creep;
+import be.lefief.game.turrest02.creep.CreepPool;
 import be.lefief.game.turrest02.resource.PlayerResources;
 import be.lefief.game.turrest02.tower.Tower;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -74,16 +74,16 @@ public class GameStateSerializer {
         if (gameMap != null) {
             for (int x = 0; x < gameMap.getWidth(); x++) {
                 for (int y = 0; y < gameMap.getHeight(); y++) {
-                    Tile tile = gameMap.getTile(x, y);
-                    if (tile != null && tile.hasStructure()) {
+                    Structure structure = gameMap.getStructure(x, y);
+                    if (structure != null) {
                         // Skip roads - they're regenerated
-                        if (tile.getStructure().getStructureTypeId() == 1) { // ROAD type ID
+                        if (structure.getStructureTypeId() == 1) { // ROAD type ID
                             continue;
                         }
                         GameSnapshot.StructureSnapshot ss = new GameSnapshot.StructureSnapshot();
                         ss.setX(x);
                         ss.setY(y);
-                        ss.setStructureTypeId(tile.getStructure().getStructureTypeId());
+                        ss.setStructureTypeId(structure.getStructureTypeId());
                         // Get owner from structure if available
                         structures.add(ss);
                     }
@@ -111,19 +111,22 @@ public class GameStateSerializer {
         // Snapshot creeps
         List<GameSnapshot.CreepSnapshot> creeps = new ArrayList<>();
         if (game.getCreepManager() != null) {
-            for (Creep creep : game.getCreepManager().getActiveCreeps()) {
-                if (creep.isDead()) continue;
+            CreepPool pool = game.getCreepManager().getCreepPool();
+            for (int i = 0; i < pool.size(); i++) {
+                int slot = pool.slotAt(i);
+                if (pool.isDead(slot)) continue;
 
                 GameSnapshot.CreepSnapshot cs = new GameSnapshot.CreepSnapshot();
-                cs.setCreepId(creep.getId());
-                cs.setCreepTypeId(creep.getType().getId());
-                cs.setOwnerPlayerNumber(creep.getOwnerPlayerNumber());
-                cs.setX(creep.getX());
-                cs.setY(creep.getY());
-                cs.setHitpoints(creep.getHitpoints());
-                cs.setCurrentPathIndex(creep.getCurrentPathIndex());
-                cs.setSlowFactor(creep.getSlowFactor());
-                cs.setSlowEndTime(creep.getSlowExpiresAt());
+                cs.setCreepId(pool.getId(slot));
+                cs.setCreepTypeId(pool.getType(slot).getId());
+                cs.setOwnerPlayerNumber(pool.getOwnerPlayerNumber(slot));
+                cs.setX(pool.getX(slot));
+                cs.setY(pool.getY(slot));
+                cs.setHitpoints(pool.getHitpoints(slot));
+                cs.setProgress(pool.getProgress(slot));
+                cs.setCurrentPathIndex(pool.getCurrentPathIndex(slot));
+                cs.setSlowFactor(pool.getSlowFactor(slot));
+                cs.setSlowEndTime(pool.getSlowExpiresAt(slot));
                 creeps.add(cs);
             }
         }
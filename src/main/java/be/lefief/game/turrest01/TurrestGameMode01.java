@@ -1,6 +1,8 @@
 package be.lefief.game.turrest01;
 
 import be.lefief.game.Game;
+import be.lefief.game.GameLoop;
+import be.lefief.game.GameTickScheduler;
 import be.lefief.game.map.GameMap;
 import be.lefief.game.map.LevelLoader;
 import be.lefief.game.map.Tile;
@@ -31,8 +33,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -41,21 +41,20 @@ public class TurrestGameMode01 extends Game<Turrest01Player> {
     private static final Logger LOG = LoggerFactory.getLogger(TurrestGameMode01.class);
     private static final String LEVEL_PATH = "levels/turrest01/0001.level";
     private static final String LEVEL_NAME = "0001";
-    private static final int TICK_RATE_MS = 200; // Game tick 5 times per second (5 Hz)
-    private static final double TICK_DURATION_SEC = TICK_RATE_MS / 1000.0;
+    private static final int TICK_RATE_MS = GameTickScheduler.TICK_RATE_MS;
     private static final int RESOURCE_UPDATE_INTERVAL = 5; // Send resource updates every 5 ticks (1 second)
 
     private GameMap gameMap;
     private CreepManager creepManager;
     private TowerManager towerManager;
     private GameStats gameStats;
-    private ScheduledExecutorService gameLoop;
     private boolean running;
     private int tickCount = 0;
     private int resourceTickCounter = 0;
 
-    public TurrestGameMode01(List<ClientSession> players, UUID lobbyHostId, Map<UUID, Integer> playerColorMap) {
-        super(players, lobbyHostId, playerColorMap);
+    public TurrestGameMode01(List<ClientSession> players, UUID lobbyHostId, Map<UUID, Integer> playerColorMap,
+                             GameLoop gameLoop) {
+        super(players, lobbyHostId, playerColorMap, gameLoop);
     }
 
     @Override
@@ -97,7 +96,7 @@ public class TurrestGameMode01 extends Game<Turrest01Player> {
             LOG.info("TowerManager created with tick rate {}ms", TICK_RATE_MS);
 
             // 5. Schedule game beginning after 5 seconds
-            Executors.newSingleThreadScheduledExecutor().schedule(() -> {
+            getGameLoop().schedule(() -> {
                 if (isGameIsRunning()) {
                     LOG.info("Countdown finished, sending map and starting game loop");
                     sendInitialMapToPlayers();
@@ -261,22 +260,21 @@ public class TurrestGameMode01 extends Game<Turrest01Player> {
 
     private void startGameLoop() {
         running = true;
-        gameLoop = Executors.newSingleThreadScheduledExecutor();
-        gameLoop.scheduleAtFixedRate(this::gameTick, TICK_RATE_MS, TICK_RATE_MS, TimeUnit.MILLISECONDS);
+        getGameLoop().start(this::gameTick);
         LOG.info("Game loop started with tick rate of {}ms", TICK_RATE_MS);
     }
 
-    private void gameTick() {
+    private void gameTick(double deltaSeconds) {
         if (!running || gameMap == null || !isGameIsRunning())
             return;
 
         try {
-            tickCount++;
+            tickCount = (int) getClock().advance(deltaSeconds);
             resourceTickCounter++;
 
             // Process creeps (spawn, move, damage) with delta time
             if (creepManager != null) {
-                creepManager.tick(tickCount, this, TICK_DURATION_SEC);
+                creepManager.tick(tickCount, this, deltaSeconds);
             }
 
             // Process towers (targeting, shooting)
@@ -388,17 +386,7 @@ public class TurrestGameMode01 extends Game<Turrest01Player> {
     public void stop() {
         running = false;
         setGameIsRunning(false);
-        if (gameLoop != null) {
-            gameLoop.shutdown();
-            try {
-                if (!gameLoop.awaitTermination(5, TimeUnit.SECONDS)) {
-                    gameLoop.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                gameLoop.shutdownNow();
-            }
-        }
-        shutdownCommunicationPool();
+        releaseGameLoop();
         LOG.info("Game loop stopped after {} ticks", tickCount);
     }
 }
@@ -2,7 +2,6 @@ package be.lefief.game.turrest01.commands;
 
 import be.lefief.game.map.GameMap;
 import be.lefief.game.map.Structure;
-import be.lefief.game.map.Tile;
 import be.lefief.game.turrest01.structure.TurrestBuilding;
 import be.lefief.sockets.commands.ServerToClientCommand;
 import be.lefief.sockets.commands.client.ClientSocketSubject;
@@ -32,10 +31,7 @@ public class FullMapResponse extends ServerToClientCommand {
         List<Map<String, Object>> tiles = new ArrayList<>();
         for (int x = 0; x < gameMap.getWidth(); x++) {
             for (int y = 0; y < gameMap.getHeight(); y++) {
-                Tile tile = gameMap.getTile(x, y);
-                if (tile != null) {
-                    tiles.add(createTileData(x, y, tile));
-                }
+                tiles.add(createTileData(gameMap, x, y));
             }
         }
         data.put("tiles", tiles);
@@ -43,13 +39,13 @@ public class FullMapResponse extends ServerToClientCommand {
         return data;
     }
 
-    private static Map<String, Object> createTileData(int x, int y, Tile tile) {
+    private static Map<String, Object> createTileData(GameMap gameMap, int x, int y) {
         Map<String, Object> tileData = new HashMap<>();
         tileData.put("x", x);
         tileData.put("y", y);
-        tileData.put("terrainType", tile.getTerrainType().getTerrainTypeID());
+        tileData.put("terrainType", gameMap.getTerrainType(x, y).getTerrainTypeID());
 
-        Structure structure = tile.getStructure();
+        Structure structure = gameMap.getStructure(x, y);
         if (structure != null) {
             tileData.put("structureType", structure.getStructureTypeId());
 
@@ -59,7 +55,7 @@ public class FullMapResponse extends ServerToClientCommand {
             }
         }
 
-        tileData.put("owners", new ArrayList<>(tile.getOwners()));
+        tileData.put("owners", GameMap.ownersOf(gameMap.getOwnerMask(x, y)));
 
         return tileData;
     }
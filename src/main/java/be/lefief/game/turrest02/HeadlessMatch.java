@@ -0,0 +1,79 @@
+package be.lefief.game.turrest02;
+
+import be.lefief.game.HeadlessGameLoop;
+import be.lefief.game.ai.BotSession;
+import be.lefief.game.turrest02.level.LevelRegistry;
+import be.lefief.game.turrest02.level.LevelTemplate;
+import be.lefief.sockets.ClientSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plays a {@link TurrestGameMode02} between bots at full CPU speed, without sockets or schedulers.
+ * Meant for bot evaluation, regression tests and balance sweeps.
+ */
+public final class HeadlessMatch {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HeadlessMatch.class);
+
+    private HeadlessMatch() {
+    }
+
+    /**
+     * Play the default level between {@code botCount} bots until one is left or {@code maxTicks} ticks have run.
+     */
+    public static Result play(int botCount, long maxTicks) {
+        return play(DefaultLevels.REGISTRY.getDefaultTemplate(), botCount, maxTicks);
+    }
+
+    /**
+     * Play a level between {@code botCount} bots until one is left or {@code maxTicks} ticks have run.
+     */
+    public static Result play(LevelTemplate level, int botCount, long maxTicks) {
+        List<ClientSession> bots = new ArrayList<>();
+        for (int i = 0; i < botCount; i++) {
+            bots.add(new BotSession("Bot " + (i + 1)));
+        }
+
+        HeadlessGameLoop loop = new HeadlessGameLoop();
+        TurrestGameMode02 game = new TurrestGameMode02(bots, null, Map.of(), loop, level, null);
+        long startNanos = System.nanoTime();
+        game.start();
+        long ticks = loop.run(maxTicks);
+        long wallMs = (System.nanoTime() - startNanos) / 1_000_000;
+        if (!loop.isCancelled()) {
+            game.stop();
+        }
+
+        Map<Integer, Integer> hitpoints = new HashMap<>();
+        int winner = -1;
+        int alive = 0;
+        for (Turrest02Player player : game.getPlayerByNumber().values()) {
+            hitpoints.put(player.getPlayerNumber(), player.getHitpoints());
+            if (player.isAlive()) {
+                alive++;
+                winner = player.getPlayerNumber();
+            }
+        }
+        Result result = new Result(ticks, game.getClock().nowMs(), wallMs, alive == 1 ? winner : -1, hitpoints);
+        LOG.info("Headless match with {} bots finished: {}", botCount, result);
+        return result;
+    }
+
+    private static final class DefaultLevels {
+        private static final LevelRegistry REGISTRY = new LevelRegistry();
+    }
+
+    /**
+     * Outcome of a headless match.
+     *
+     * @param winner player number of the last player alive, or -1 if the match hit the tick limit undecided
+     */
+    public record Result(long ticks, long gameTimeMs, long wallTimeMs, int winner, Map<Integer, Integer> hitpoints) {
+    }
+}
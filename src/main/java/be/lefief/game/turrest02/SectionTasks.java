@@ -0,0 +1,72 @@
+package be.lefief.game.turrest02;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs per-section simulation work, forking sections out on a shared pool when a game is big enough.
+ * <p>
+ * Player sections never interact within a tick: creeps, towers and healers only
+ * touch their owner's section. A section task may therefore mutate anything that
+ * belongs to its section, but nothing else; results that must be broadcast are
+ * written to per-section buffers and merged in section order by the caller.
+ */
+public final class SectionTasks {
+
+    /**
+     * Below this many units of work (creeps, towers) a tick stays on the calling thread.
+     */
+    public static final int PARALLEL_THRESHOLD = 256;
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(
+            Runtime.getRuntime().availableProcessors(),
+            pool -> {
+                var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("section-sim-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            },
+            null, false);
+
+    private SectionTasks() {
+    }
+
+    /**
+     * Run {@code task} for sections {@code 0..sectionCount-1} and return when all are done.
+     *
+     * @param workload total amount of work across sections, used to decide whether forking pays off
+     */
+    public static void forEachSection(int sectionCount, int workload, IntConsumer task) {
+        if (sectionCount < 2 || workload < PARALLEL_THRESHOLD) {
+            for (int section = 0; section < sectionCount; section++) {
+                task.accept(section);
+            }
+            return;
+        }
+        POOL.invoke(new SectionAction(0, sectionCount, task));
+    }
+
+    private static final class SectionAction extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final IntConsumer task;
+
+        private SectionAction(int from, int to, IntConsumer task) {
+            this.from = from;
+            this.to = to;
+            this.task = task;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                task.accept(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SectionAction(from, mid, task), new SectionAction(mid, to, task));
+        }
+    }
+}
@@ -15,6 +15,10 @@ public class Turrest02Player extends Player {
     private final PlayerResources resources;
     private int hitpoints;
 
+    // State clients were last sent; compared at the end of each tick to send only what changed
+    private int publishedHitpoints = STARTING_HITPOINTS;
+    private int publishedResourcesVersion;
+
     public Turrest02Player(ClientSession clientSession, Integer playerNumber, UUID gameID, int colorIndex) {
         super(clientSession, playerNumber, gameID, colorIndex);
         this.resources = new PlayerResources();
@@ -33,6 +37,27 @@ public class Turrest02Player extends Player {
         return hitpoints > 0;
     }
 
+    /**
+     * Hitpoints lost since the last call (negative when healed); the current value counts as sent afterwards.
+     */
+    public int consumeHitpointChange() {
+        int change = publishedHitpoints - hitpoints;
+        publishedHitpoints = hitpoints;
+        return change;
+    }
+
+    /**
+     * Whether resources changed since the last call; the current amounts count as sent afterwards.
+     */
+    public boolean consumeResourcesChanged() {
+        int version = resources.getVersion();
+        if (version == publishedResourcesVersion) {
+            return false;
+        }
+        publishedResourcesVersion = version;
+        return true;
+    }
+
     @Override
     public int getScore() {
         return hitpoints;
@@ -1,59 +1,58 @@
 package be.lefief.game.turrest02;
 
 import be.lefief.game.Game;
+import be.lefief.game.GameLoop;
+import be.lefief.game.GameTickScheduler;
 import be.lefief.game.ai.BotManager;
 import be.lefief.game.ai.BotSession;
 import be.lefief.game.map.GameMap;
-import be.lefief.game.map.LevelLoader;
 import be.lefief.game.map.Tile;
 import be.lefief.game.turrest02.commands.*;
 import be.lefief.game.turrest02.creep.CreepManager;
 import be.lefief.game.turrest02.event.TurrestEvent;
-import be.lefief.game.turrest02.map.RoadGenerator;
+import be.lefief.game.turrest02.level.LevelTemplate;
+import be.lefief.game.turrest02.level.RoadLayout;
 import be.lefief.game.turrest02.resource.PlayerResources;
 import be.lefief.game.turrest02.stats.GameStats;
 import be.lefief.game.turrest02.structure.Road;
 import be.lefief.game.turrest02.tower.TowerManager;
 import be.lefief.game.turrest02.wave.Wave;
-import be.lefief.game.turrest02.wave.WaveLoader;
 import be.lefief.service.turrest02.PersistentStatsService;
 import be.lefief.sockets.ClientSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.awt.*;
-import java.io.IOException;
 import java.util.List;
 import java.util.*;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 public class TurrestGameMode02 extends Game<Turrest02Player> {
 
     private static final Logger LOG = LoggerFactory.getLogger(TurrestGameMode02.class);
-    private static final String LEVEL_PATH = "levels/turrest02/0001.level";
-    private static final String LEVEL_NAME = "0001";
-    private static final int TICK_RATE_MS = 200; // Game tick 5 times per second (5 Hz)
-    private static final double TICK_DURATION_SEC = TICK_RATE_MS / 1000.0;
-    private static final int RESOURCE_UPDATE_INTERVAL = 5; // Send resource updates every 5 ticks (1 second)
+    private static final int TICK_RATE_MS = GameTickScheduler.TICK_RATE_MS;
+    private static final int RESOURCE_UPDATE_INTERVAL = 5; // Produce resources every 5 ticks (1 second)
 
     private GameMap gameMap;
     private CreepManager creepManager;
     private TowerManager towerManager;
     private BotManager botManager;
     private GameStats gameStats;
-    private ScheduledExecutorService gameLoop;
-    private boolean running;
+    private volatile boolean running;
+    // Held by each tick and by lifecycle commands that run outside of one, so the two never overlap
+    private final Object tickLock = new Object();
     private int tickCount = 0;
     private int resourceTickCounter = 0;
     private final PersistentStatsService persistentStatsService;
+    private final LevelTemplate levelTemplate;
     private UUID winnerId = null;  // Track winner for stats
+    private boolean scoreboardDirty;
 
     public TurrestGameMode02(List<ClientSession> players, UUID lobbyHostId, Map<UUID, Integer> playerColorMap,
+                             GameLoop gameLoop, LevelTemplate levelTemplate,
                              PersistentStatsService persistentStatsService) {
-        super(players, lobbyHostId, playerColorMap);
+        super(players, lobbyHostId, playerColorMap, gameLoop);
+        this.levelTemplate = levelTemplate;
         this.persistentStatsService = persistentStatsService;
     }
 
@@ -78,44 +77,39 @@ public class TurrestGameMode02 extends Game<Turrest02Player> {
             }
         }
 
-        try {
-            // 1. Send countdown to players
-            broadcastToAllPlayers(new be.lefief.sockets.commands.client.reception.CountdownResponse(5));
-
-            // 2. Load level and generate roads
-            int playerCount = getPlayerByNumber().size();
-            LevelLoader level = LevelLoader.load(LEVEL_PATH);
+        // 1. Send countdown to players
+        broadcastToAllPlayers(new be.lefief.sockets.commands.client.reception.CountdownResponse(5));
 
-            // Generate roads from spawners to castle (same for all players)
-            RoadGenerator roadGenerator = new RoadGenerator();
-            Set<Point> roadPositions = roadGenerator.generateRoads(level);
+        // 2. Copy the level template: pick one of its road layouts (same for all players)
+        int playerCount = getPlayerByNumber().size();
+        RoadLayout roads = levelTemplate.randomRoadLayout();
 
-            // 3. Create combined map with roads
-            gameMap = GameMap.createFromLevelWithRoads(LEVEL_PATH, playerCount, roadPositions, Road::new);
-            LOG.info("Created combined map {}x{} for {} players with {} roads per section",
-                    gameMap.getWidth(), gameMap.getHeight(), playerCount, roadPositions.size());
+        // 3. Create combined map with roads
+        gameMap = GameMap.createFromLevelWithRoads(levelTemplate.getLevel(), playerCount,
+                roads.getRoadPositions(), Road::new);
+        LOG.info("Created combined map {}x{} from level {} for {} players with {} roads per section",
+                gameMap.getWidth(), gameMap.getHeight(), levelTemplate.getName(), playerCount,
+                roads.getRoadPositions().size());
 
-            // 4. Load waves and create CreepManager
-            List<Wave> waves = WaveLoader.load(LEVEL_NAME);
-            creepManager = new CreepManager(waves, gameMap, playerCount);
-            LOG.info("Loaded {} waves for creep spawning", waves.size());
+        // 4. Create CreepManager from the level's waves and precomputed path
+        List<Wave> waves = levelTemplate.getWaves();
+        creepManager = new CreepManager(waves, gameMap, playerCount, getClock(), roads);
+        LOG.info("Using {} waves for creep spawning", waves.size());
 
-            // 5. Create TowerManager
-            towerManager = new TowerManager(creepManager, TICK_RATE_MS);
-            LOG.info("TowerManager created with tick rate {}ms", TICK_RATE_MS);
+        // 5. Create TowerManager
+        towerManager = new TowerManager(creepManager, TICK_RATE_MS);
+        LOG.info("TowerManager created with tick rate {}ms", TICK_RATE_MS);
 
-            // 5. Schedule game beginning after 5 seconds
-            Executors.newSingleThreadScheduledExecutor().schedule(() -> {
+        // 6. Schedule game beginning after 5 seconds
+        getGameLoop().schedule(() -> {
+            synchronized (tickLock) {
                 if (isGameIsRunning()) {
                     LOG.info("Countdown finished, sending map and starting game loop");
                     sendInitialMapToPlayers();
                     startGameLoop();
                 }
-            }, 5, TimeUnit.SECONDS);
-
-        } catch (IOException e) {
-            LOG.error("Failed to load level: {}", LEVEL_PATH, e);
-        }
+            }
+        }, 5, TimeUnit.SECONDS);
     }
 
     @Override
@@ -135,7 +129,7 @@ public class TurrestGameMode02 extends Game<Turrest02Player> {
         }
 
         // 3. Send full map in one command (faster than tile-by-tile)
-        session.sendCommand(new FullMapResponse(gameMap, playerColorMap));
+        session.sendCommand(new FullMapResponse(gameMap, playerColorMap, creepManager.getSectionGeometry()));
 
         // 4. Send all placed towers
         if (towerManager != null) {
@@ -195,7 +189,7 @@ public class TurrestGameMode02 extends Game<Turrest02Player> {
         }
 
         // Send entire map in one command (much faster than tile-by-tile)
-        broadcastToAllPlayers(new FullMapResponse(gameMap, playerColorMap));
+        broadcastToAllPlayers(new FullMapResponse(gameMap, playerColorMap, creepManager.getSectionGeometry()));
         LOG.info("Sent full map ({}x{}) to all players in single command",
                 gameMap.getWidth(), gameMap.getHeight());
 
@@ -261,25 +255,25 @@ public class TurrestGameMode02 extends Game<Turrest02Player> {
 
     /**
      * Award gold to a player (e.g., for killing creeps).
-     * Sends a resource update to the player.
+     * The resource update goes out at the end of the tick.
      */
     public void awardGoldToPlayer(int playerNumber, int gold) {
         Turrest02Player player = getPlayerByNumber().get(playerNumber);
         if (player != null && player.isConnected() && player.isAlive()) {
-            PlayerResources resources = player.getResources();
-            resources.addGold(gold);
-            sendResourceUpdateToPlayer(playerNumber);
+            player.getResources().addGold(gold);
         }
     }
 
     /**
-     * Send resource update to a specific player.
+     * Send resource update to a specific player right away, e.g. as feedback to their own action.
+     * Changes made during a tick need no call: they go out once at the end of the tick.
      */
     public void sendResourceUpdateToPlayer(int playerNumber) {
         Turrest02Player player = getPlayerByNumber().get(playerNumber);
         if (player != null && player.isConnected()) {
+            player.consumeResourcesChanged();
             PlayerResources resources = player.getResources();
-            player.getClientSession().sendCommand(new ResourceUpdateResponse(
+            sendToPlayer(player, new ResourceUpdateResponse(
                     resources.getWood(),
                     resources.getStone(),
                     resources.getGold()
@@ -292,8 +286,8 @@ public class TurrestGameMode02 extends Game<Turrest02Player> {
      */
     public void sendToPlayer(int playerNumber, be.lefief.sockets.commands.ServerToClientCommand command) {
         Turrest02Player player = getPlayerByNumber().get(playerNumber);
-        if (player != null && player.isConnected()) {
-            player.getClientSession().sendCommand(command);
+        if (player != null) {
+            sendToPlayer(player, command);
         }
     }
 
@@ -303,22 +297,31 @@ public class TurrestGameMode02 extends Game<Turrest02Player> {
 
     private void startGameLoop() {
         running = true;
-        gameLoop = Executors.newSingleThreadScheduledExecutor();
-        gameLoop.scheduleAtFixedRate(this::gameTick, TICK_RATE_MS, TICK_RATE_MS, TimeUnit.MILLISECONDS);
+        getGameLoop().start(this::gameTick);
         LOG.info("Game loop started with tick rate of {}ms", TICK_RATE_MS);
     }
 
-    private void gameTick() {
+    private void gameTick(double deltaSeconds) {
+        synchronized (tickLock) {
+            tick(deltaSeconds);
+        }
+    }
+
+    private void tick(double deltaSeconds) {
         if (!running || gameMap == null || !isGameIsRunning())
             return;
 
+        beginTickFrames();
         try {
-            tickCount++;
+            tickCount = (int) getClock().advance(deltaSeconds);
+
+            // Player commands first: their effects belong to this tick
+            drainInbound();
             resourceTickCounter++;
 
             // Process creeps (spawn, move, damage) with delta time
             if (creepManager != null) {
-                creepManager.tick(tickCount, this, TICK_DURATION_SEC);
+                creepManager.tick(tickCount, this, deltaSeconds);
             }
 
             // Process towers (targeting, shooting)
@@ -326,6 +329,11 @@ public class TurrestGameMode02 extends Game<Turrest02Player> {
                 towerManager.tick(this);
             }
 
+            // Send creep changes of this tick (moves, damage, slows, removals)
+            if (creepManager != null) {
+                creepManager.publishCreepState(this);
+            }
+
             // Process bot AI decisions
             if (botManager != null) {
                 botManager.tick(this, tickCount);
@@ -337,15 +345,7 @@ public class TurrestGameMode02 extends Game<Turrest02Player> {
 
                 for (Turrest02Player player : getPlayerByNumber().values()) {
                     if (player.isConnected() && player.isAlive()) {
-                        PlayerResources resources = player.getResources();
-                        resources.addProduction();
-
-                        // Send resource update to the player
-                        player.getClientSession().sendCommand(new ResourceUpdateResponse(
-                                resources.getWood(),
-                                resources.getStone(),
-                                resources.getGold()
-                        ));
+                        player.getResources().addProduction();
                     }
                 }
 
@@ -353,18 +353,61 @@ public class TurrestGameMode02 extends Game<Turrest02Player> {
                 checkGracePeriods();
             }
 
+            // Send resources, HP and scoreboard once, if they changed during this tick
+            publishPlayerState();
+
             if (tickCount % 25 == 0) { // Log every 5 seconds (25 ticks at 5Hz)
                 LOG.debug("Game tick {} completed, active creeps: {}",
                         tickCount, creepManager != null ? creepManager.getActiveCreepCount() : 0);
             }
         } catch (Exception e) {
             LOG.error("Error in game tick", e);
+        } finally {
+            flushTickFrames();
         }
     }
 
+    /**
+     * Send every player's changed resources, one damage or HP update per player whose hitpoints
+     * changed, and a single scoreboard when any score changed or it was marked dirty.
+     */
+    private void publishPlayerState() {
+        boolean scoreboardChanged = scoreboardDirty;
+        scoreboardDirty = false;
+        for (Turrest02Player player : getPlayerByNumber().values()) {
+            if (player.consumeResourcesChanged()) {
+                PlayerResources resources = player.getResources();
+                sendToPlayer(player, new ResourceUpdateResponse(
+                        resources.getWood(),
+                        resources.getStone(),
+                        resources.getGold()
+                ));
+            }
+            int hitpointsLost = player.consumeHitpointChange();
+            if (hitpointsLost > 0) {
+                broadcastToAllPlayers(new PlayerTakesDamageCommand(
+                        player.getPlayerNumber(), hitpointsLost, player.getHitpoints()));
+            } else if (hitpointsLost < 0) {
+                broadcastToAllPlayers(new PlayerHpUpdateCommand(player.getPlayerNumber(), player.getHitpoints()));
+            }
+            // Score = HP
+            scoreboardChanged |= hitpointsLost != 0;
+        }
+        if (scoreboardChanged) {
+            broadcastScoreboard();
+        }
+    }
+
+    /**
+     * Have the scoreboard sent at the end of the next tick.
+     */
+    public void markScoreboardDirty() {
+        scoreboardDirty = true;
+    }
+
     public void handlePlayerDeath(Turrest02Player player) {
         LOG.info("Player {} has been eliminated!", player.getPlayerNumber());
-        broadcastScoreboard();
+        markScoreboardDirty();
         broadcastToAllPlayers(new GameOverCommand(player.getPlayerNumber(), false));
 
         // Check if game is over (only one player left)
@@ -392,16 +435,40 @@ public class TurrestGameMode02 extends Game<Turrest02Player> {
         }
     }
 
+    @Override
+    public void reconnectPlayer(UUID userId, ClientSession newSession) {
+        // The resync reads towers, resources and scores, take it in step with the tick
+        runInStep(() -> super.reconnectPlayer(userId, newSession));
+    }
+
     @Override
     public void handlePlayerDisconnect(UUID userId) {
+        runInStep(() -> markPlayerDisconnected(userId));
+    }
+
+    /**
+     * Queue a lifecycle command for the next tick while the loop ticks. During the countdown and
+     * after the game ended nothing drains the queue, so it runs right away, under the tick lock.
+     */
+    private void runInStep(Runnable command) {
+        synchronized (tickLock) {
+            if (running) {
+                submit(command);
+            } else {
+                command.run();
+            }
+        }
+    }
+
+    private void markPlayerDisconnected(UUID userId) {
         // Find the disconnecting player and mark as disconnected with timestamp
         for (Turrest02Player player : getPlayerByNumber().values()) {
             if (player.getClientSession() != null && userId.equals(player.getClientSession().getUserId())) {
                 LOG.info("Player {} disconnected, starting 60s grace period", player.getPlayerNumber());
-                player.markDisconnected();
+                player.markDisconnected(getClock().nowMs());
                 broadcastToAllPlayers(new be.lefief.sockets.commands.client.reception.DisplayChatCommand(
                         player.getClientSession().getUserName() + " disconnected. Waiting 60s for reconnection..."));
-                broadcastScoreboard();
+                markScoreboardDirty();
                 break;
             }
         }
@@ -449,18 +516,13 @@ public class TurrestGameMode02 extends Game<Turrest02Player> {
 
     @Override
     public void stop() {
-        running = false;
-        setGameIsRunning(false);
-        if (gameLoop != null) {
-            gameLoop.shutdown();
-            try {
-                if (!gameLoop.awaitTermination(5, TimeUnit.SECONDS)) {
-                    gameLoop.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                gameLoop.shutdownNow();
-            }
+        synchronized (tickLock) {
+            running = false;
+            setGameIsRunning(false);
+            // Commands accepted before the end still run; later ones are refused or run directly
+            drainInbound();
         }
+        releaseGameLoop();
 
         // Record persistent stats for all players
         if (persistentStatsService != null) {
@@ -472,7 +534,6 @@ public class TurrestGameMode02 extends Game<Turrest02Player> {
             }
         }
 
-        shutdownCommunicationPool();
         LOG.info("Game loop stopped after {} ticks", tickCount);
     }
 }
@@ -0,0 +1,21 @@
+package be.lefief.game.turrest02.commands;
+
+import be.lefief.sockets.commands.ServerToClientCommand;
+import be.lefief.sockets.commands.client.ClientSocketSubject;
+
+import java.util.List;
+
+/**
+ * All creeps that left the game during one tick, by reaching a castle or being killed.
+ */
+public class BatchedDespawnCreepCommand extends ServerToClientCommand {
+
+    public static final String TOPIC = "BATCHED_DESPAWN_CREEP";
+
+    public BatchedDespawnCreepCommand(List<DespawnCreepCommand.Payload> despawns) {
+        super(ClientSocketSubject.GAME, TOPIC, new Payload(despawns));
+    }
+
+    public record Payload(List<DespawnCreepCommand.Payload> despawns) {
+    }
+}
@@ -1,42 +1,107 @@
 package be.lefief.game.turrest02.commands;
 
-import be.lefief.game.turrest02.creep.Creep;
+import be.lefief.game.turrest02.creep.CreepPool;
+import be.lefief.sockets.binary.BinaryEncodable;
+import be.lefief.sockets.binary.BinaryFrameWriter;
+import be.lefief.sockets.binary.BinaryProtocol;
+import be.lefief.sockets.commands.JsonPayload;
+import be.lefief.util.IntList;
 import be.lefief.sockets.commands.ServerToClientCommand;
 import be.lefief.sockets.commands.client.ClientSocketSubject;
 
-import java.util.*;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
 
 /**
  * Batched creep spawn command - sends all creep spawns in a single command
  * to reduce network overhead during wave spawning.
+ * <p>
+ * Binary entry: {@code varint creepId, string creepType, u16 x, u16 y, u8 playerNumber,
+ * u8 spawnedByPlayer+1 (0 = wave), varint hitpoints, varint maxHitpoints, f32 speed}.
  */
-public class BatchedSpawnCreepCommand extends ServerToClientCommand {
+public class BatchedSpawnCreepCommand extends ServerToClientCommand implements BinaryEncodable, JsonPayload {
 
     public static final String TOPIC = "BATCHED_SPAWN_CREEP";
 
-    public BatchedSpawnCreepCommand(Collection<Creep> creeps) {
-        super(ClientSocketSubject.GAME, TOPIC, createData(creeps));
+    private final long tick;
+    private final int[] ids;
+    private final String[] types;
+    private final double[] xs;
+    private final double[] ys;
+    private final int[] players;
+    private final int[] senders;
+    private final int[] hitpoints;
+    private final int[] maxHitpoints;
+    private final double[] speeds;
+
+    public BatchedSpawnCreepCommand(CreepPool pool, IntList slots, long tick) {
+        super(ClientSocketSubject.GAME, TOPIC);
+        this.tick = tick;
+        int count = slots.size();
+        ids = new int[count];
+        types = new String[count];
+        xs = new double[count];
+        ys = new double[count];
+        players = new int[count];
+        senders = new int[count];
+        hitpoints = new int[count];
+        maxHitpoints = new int[count];
+        speeds = new double[count];
+        for (int i = 0; i < count; i++) {
+            int slot = slots.get(i);
+            ids[i] = pool.getId(slot);
+            types[i] = pool.getType(slot).getId();
+            xs[i] = pool.getX(slot);
+            ys[i] = pool.getY(slot);
+            players[i] = pool.getOwnerPlayerNumber(slot);
+            senders[i] = pool.getSpawnedByPlayer(slot);
+            hitpoints[i] = pool.getHitpoints(slot);
+            maxHitpoints[i] = pool.getType(slot).getHitpoints();
+            speeds[i] = pool.getClientSpeed(slot);
+        }
     }
 
-    private static Map<String, Object> createData(Collection<Creep> creeps) {
-        Map<String, Object> data = new HashMap<>();
-        List<Map<String, Object>> spawns = new ArrayList<>();
-
-        for (Creep creep : creeps) {
-            Map<String, Object> spawn = new HashMap<>();
-            spawn.put("creepId", creep.getId().toString());
-            spawn.put("creepType", creep.getType().getId());
-            spawn.put("x", creep.getX());
-            spawn.put("y", creep.getY());
-            spawn.put("playerNumber", creep.getOwnerPlayerNumber());
-            spawn.put("spawnedByPlayer", creep.getSpawnedByPlayer());
-            spawn.put("hitpoints", creep.getHitpoints());
-            spawn.put("maxHitpoints", creep.getType().getHitpoints());
-            spawn.put("speed", creep.getType().getTilesPerSecond() * 2.0); // Include speed multiplier
-            spawns.add(spawn);
+    @Override
+    public void writeData(JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("tick", tick);
+        gen.writeArrayFieldStart("spawns");
+        for (int i = 0; i < ids.length; i++) {
+            gen.writeStartObject();
+            gen.writeNumberField("creepId", ids[i]);
+            gen.writeStringField("creepType", types[i]);
+            gen.writeNumberField("x", xs[i]);
+            gen.writeNumberField("y", ys[i]);
+            gen.writeNumberField("playerNumber", players[i]);
+            gen.writeFieldName("spawnedByPlayer");
+            if (senders[i] == CreepPool.NO_SENDER) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(senders[i]);
+            }
+            gen.writeNumberField("hitpoints", hitpoints[i]);
+            gen.writeNumberField("maxHitpoints", maxHitpoints[i]);
+            gen.writeNumberField("speed", speeds[i]); // Include speed multiplier
+            gen.writeEndObject();
         }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
 
-        data.put("spawns", spawns);
-        return data;
+    @Override
+    public void encode(BinaryFrameWriter out) {
+        out.header(BinaryProtocol.OP_CREEP_SPAWN, tick, ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            out.writeVarInt(ids[i]);
+            out.writeString(types[i]);
+            out.writePosition(xs[i]);
+            out.writePosition(ys[i]);
+            out.writeByte(players[i]);
+            out.writeByte(senders[i] == CreepPool.NO_SENDER ? 0 : senders[i] + 1);
+            out.writeVarInt(Math.max(0, hitpoints[i]));
+            out.writeVarInt(maxHitpoints[i]);
+            out.writeFloat((float) speeds[i]);
+        }
     }
 }
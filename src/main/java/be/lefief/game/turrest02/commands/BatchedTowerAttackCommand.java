@@ -1,44 +1,71 @@
 package be.lefief.game.turrest02.commands;
 
 import be.lefief.game.turrest02.tower.TowerAttack;
+import be.lefief.sockets.binary.BinaryEncodable;
+import be.lefief.sockets.binary.BinaryFrameWriter;
+import be.lefief.sockets.binary.BinaryProtocol;
+import be.lefief.sockets.commands.JsonPayload;
 import be.lefief.sockets.commands.ServerToClientCommand;
 import be.lefief.sockets.commands.client.ClientSocketSubject;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Batched tower attack command - sends all tower attacks in a single command
  * to reduce network overhead.
+ * <p>
+ * Binary entry: {@code uuid towerId, u16 towerX, u16 towerY, varint targetCreepId,
+ * u16 targetX, u16 targetY, varint damage, string bulletType}.
  */
-public class BatchedTowerAttackCommand extends ServerToClientCommand {
+public class BatchedTowerAttackCommand extends ServerToClientCommand implements BinaryEncodable, JsonPayload {
 
     public static final String TOPIC = "BATCHED_TOWER_ATTACK";
 
-    public BatchedTowerAttackCommand(List<TowerAttack> attacks) {
-        super(ClientSocketSubject.GAME, TOPIC, createData(attacks));
-    }
+    private final long tick;
+    private final List<TowerAttack> attacks;
 
-    private static Map<String, Object> createData(List<TowerAttack> attacks) {
-        Map<String, Object> data = new HashMap<>();
-        List<Map<String, Object>> attackList = new ArrayList<>();
+    public BatchedTowerAttackCommand(List<TowerAttack> attacks, long tick) {
+        super(ClientSocketSubject.GAME, TOPIC);
+        this.tick = tick;
+        this.attacks = attacks;
+    }
 
+    @Override
+    public void writeData(JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("tick", tick);
+        gen.writeArrayFieldStart("attacks");
         for (TowerAttack attack : attacks) {
-            Map<String, Object> attackData = new HashMap<>();
-            attackData.put("towerId", attack.getTower().getId().toString());
-            attackData.put("towerX", attack.getTowerX());
-            attackData.put("towerY", attack.getTowerY());
-            attackData.put("targetCreepId", attack.getTarget().getId().toString());
-            attackData.put("targetX", attack.getTargetX());
-            attackData.put("targetY", attack.getTargetY());
-            attackData.put("damage", attack.getDamage());
-            attackData.put("bulletType", attack.getBulletType());
-            attackList.add(attackData);
+            gen.writeStartObject();
+            gen.writeStringField("towerId", attack.getTower().getId().toString());
+            gen.writeNumberField("towerX", attack.getTowerX());
+            gen.writeNumberField("towerY", attack.getTowerY());
+            gen.writeNumberField("targetCreepId", attack.getTargetCreepId());
+            gen.writeNumberField("targetX", attack.getTargetX());
+            gen.writeNumberField("targetY", attack.getTargetY());
+            gen.writeNumberField("damage", attack.getDamage());
+            gen.writeStringField("bulletType", attack.getBulletType());
+            gen.writeEndObject();
         }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
 
-        data.put("attacks", attackList);
-        return data;
+    @Override
+    public void encode(BinaryFrameWriter out) {
+        out.header(BinaryProtocol.OP_TOWER_ATTACK, tick, attacks.size());
+        for (TowerAttack attack : attacks) {
+            out.writeUuid(attack.getTower().getId());
+            out.writePosition(attack.getTowerX());
+            out.writePosition(attack.getTowerY());
+            out.writeVarInt(attack.getTargetCreepId());
+            out.writePosition(attack.getTargetX());
+            out.writePosition(attack.getTargetY());
+            out.writeVarInt(Math.max(0, attack.getDamage()));
+            out.writeString(attack.getBulletType());
+        }
     }
 }
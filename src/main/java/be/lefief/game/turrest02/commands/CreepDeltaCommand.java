@@ -0,0 +1,91 @@
+package be.lefief.game.turrest02.commands;
+
+import be.lefief.sockets.binary.BinaryEncodable;
+import be.lefief.sockets.binary.BinaryFrameWriter;
+import be.lefief.sockets.binary.BinaryProtocol;
+import be.lefief.sockets.commands.JsonPayload;
+import be.lefief.sockets.commands.ServerToClientCommand;
+import be.lefief.sockets.commands.client.ClientSocketSubject;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * Changes to creep state since the previous delta or keyframe. Only creeps with a changed
+ * field are listed, and only the changed fields are sent: {@code progress} re-anchors the
+ * distance walked along the creep's section path as of this tick, {@code hp} is its hitpoints
+ * and {@code speed} its client speed (slow start/stop). Removed creeps are not listed: they
+ * go out once, with reason and rewards, in {@link BatchedDespawnCreepCommand}.
+ * <p>
+ * Binary entry: {@code varint id, u8 mask, [f32 progress], [varint hp], [f32 speed]}.
+ */
+public class CreepDeltaCommand extends ServerToClientCommand implements BinaryEncodable, JsonPayload {
+
+    public static final String TOPIC = "CREEP_DELTA";
+
+    public static final int FLAG_PROGRESS = 1;
+    public static final int FLAG_HP = 1 << 1;
+    public static final int FLAG_SPEED = 1 << 2;
+
+    private final long tick;
+    private final int[] ids;
+    private final int[] masks;
+    private final double[] progress;
+    private final int[] hitpoints;
+    private final double[] speeds;
+
+    /**
+     * Arrays are taken over, not copied; callers hand in fresh arrays per command.
+     */
+    public CreepDeltaCommand(long tick, int[] ids, int[] masks, double[] progress,
+                             int[] hitpoints, double[] speeds) {
+        super(ClientSocketSubject.GAME, TOPIC);
+        this.tick = tick;
+        this.ids = ids;
+        this.masks = masks;
+        this.progress = progress;
+        this.hitpoints = hitpoints;
+        this.speeds = speeds;
+    }
+
+    @Override
+    public void writeData(JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("tick", tick);
+        gen.writeArrayFieldStart("updates");
+        for (int i = 0; i < ids.length; i++) {
+            gen.writeStartObject();
+            gen.writeNumberField("id", ids[i]);
+            if ((masks[i] & FLAG_PROGRESS) != 0) {
+                gen.writeNumberField("progress", progress[i]);
+            }
+            if ((masks[i] & FLAG_HP) != 0) {
+                gen.writeNumberField("hp", hitpoints[i]);
+            }
+            if ((masks[i] & FLAG_SPEED) != 0) {
+                gen.writeNumberField("speed", speeds[i]);
+            }
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+
+    @Override
+    public void encode(BinaryFrameWriter out) {
+        out.header(BinaryProtocol.OP_CREEP_DELTA, tick, ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            out.writeVarInt(ids[i]);
+            out.writeByte(masks[i]);
+            if ((masks[i] & FLAG_PROGRESS) != 0) {
+                out.writeFloat((float) progress[i]);
+            }
+            if ((masks[i] & FLAG_HP) != 0) {
+                out.writeVarInt(Math.max(0, hitpoints[i]));
+            }
+            if ((masks[i] & FLAG_SPEED) != 0) {
+                out.writeFloat((float) speeds[i]);
+            }
+        }
+    }
+}
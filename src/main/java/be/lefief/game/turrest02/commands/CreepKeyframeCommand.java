@@ -0,0 +1,115 @@
+package be.lefief.game.turrest02.commands;
+
+import be.lefief.game.turrest02.creep.CreepPool;
+import be.lefief.sockets.binary.BinaryEncodable;
+import be.lefief.sockets.binary.BinaryFrameWriter;
+import be.lefief.sockets.binary.BinaryProtocol;
+import be.lefief.sockets.commands.DeliveryPolicy;
+import be.lefief.sockets.commands.JsonPayload;
+import be.lefief.sockets.commands.ServerToClientCommand;
+import be.lefief.sockets.commands.client.ClientSocketSubject;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * Full creep state. Replaces everything the client knows about creeps, so it recovers
+ * from reconnects and from any drift accumulated while extrapolating along paths.
+ * <p>
+ * Binary entry: the {@link BatchedSpawnCreepCommand} layout followed by {@code f32 progress}.
+ */
+public class CreepKeyframeCommand extends ServerToClientCommand implements BinaryEncodable, JsonPayload {
+
+    public static final String TOPIC = "CREEP_KEYFRAME";
+
+    private final long tick;
+    private final int[] ids;
+    private final String[] types;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] progress;
+    private final int[] players;
+    private final int[] senders;
+    private final int[] hitpoints;
+    private final int[] maxHitpoints;
+    private final double[] speeds;
+
+    public CreepKeyframeCommand(CreepPool pool, long tick) {
+        super(ClientSocketSubject.GAME, TOPIC);
+        this.tick = tick;
+        int count = pool.size();
+        ids = new int[count];
+        types = new String[count];
+        xs = new double[count];
+        ys = new double[count];
+        progress = new double[count];
+        players = new int[count];
+        senders = new int[count];
+        hitpoints = new int[count];
+        maxHitpoints = new int[count];
+        speeds = new double[count];
+        for (int i = 0; i < count; i++) {
+            int slot = pool.slotAt(i);
+            ids[i] = pool.getId(slot);
+            types[i] = pool.getType(slot).getId();
+            xs[i] = pool.getX(slot);
+            ys[i] = pool.getY(slot);
+            progress[i] = pool.getProgress(slot);
+            players[i] = pool.getOwnerPlayerNumber(slot);
+            senders[i] = pool.getSpawnedByPlayer(slot);
+            hitpoints[i] = pool.getHitpoints(slot);
+            maxHitpoints[i] = pool.getType(slot).getHitpoints();
+            speeds[i] = pool.getEffectiveClientSpeed(slot);
+        }
+    }
+
+    @Override
+    public DeliveryPolicy getDeliveryPolicy() {
+        return DeliveryPolicy.LATEST_ONLY; // replaces all creep state
+    }
+
+    @Override
+    public void writeData(JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("tick", tick);
+        gen.writeArrayFieldStart("creeps");
+        for (int i = 0; i < ids.length; i++) {
+            gen.writeStartObject();
+            gen.writeNumberField("creepId", ids[i]);
+            gen.writeStringField("creepType", types[i]);
+            gen.writeNumberField("x", xs[i]);
+            gen.writeNumberField("y", ys[i]);
+            gen.writeNumberField("progress", progress[i]);
+            gen.writeNumberField("playerNumber", players[i]);
+            gen.writeFieldName("spawnedByPlayer");
+            if (senders[i] == CreepPool.NO_SENDER) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(senders[i]);
+            }
+            gen.writeNumberField("hitpoints", hitpoints[i]);
+            gen.writeNumberField("maxHitpoints", maxHitpoints[i]);
+            gen.writeNumberField("speed", speeds[i]);
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+
+    @Override
+    public void encode(BinaryFrameWriter out) {
+        out.header(BinaryProtocol.OP_CREEP_KEYFRAME, tick, ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            out.writeVarInt(ids[i]);
+            out.writeString(types[i]);
+            out.writePosition(xs[i]);
+            out.writePosition(ys[i]);
+            out.writeByte(players[i]);
+            out.writeByte(senders[i] == CreepPool.NO_SENDER ? 0 : senders[i] + 1);
+            out.writeVarInt(Math.max(0, hitpoints[i]));
+            out.writeVarInt(maxHitpoints[i]);
+            out.writeFloat((float) speeds[i]);
+            out.writeFloat((float) progress[i]);
+        }
+    }
+}
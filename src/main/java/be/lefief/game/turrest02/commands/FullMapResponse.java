@@ -2,111 +2,135 @@ package be.lefief.game.turrest02.commands;
 
 import be.lefief.game.map.GameMap;
 import be.lefief.game.map.Structure;
-import be.lefief.game.map.Tile;
 import be.lefief.game.turrest02.creep.CreepType;
+import be.lefief.game.turrest02.creep.PathGeometry;
 import be.lefief.game.turrest02.structure.TurrestBuilding;
 import be.lefief.game.turrest02.tower.TowerDefinition;
+import be.lefief.sockets.commands.DeliveryPolicy;
+import be.lefief.sockets.commands.JsonPayload;
 import be.lefief.sockets.commands.ServerToClientCommand;
 import be.lefief.sockets.commands.client.ClientSocketSubject;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Sends the entire game map in a single command for efficient initial load.
+ * Tiles are streamed from the map's arrays; tower and creep definitions never
+ * change and are kept as prebuilt records.
+ * <p>
+ * {@code paths} holds the polyline each section's creeps walk, indexed by player number,
+ * as flat {@code [x0, y0, x1, y1, ...]} tile-center coordinates starting at the spawner.
+ * Clients place creeps on it from their progress and speed.
  */
-public class FullMapResponse extends ServerToClientCommand {
+public class FullMapResponse extends ServerToClientCommand implements JsonPayload {
 
     public static final String TOPIC = "FULL_MAP";
 
+    private static final List<TowerDef> TOWERS = Arrays.stream(TowerDefinition.values()).map(TowerDef::of).toList();
+    private static final List<CreepDef> CREEPS = Arrays.stream(CreepType.values()).map(CreepDef::of).toList();
+
+    private final GameMap gameMap;
+    private final Map<Integer, Integer> playerColorMap;
+    private final List<PathGeometry> paths;
+
     public FullMapResponse(GameMap gameMap, Map<Integer, Integer> playerColorMap) {
-        super(ClientSocketSubject.GAME, TOPIC, createData(gameMap, playerColorMap));
+        this(gameMap, playerColorMap, List.of());
+    }
+
+    public FullMapResponse(GameMap gameMap, Map<Integer, Integer> playerColorMap, List<PathGeometry> paths) {
+        super(ClientSocketSubject.GAME, TOPIC);
+        this.gameMap = gameMap;
+        this.playerColorMap = playerColorMap;
+        this.paths = paths;
+    }
+
+    @Override
+    public DeliveryPolicy getDeliveryPolicy() {
+        return DeliveryPolicy.CRITICAL; // part of the initial sync and resync
     }
 
-    private static Map<String, Object> createData(GameMap gameMap, Map<Integer, Integer> playerColorMap) {
-        Map<String, Object> data = new HashMap<>();
-        data.put("width", gameMap.getWidth());
-        data.put("height", gameMap.getHeight());
-        data.put("playerColorMap", playerColorMap);
+    @Override
+    public void writeData(JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("width", gameMap.getWidth());
+        gen.writeNumberField("height", gameMap.getHeight());
+        gen.writeObjectField("playerColorMap", playerColorMap);
 
-        List<Map<String, Object>> tiles = new ArrayList<>();
+        gen.writeArrayFieldStart("tiles");
         for (int x = 0; x < gameMap.getWidth(); x++) {
             for (int y = 0; y < gameMap.getHeight(); y++) {
-                Tile tile = gameMap.getTile(x, y);
-                if (tile != null) {
-                    tiles.add(createTileData(x, y, tile));
-                }
+                writeTile(gen, x, y);
+            }
+        }
+        gen.writeEndArray();
+
+        gen.writeArrayFieldStart("paths");
+        for (PathGeometry path : paths) {
+            gen.writeStartArray();
+            for (int i = 0; i < path.size(); i++) {
+                gen.writeNumber(path.getX(i));
+                gen.writeNumber(path.getY(i));
             }
+            gen.writeEndArray();
         }
-        data.put("tiles", tiles);
+        gen.writeEndArray();
 
-        // Add available tower definitions
-        data.put("towers", createTowerDefinitions());
+        // Add available tower and creep definitions
+        gen.writeObjectField("towers", TOWERS);
+        gen.writeObjectField("creeps", CREEPS);
+        gen.writeEndObject();
+    }
 
-        // Add available creep definitions
-        data.put("creeps", createCreepDefinitions());
+    private void writeTile(JsonGenerator gen, int x, int y) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("x", x);
+        gen.writeNumberField("y", y);
+        gen.writeNumberField("terrainType", gameMap.getTerrainType(x, y).getTerrainTypeID());
 
-        return data;
-    }
+        Structure structure = gameMap.getStructure(x, y);
+        if (structure != null) {
+            gen.writeNumberField("structureType", structure.getStructureTypeId());
 
-    private static List<Map<String, Object>> createTowerDefinitions() {
-        List<Map<String, Object>> towers = new ArrayList<>();
-        for (TowerDefinition def : TowerDefinition.values()) {
-            Map<String, Object> tower = new HashMap<>();
-            tower.put("id", def.getId());
-            tower.put("name", def.getName());
-            tower.put("range", def.getShootingRange());
-            tower.put("damage", def.getBulletDamage());
-            tower.put("cooldownMs", def.getCooldownMs());
-            tower.put("bulletType", def.getBulletType());
-            tower.put("costWood", def.getCost().getWood());
-            tower.put("costStone", def.getCost().getStone());
-            tower.put("costGold", def.getCost().getGold());
-            tower.put("splashRadius", def.getSplashRadius());
-            tower.put("slowFactor", def.getSlowFactor());
-            tower.put("slowDurationMs", def.getSlowDurationMs());
-            towers.add(tower);
+            if (structure instanceof TurrestBuilding building) {
+                gen.writeNumberField("buildingType", building.getBuildingTypeId());
+                gen.writeNumberField("ownerPlayerNumber", building.getOwnerPlayerNumber());
+            }
         }
-        return towers;
-    }
 
-    private static List<Map<String, Object>> createCreepDefinitions() {
-        List<Map<String, Object>> creeps = new ArrayList<>();
-        for (CreepType type : CreepType.values()) {
-            Map<String, Object> creep = new HashMap<>();
-            creep.put("id", type.getId());
-            creep.put("speed", type.getSpeed());
-            creep.put("hitpoints", type.getHitpoints());
-            creep.put("damage", type.getDamage());
-            creep.put("sendCostGold", type.getSendCost().getGold());
-            creep.put("killRewardGold", type.getKillReward().getGold());
-            creep.put("spawnCount", type.getSpawnCount());
-            creep.put("isHealer", type.canHeal());
-            creeps.add(creep);
+        gen.writeArrayFieldStart("owners");
+        long mask = gameMap.getOwnerMask(x, y);
+        while (mask != 0) {
+            gen.writeNumber(Long.numberOfTrailingZeros(mask));
+            mask &= mask - 1;
         }
-        return creeps;
+        gen.writeEndArray();
+        gen.writeEndObject();
     }
 
-    private static Map<String, Object> createTileData(int x, int y, Tile tile) {
-        Map<String, Object> tileData = new HashMap<>();
-        tileData.put("x", x);
-        tileData.put("y", y);
-        tileData.put("terrainType", tile.getTerrainType().getTerrainTypeID());
-
-        Structure structure = tile.getStructure();
-        if (structure != null) {
-            tileData.put("structureType", structure.getStructureTypeId());
+    public record TowerDef(int id, String name, double range, int damage, int cooldownMs, String bulletType,
+                           int costWood, int costStone, int costGold, double splashRadius,
+                           double slowFactor, int slowDurationMs) {
 
-            if (structure instanceof TurrestBuilding building) {
-                tileData.put("buildingType", building.getBuildingTypeId());
-                tileData.put("ownerPlayerNumber", building.getOwnerPlayerNumber());
-            }
+        static TowerDef of(TowerDefinition def) {
+            return new TowerDef(def.getId(), def.getName(), def.getShootingRange(), def.getBulletDamage(),
+                    def.getCooldownMs(), def.getBulletType(),
+                    def.getCost().getWood(), def.getCost().getStone(), def.getCost().getGold(),
+                    def.getSplashRadius(), def.getSlowFactor(), def.getSlowDurationMs());
         }
+    }
 
-        tileData.put("owners", new ArrayList<>(tile.getOwners()));
+    public record CreepDef(String id, int speed, int hitpoints, int damage, int sendCostGold,
+                           int killRewardGold, int spawnCount, @JsonProperty("isHealer") boolean isHealer) {
 
-        return tileData;
+        static CreepDef of(CreepType type) {
+            return new CreepDef(type.getId(), type.getSpeed(), type.getHitpoints(), type.getDamage(),
+                    type.getSendCost().getGold(), type.getKillReward().getGold(), type.getSpawnCount(),
+                    type.canHeal());
+        }
     }
 }
@@ -1,5 +1,6 @@
 package be.lefief.game.turrest02.commands;
 
+import be.lefief.sockets.commands.DeliveryPolicy;
 import be.lefief.sockets.commands.ServerToClientCommand;
 import be.lefief.sockets.commands.client.ClientSocketSubject;
 
@@ -14,6 +15,11 @@ public class GameOverCommand extends ServerToClientCommand {
         super(ClientSocketSubject.GAME, TOPIC, createData(playerNumber, isWinner));
     }
 
+    @Override
+    public DeliveryPolicy getDeliveryPolicy() {
+        return DeliveryPolicy.CRITICAL; // the game ends for this client
+    }
+
     private static Map<String, Object> createData(int playerNumber, boolean isWinner) {
         Map<String, Object> data = new HashMap<>();
         data.put("playerNumber", playerNumber);
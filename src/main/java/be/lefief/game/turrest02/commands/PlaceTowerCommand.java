@@ -3,8 +3,6 @@ package be.lefief.game.turrest02.commands;
 import be.lefief.sockets.commands.ClientToServerCommand;
 import be.lefief.sockets.commands.client.ServerSocketSubject;
 
-import java.util.Map;
-
 /**
  * Command sent by client to place a tower on the map.
  */
@@ -13,19 +11,28 @@ public class PlaceTowerCommand extends ClientToServerCommand {
     public static final ServerSocketSubject SUBJECT = ServerSocketSubject.GAME;
     public static final String TOPIC = "PLACE_TOWER";
 
-    public PlaceTowerCommand(Map<String, Object> data) {
-        super(SUBJECT, TOPIC, data);
+    /**
+     * The command's data, bound directly by the inbound decoder.
+     */
+    public record Payload(int x, int y, int towerType) {
+    }
+
+    private final Payload payload;
+
+    public PlaceTowerCommand(Payload payload) {
+        super(SUBJECT, TOPIC, payload);
+        this.payload = payload;
     }
 
     public int getX() {
-        return ((Number) getData().get("x")).intValue();
+        return payload.x();
     }
 
     public int getY() {
-        return ((Number) getData().get("y")).intValue();
+        return payload.y();
     }
 
     public int getTowerType() {
-        return ((Number) getData().get("towerType")).intValue();
+        return payload.towerType();
     }
 }
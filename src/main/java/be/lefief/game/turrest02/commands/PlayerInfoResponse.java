@@ -1,6 +1,7 @@
 package be.lefief.game.turrest02.commands;
 
 import be.lefief.game.PlayerColors;
+import be.lefief.sockets.commands.DeliveryPolicy;
 import be.lefief.sockets.commands.ServerToClientCommand;
 import be.lefief.sockets.commands.client.ClientSocketSubject;
 
@@ -18,6 +19,11 @@ public class PlayerInfoResponse extends ServerToClientCommand {
         super(ClientSocketSubject.GAME, TOPIC, createData(playerNumber, colorIndex));
     }
 
+    @Override
+    public DeliveryPolicy getDeliveryPolicy() {
+        return DeliveryPolicy.CRITICAL; // part of the initial sync and resync
+    }
+
     private static Map<String, Object> createData(int playerNumber, int colorIndex) {
         Map<String, Object> data = new HashMap<>();
         data.put("playerNumber", playerNumber);
@@ -7,9 +7,6 @@ import be.lefief.game.turrest02.resource.TurrestReward;
 import be.lefief.sockets.commands.ServerToClientCommand;
 import be.lefief.sockets.commands.client.ClientSocketSubject;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Command to notify frontend of resource changes for animation purposes.
  * Used for both rewards (positive values) and costs (negative values).
@@ -23,7 +20,7 @@ public class ResourceEventCommand extends ServerToClientCommand {
      */
     public ResourceEventCommand(ResourceEventType eventType, TurrestReward reward,
                                 double x, double y, int playerNumber) {
-        super(ClientSocketSubject.GAME, TOPIC, createData(
+        super(ClientSocketSubject.GAME, TOPIC, payload(
                 eventType,
                 reward.getWood(),
                 reward.getStone(),
@@ -37,7 +34,7 @@ public class ResourceEventCommand extends ServerToClientCommand {
      */
     public ResourceEventCommand(ResourceEventType eventType, TurrestCost cost,
                                 double x, double y, int playerNumber) {
-        super(ClientSocketSubject.GAME, TOPIC, createData(
+        super(ClientSocketSubject.GAME, TOPIC, payload(
                 eventType,
                 -cost.getWood(),
                 -cost.getStone(),
@@ -51,7 +48,7 @@ public class ResourceEventCommand extends ServerToClientCommand {
      */
     public ResourceEventCommand(ResourceEventType eventType, ResourceCost cost,
                                 double x, double y, int playerNumber) {
-        super(ClientSocketSubject.GAME, TOPIC, createData(
+        super(ClientSocketSubject.GAME, TOPIC, payload(
                 eventType,
                 -cost.getWood(),
                 -cost.getStone(),
@@ -60,18 +57,13 @@ public class ResourceEventCommand extends ServerToClientCommand {
                 x, y, playerNumber));
     }
 
-    private static Map<String, Object> createData(ResourceEventType eventType,
-                                                  int wood, int stone, int gold, int hitpoints,
-                                                  double x, double y, int playerNumber) {
-        Map<String, Object> data = new HashMap<>();
-        data.put("eventType", eventType.getId());
-        data.put("wood", wood);
-        data.put("stone", stone);
-        data.put("gold", gold);
-        data.put("hitpoints", hitpoints);
-        data.put("x", x);
-        data.put("y", y);
-        data.put("playerNumber", playerNumber);
-        return data;
+    private static Payload payload(ResourceEventType eventType,
+                                   int wood, int stone, int gold, int hitpoints,
+                                   double x, double y, int playerNumber) {
+        return new Payload(eventType.getId(), wood, stone, gold, hitpoints, x, y, playerNumber);
+    }
+
+    public record Payload(String eventType, int wood, int stone, int gold, int hitpoints,
+                          double x, double y, int playerNumber) {
     }
 }
@@ -3,30 +3,26 @@ package be.lefief.game.turrest02.commands;
 import be.lefief.sockets.commands.ServerToClientCommand;
 import be.lefief.sockets.commands.client.ClientSocketSubject;
 
-import java.util.HashMap;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 public class ScoreboardCommand extends ServerToClientCommand {
 
     public static final String TOPIC = "SCOREBOARD";
 
     public ScoreboardCommand(List<PlayerScoreEntry> entries) {
-        super(ClientSocketSubject.GAME, TOPIC, createData(entries));
+        super(ClientSocketSubject.GAME, TOPIC, new Payload(entries.stream().map(Entry::of).toList()));
+    }
+
+    public record Payload(List<Entry> players) {
     }
 
-    private static Map<String, Object> createData(List<PlayerScoreEntry> entries) {
-        Map<String, Object> data = new HashMap<>();
-        data.put("players", entries.stream().map(e -> {
-            Map<String, Object> entry = new HashMap<>();
-            entry.put("playerNumber", e.getPlayerNumber());
-            entry.put("colorIndex", e.getColorIndex());
-            entry.put("username", e.getUsername());
-            entry.put("score", e.getScore());
-            entry.put("isAlive", e.isAlive());
-            return entry;
-        }).collect(Collectors.toList()));
-        return data;
+    public record Entry(int playerNumber, int colorIndex, String username, int score,
+                        @JsonProperty("isAlive") boolean isAlive) {
+
+        static Entry of(PlayerScoreEntry e) {
+            return new Entry(e.getPlayerNumber(), e.getColorIndex(), e.getUsername(), e.getScore(), e.isAlive());
+        }
     }
 }
@@ -3,8 +3,6 @@ package be.lefief.game.turrest02.commands;
 import be.lefief.sockets.commands.ClientToServerCommand;
 import be.lefief.sockets.commands.client.ServerSocketSubject;
 
-import java.util.Map;
-
 /**
  * Command sent by client to request sending a creep to opponents.
  */
@@ -13,11 +11,20 @@ public class SendCreepCommand extends ClientToServerCommand {
     public static final ServerSocketSubject SUBJECT = ServerSocketSubject.GAME;
     public static final String TOPIC = "SEND_CREEP";
 
-    public SendCreepCommand(Map<String, Object> data) {
-        super(SUBJECT, TOPIC, data);
+    /**
+     * The command's data, bound directly by the inbound decoder.
+     */
+    public record Payload(String creepTypeId) {
+    }
+
+    private final Payload payload;
+
+    public SendCreepCommand(Payload payload) {
+        super(SUBJECT, TOPIC, payload);
+        this.payload = payload;
     }
 
     public String getCreepTypeId() {
-        return (String) getData().get("creepTypeId");
+        return payload.creepTypeId();
     }
 }
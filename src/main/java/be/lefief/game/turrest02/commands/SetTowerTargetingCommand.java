@@ -0,0 +1,34 @@
+package be.lefief.game.turrest02.commands;
+
+import be.lefief.sockets.commands.ClientToServerCommand;
+import be.lefief.sockets.commands.client.ServerSocketSubject;
+
+/**
+ * Command sent by client to change the targeting strategy of one of its towers.
+ */
+public class SetTowerTargetingCommand extends ClientToServerCommand {
+
+    public static final ServerSocketSubject SUBJECT = ServerSocketSubject.GAME;
+    public static final String TOPIC = "SET_TOWER_TARGETING";
+
+    /**
+     * The command's data, bound directly by the inbound decoder.
+     */
+    public record Payload(String towerId, String targeting) {
+    }
+
+    private final Payload payload;
+
+    public SetTowerTargetingCommand(Payload payload) {
+        super(SUBJECT, TOPIC, payload);
+        this.payload = payload;
+    }
+
+    public String getTowerId() {
+        return payload.towerId();
+    }
+
+    public String getTargeting() {
+        return payload.targeting();
+    }
+}
@@ -1,6 +1,6 @@
 package be.lefief.game.turrest02.commands;
 
-import be.lefief.game.turrest02.creep.Creep;
+import be.lefief.game.turrest02.creep.CreepPool;
 import be.lefief.sockets.commands.ServerToClientCommand;
 import be.lefief.sockets.commands.client.ClientSocketSubject;
 
@@ -11,21 +11,21 @@ public class SpawnCreepCommand extends ServerToClientCommand {
 
     public static final String TOPIC = "SPAWN_CREEP";
 
-    public SpawnCreepCommand(Creep creep) {
-        super(ClientSocketSubject.GAME, TOPIC, createData(creep));
+    public SpawnCreepCommand(CreepPool pool, int slot) {
+        super(ClientSocketSubject.GAME, TOPIC, createData(pool, slot));
     }
 
-    private static Map<String, Object> createData(Creep creep) {
+    private static Map<String, Object> createData(CreepPool pool, int slot) {
         Map<String, Object> data = new HashMap<>();
-        data.put("creepId", creep.getId().toString());
-        data.put("creepType", creep.getType().getId());
-        data.put("x", creep.getX());
-        data.put("y", creep.getY());
-        data.put("playerNumber", creep.getOwnerPlayerNumber());
-        data.put("spawnedByPlayer", creep.getSpawnedByPlayer());  // null for wave-spawned
-        data.put("hitpoints", creep.getHitpoints());
-        data.put("maxHitpoints", creep.getType().getHitpoints());
-        data.put("speed", creep.getType().getTilesPerSecond());
+        data.put("creepId", pool.getId(slot));
+        data.put("creepType", pool.getType(slot).getId());
+        data.put("x", pool.getX(slot));
+        data.put("y", pool.getY(slot));
+        data.put("playerNumber", pool.getOwnerPlayerNumber(slot));
+        data.put("spawnedByPlayer", pool.getSpawnedByPlayerOrNull(slot));  // null for wave-spawned
+        data.put("hitpoints", pool.getHitpoints(slot));
+        data.put("maxHitpoints", pool.getType(slot).getHitpoints());
+        data.put("speed", pool.getType(slot).getTilesPerSecond());
         return data;
     }
 }
@@ -31,6 +31,7 @@ public class TowerPlacedCommand extends ServerToClientCommand {
         data.put("cooldownMs", tower.getCooldownMs());
         data.put("theoreticalFireRate", tower.getTheoreticalFireRate());
         data.put("practicalFireRate", tower.getPracticalFireRate(tickRateMs));
+        data.put("targeting", tower.getTargeting().name());
         return data;
     }
 }
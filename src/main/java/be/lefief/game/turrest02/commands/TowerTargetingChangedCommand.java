@@ -0,0 +1,27 @@
+package be.lefief.game.turrest02.commands;
+
+import be.lefief.game.turrest02.tower.Tower;
+import be.lefief.sockets.commands.ServerToClientCommand;
+import be.lefief.sockets.commands.client.ClientSocketSubject;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command sent when a tower's targeting strategy changes.
+ */
+public class TowerTargetingChangedCommand extends ServerToClientCommand {
+
+    public static final String TOPIC = "TOWER_TARGETING_CHANGED";
+
+    public TowerTargetingChangedCommand(Tower tower) {
+        super(ClientSocketSubject.GAME, TOPIC, createData(tower));
+    }
+
+    private static Map<String, Object> createData(Tower tower) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("towerId", tower.getId().toString());
+        data.put("targeting", tower.getTargeting().name());
+        return data;
+    }
+}
@@ -1,6 +1,6 @@
 package be.lefief.game.turrest02.commands;
 
-import be.lefief.game.turrest02.creep.Creep;
+import be.lefief.game.turrest02.creep.CreepPool;
 import be.lefief.sockets.commands.ServerToClientCommand;
 import be.lefief.sockets.commands.client.ClientSocketSubject;
 
@@ -11,16 +11,16 @@ public class UpdateCreepCommand extends ServerToClientCommand {
 
     public static final String TOPIC = "UPDATE_CREEP";
 
-    public UpdateCreepCommand(Creep creep) {
-        super(ClientSocketSubject.GAME, TOPIC, createData(creep));
+    public UpdateCreepCommand(CreepPool pool, int slot) {
+        super(ClientSocketSubject.GAME, TOPIC, createData(pool, slot));
     }
 
-    private static Map<String, Object> createData(Creep creep) {
+    private static Map<String, Object> createData(CreepPool pool, int slot) {
         Map<String, Object> data = new HashMap<>();
-        data.put("creepId", creep.getId().toString());
-        data.put("x", creep.getX());
-        data.put("y", creep.getY());
-        data.put("hitpoints", creep.getHitpoints());
+        data.put("creepId", pool.getId(slot));
+        data.put("x", pool.getX(slot));
+        data.put("y", pool.getY(slot));
+        data.put("hitpoints", pool.getHitpoints(slot));
         return data;
     }
 }
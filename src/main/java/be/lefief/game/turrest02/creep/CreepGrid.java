@@ -0,0 +1,136 @@
+package be.lefief.game.turrest02.creep;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Uniform-grid spatial index of the live creeps in one player section.
+ * Creeps register themselves on spawn and {@link CreepPool#move} relocates them
+ * when they cross a cell boundary, so range queries only touch the handful of
+ * cells overlapping the query circle instead of every creep in the game.
+ * <p>
+ * Each cell is an intrusive doubly-linked list threaded through the pool's
+ * grid linkage arrays, so insert/remove/relocate are O(1) and allocation-free.
+ */
+public class CreepGrid {
+
+    public static final int CELL_SIZE = 2; // Tiles per cell side
+    private static final int NONE = -1;
+
+    private final int originX;
+    private final int originY;
+    private final int columns;
+    private final int rows;
+    private final int[] cellHeads;
+    private CreepPool pool;
+
+    public CreepGrid(int originX, int originY, int width, int height) {
+        this.originX = originX;
+        this.originY = originY;
+        this.columns = Math.max(1, (width + CELL_SIZE - 1) / CELL_SIZE);
+        this.rows = Math.max(1, (height + CELL_SIZE - 1) / CELL_SIZE);
+        this.cellHeads = new int[columns * rows];
+        Arrays.fill(cellHeads, NONE);
+    }
+
+    /**
+     * Bind this grid to the pool whose slots it indexes.
+     */
+    void bind(CreepPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Register a freshly spawned creep in the cell matching its position.
+     */
+    void insert(int slot) {
+        link(slot, cellOf(pool.getX(slot), pool.getY(slot)));
+    }
+
+    /**
+     * Remove a creep from the index (on despawn).
+     */
+    void remove(int slot) {
+        if (pool.gridCell[slot] != NONE) {
+            unlink(slot);
+        }
+    }
+
+    /**
+     * Move a creep to the cell matching its current position, if it changed.
+     */
+    void relocate(int slot) {
+        int newCell = cellOf(pool.getX(slot), pool.getY(slot));
+        if (newCell != pool.gridCell[slot]) {
+            unlink(slot);
+            link(slot, newCell);
+        }
+    }
+
+    /**
+     * Visit the pool slots of all live creeps within the given radius of (x, y).
+     */
+    public void forEachInRadius(double x, double y, double radius, IntConsumer consumer) {
+        int minCol = clampColumn(x - radius);
+        int maxCol = clampColumn(x + radius);
+        int minRow = clampRow(y - radius);
+        int maxRow = clampRow(y + radius);
+        double radiusSq = radius * radius;
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                int slot = cellHeads[row * columns + col];
+                while (slot != NONE) {
+                    int next = pool.gridNext[slot];
+                    if (!pool.isDead(slot)) {
+                        double dx = x - pool.getX(slot);
+                        double dy = y - pool.getY(slot);
+                        if (dx * dx + dy * dy <= radiusSq) {
+                            consumer.accept(slot);
+                        }
+                    }
+                    slot = next;
+                }
+            }
+        }
+    }
+
+    private void link(int slot, int cell) {
+        int head = cellHeads[cell];
+        pool.gridPrev[slot] = NONE;
+        pool.gridNext[slot] = head;
+        if (head != NONE) {
+            pool.gridPrev[head] = slot;
+        }
+        cellHeads[cell] = slot;
+        pool.gridCell[slot] = cell;
+    }
+
+    private void unlink(int slot) {
+        int prev = pool.gridPrev[slot];
+        int next = pool.gridNext[slot];
+        if (prev != NONE) {
+            pool.gridNext[prev] = next;
+        } else {
+            cellHeads[pool.gridCell[slot]] = next;
+        }
+        if (next != NONE) {
+            pool.gridPrev[next] = prev;
+        }
+        pool.gridCell[slot] = NONE;
+    }
+
+    private int cellOf(double x, double y) {
+        return clampRow(y) * columns + clampColumn(x);
+    }
+
+    private int clampColumn(double x) {
+        int col = (int) Math.floor((x - originX) / CELL_SIZE);
+        return Math.max(0, Math.min(columns - 1, col));
+    }
+
+    private int clampRow(double y) {
+        int row = (int) Math.floor((y - originY) / CELL_SIZE);
+        return Math.max(0, Math.min(rows - 1, row));
+    }
+}
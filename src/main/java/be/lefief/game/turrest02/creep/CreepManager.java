@@ -1,43 +1,66 @@
 package be.lefief.game.turrest02.creep;
 
+import be.lefief.game.GameClock;
 import be.lefief.game.map.GameMap;
+import be.lefief.game.turrest02.SectionTasks;
 import be.lefief.game.turrest02.Turrest02Player;
 import be.lefief.game.turrest02.TurrestGameMode02;
 import be.lefief.game.turrest02.commands.*;
+import be.lefief.game.turrest02.level.RoadLayout;
 import be.lefief.game.turrest02.event.CreepKilledEvent;
 import be.lefief.game.turrest02.resource.ResourceEventType;
 import be.lefief.game.turrest02.wave.Wave;
+import be.lefief.util.IntList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.awt.*;
 import java.util.List;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class CreepManager {
 
     private static final Logger LOG = LoggerFactory.getLogger(CreepManager.class);
 
-    private final Map<UUID, Creep> activeCreeps = new ConcurrentHashMap<>();
+    private final CreepPool pool;
+    private final CreepStateStream stateStream;
     private final List<Wave> waves;
     private final Map<Integer, List<Point>> playerPaths;
     private final Map<Integer, Point> playerSpawners;
+    private final CreepGrid[] sectionGrids;
+    private final List<PathGeometry> sectionGeometry;
     private final int playerCount;
 
-    public CreepManager(List<Wave> waves, GameMap gameMap, int playerCount) {
+    // Scratch buffers reused by the tick thread
+    private final IntList spawnedSlots = new IntList();
+    private final List<DespawnCreepCommand.Payload> despawns = new ArrayList<>();
+    // Per-section scratch, each only touched by its own section task
+    private final IntList[] sectionSlots;
+
+    public CreepManager(List<Wave> waves, GameMap gameMap, int playerCount, GameClock clock, RoadLayout roads) {
         this.waves = waves;
         this.playerCount = playerCount;
-        this.playerPaths = PathFinder.computePlayerPaths(gameMap, playerCount);
+        this.playerPaths = new HashMap<>();
         this.playerSpawners = new HashMap<>();
+        this.sectionGrids = new CreepGrid[playerCount];
+        this.sectionSlots = new IntList[playerCount];
 
-        // Store spawner positions for each player
+        // Shift the level's precomputed path into each player section, and build its spatial grid
+        List<PathGeometry> geometry = new ArrayList<>();
         for (int i = 0; i < playerCount; i++) {
-            Point spawner = PathFinder.getSpawnerPosition(gameMap, i);
-            if (spawner != null) {
-                playerSpawners.put(i, spawner);
-            }
+            int offsetX = gameMap.getPlayerOffsetX(i);
+            int offsetY = gameMap.getPlayerOffsetY(i);
+            playerPaths.put(i, roads.sectionPath(offsetX, offsetY));
+            playerSpawners.put(i, roads.sectionSpawner(offsetX, offsetY));
+            sectionGrids[i] = new CreepGrid(
+                    gameMap.getPlayerOffsetX(i), gameMap.getPlayerOffsetY(i),
+                    gameMap.getPlayerSectionWidth(), gameMap.getPlayerSectionHeight());
+            geometry.add(PathGeometry.of(playerSpawners.get(i), playerPaths.get(i)));
+            sectionSlots[i] = new IntList();
         }
+        this.sectionGeometry = List.copyOf(geometry);
+        this.pool = new CreepPool(sectionGeometry, sectionGrids, clock);
+        this.stateStream = new CreepStateStream(pool);
 
         LOG.info("CreepManager initialized with {} waves for {} players", waves.size(), playerCount);
     }
@@ -54,14 +77,14 @@ public class CreepManager {
         spawnWaveCreeps(currentTick, game);
 
         // 2. Move all creeps
-        moveCreeps(game, deltaTime);
+        moveCreeps(deltaTime);
 
-        // 3. Check for creeps reaching castle
-        checkCastleReached(game);
+        // 3. Handle creeps that reached the castle or were killed
+        processLifecycleEvents(game);
     }
 
     private void spawnWaveCreeps(int tick, TurrestGameMode02 game) {
-        List<Creep> spawnedCreeps = new ArrayList<>();
+        spawnedSlots.clear();
 
         for (Wave wave : waves) {
             if (wave.getTick() == tick) {
@@ -78,170 +101,205 @@ public class CreepManager {
                     }
 
                     for (CreepType type : wave.getCreeps()) {
-                        // null = wave-spawned (no colored contour)
-                        Creep creep = new Creep(type, playerNum, null, path, spawner);
-                        activeCreeps.put(creep.getId(), creep);
-                        spawnedCreeps.add(creep);
+                        // NO_SENDER = wave-spawned (no colored contour)
+                        spawnedSlots.add(pool.spawn(type, playerNum, CreepPool.NO_SENDER, spawner));
                     }
                 }
             }
         }
 
         // Send all spawns in a single batched command
-        if (!spawnedCreeps.isEmpty()) {
-            game.broadcastToAllPlayers(new BatchedSpawnCreepCommand(spawnedCreeps));
-            LOG.debug("Batched {} creep spawns into single command", spawnedCreeps.size());
+        if (!spawnedSlots.isEmpty()) {
+            game.broadcastToAllPlayers(new BatchedSpawnCreepCommand(pool, spawnedSlots, game.getClock().getTick()));
+            LOG.debug("Batched {} creep spawns into single command", spawnedSlots.size());
+        }
+    }
+
+    private void moveCreeps(double deltaTime) {
+        // Split live creeps by section, keeping pool order within each section
+        for (IntList slots : sectionSlots) {
+            slots.clear();
+        }
+        for (int i = 0; i < pool.size(); i++) {
+            int slot = pool.slotAt(i);
+            sectionSlots[pool.getOwnerPlayerNumber(slot)].add(slot);
         }
+
+        SectionTasks.forEachSection(playerCount, pool.size(), section -> moveSection(section, deltaTime));
+    }
+
+    /**
+     * Send this tick's creep changes to clients. Called once per tick after towers fired,
+     * so damage dealt this tick is included.
+     */
+    public void publishCreepState(TurrestGameMode02 game) {
+        stateStream.publish(game);
     }
 
-    private void moveCreeps(TurrestGameMode02 game, double deltaTime) {
-        List<Creep> movedCreeps = new ArrayList<>();
+    /**
+     * Move and heal the creeps of one section. May run in parallel with other sections.
+     */
+    private void moveSection(int section, double deltaTime) {
+        IntList slots = sectionSlots[section];
 
-        for (Creep creep : activeCreeps.values()) {
-            if (!creep.hasReachedCastle() && !creep.isDead()) {
-                creep.move(deltaTime);
-                movedCreeps.add(creep);
+        for (int i = 0; i < slots.size(); i++) {
+            int slot = slots.get(i);
+            if (!pool.hasReachedCastle(slot) && !pool.isDead(slot)) {
+                pool.move(slot, deltaTime);
 
                 // Handle healer ability - heal nearby creeps
-                if (creep.getType().canHeal()) {
-                    healNearbyCreeps(creep, deltaTime);
+                if (pool.getType(slot).canHeal()) {
+                    healNearbyCreeps(slot, deltaTime);
                 }
             }
         }
-
-        // Send all updates in a single batched command
-        if (!movedCreeps.isEmpty()) {
-            game.broadcastToAllPlayers(new BatchedCreepUpdateCommand(movedCreeps));
-        }
     }
 
     /**
      * Heal creeps near a healer creep.
      * Heals based on distance traveled (every N tiles).
      */
-    private void healNearbyCreeps(Creep healer, double deltaTime) {
+    private void healNearbyCreeps(int healer, double deltaTime) {
         double healRadius = 1.5;  // Heal creeps within 1.5 tiles
-        int healAmount = healer.getType().getHealAmount();
-
-        for (Creep target : activeCreeps.values()) {
-            if (target == healer || target.isDead() || target.hasReachedCastle()) continue;
-            if (target.getOwnerPlayerNumber() != healer.getOwnerPlayerNumber()) continue;
+        // Heal proportionally to deltaTime (simulates continuous healing)
+        int healThisTick = (int) Math.ceil(pool.getType(healer).getHealAmount() * deltaTime);
 
-            double dx = healer.getX() - target.getX();
-            double dy = healer.getY() - target.getY();
-            double distance = Math.sqrt(dx * dx + dy * dy);
+        CreepGrid grid = sectionGrids[pool.getOwnerPlayerNumber(healer)];
+        grid.forEachInRadius(pool.getX(healer), pool.getY(healer), healRadius, target -> {
+            if (target != healer && !pool.hasReachedCastle(target)) {
+                pool.heal(target, healThisTick);
+            }
+        });
+    }
 
-            if (distance <= healRadius) {
-                // Heal proportionally to deltaTime (simulates continuous healing)
-                int healThisTick = (int) Math.ceil(healAmount * deltaTime);
-                target.heal(healThisTick);
+    /**
+     * Handle the creeps that reached their castle or were killed since the last tick.
+     * Only the pool's lifecycle queues are walked, so the cost follows the number of
+     * events rather than the number of live creeps. All despawns go out in one command.
+     */
+    private void processLifecycleEvents(TurrestGameMode02 game) {
+        despawns.clear();
+        for (int section = 0; section < playerCount; section++) {
+            IntList arrivals = pool.getArrivals(section);
+            for (int i = 0; i < arrivals.size(); i++) {
+                int slot = arrivals.get(i);
+                if (pool.isActive(slot) && pool.hasReachedCastle(slot)) {
+                    handleCastleReached(slot, game);
+                }
+            }
+            arrivals.clear();
+
+            // A creep that arrived and was then shot is already released above
+            IntList deaths = pool.getDeaths(section);
+            for (int i = 0; i < deaths.size(); i++) {
+                int slot = deaths.get(i);
+                if (pool.isActive(slot) && pool.isDead(slot)) {
+                    handleKilled(slot, game);
+                }
             }
+            deaths.clear();
         }
-    }
 
-    private void checkCastleReached(TurrestGameMode02 game) {
-        Iterator<Map.Entry<UUID, Creep>> it = activeCreeps.entrySet().iterator();
+        if (!despawns.isEmpty()) {
+            game.broadcastToAllPlayers(new BatchedDespawnCreepCommand(List.copyOf(despawns)));
+        }
+    }
 
-        while (it.hasNext()) {
-            Creep creep = it.next().getValue();
+    private void handleCastleReached(int slot, TurrestGameMode02 game) {
+        CreepType type = pool.getType(slot);
+        int creepId = pool.getId(slot);
 
-            if (creep.hasReachedCastle()) {
-                // Deal damage to player
-                Turrest02Player player = game.getPlayerByNumber().get(creep.getOwnerPlayerNumber());
-                if (player != null) {
-                    int damage = creep.getType().getDamage();
-                    player.takeDamage(damage);
+        // Deal damage to player
+        Turrest02Player player = game.getPlayerByNumber().get(pool.getOwnerPlayerNumber(slot));
+        if (player != null) {
+            int damage = type.getDamage();
+            player.takeDamage(damage);
 
-                    // Record damage taken for stats
-                    game.getGameStats().recordDamageTaken(creep.getOwnerPlayerNumber(), damage);
+            // Record damage taken for stats
+            game.getGameStats().recordDamageTaken(pool.getOwnerPlayerNumber(slot), damage);
 
-                    LOG.info("Creep {} reached castle, dealing {} damage to player {} (HP: {})",
-                            creep.getId(), damage, player.getPlayerNumber(), player.getHitpoints());
+            LOG.info("Creep {} reached castle, dealing {} damage to player {} (HP: {})",
+                    creepId, damage, player.getPlayerNumber(), player.getHitpoints());
 
-                    // Broadcast commands
-                    game.broadcastToAllPlayers(new DespawnCreepCommand(creep));
-                    game.broadcastToAllPlayers(new PlayerTakesDamageCommand(
-                            player.getPlayerNumber(),
-                            damage,
-                            player.getHitpoints()
-                    ));
+            // Despawns are batched; damage and scoreboard go out once at the end of the tick
+            despawns.add(DespawnCreepCommand.payload(pool, slot));
 
-                    // Update scoreboard (score = HP changed)
-                    game.broadcastScoreboard();
+            // Check for player death
+            if (!player.isAlive()) {
+                game.handlePlayerDeath(player);
+            }
+        }
 
-                    // Check for player death
-                    if (!player.isAlive()) {
-                        game.handlePlayerDeath(player);
-                    }
-                }
+        // Award hit reward to sender if this was a player-sent creep
+        int senderPlayerNumber = pool.getSpawnedByPlayer(slot);
+        if (senderPlayerNumber != CreepPool.NO_SENDER) {
+            Turrest02Player sender = game.getPlayerByNumber().get(senderPlayerNumber);
+            if (sender != null && sender.isAlive()) {
+                type.getHitReward().apply(sender);
+                int rewardGold = type.getHitReward().getGold();
+                LOG.info("Creep {} hit castle, awarding {} gold to sender player {}",
+                        creepId, rewardGold, senderPlayerNumber);
+
+                // Send resource event animation for hit reward
+                game.sendToPlayer(senderPlayerNumber, new ResourceEventCommand(
+                        ResourceEventType.CREEP_HIT_CASTLE,
+                        type.getHitReward(),
+                        pool.getX(slot), pool.getY(slot),
+                        senderPlayerNumber
+                ));
+            }
+        }
 
-                // Award hit reward to sender if this was a player-sent creep
-                Integer senderPlayerNumber = creep.getSpawnedByPlayer();
-                if (senderPlayerNumber != null) {
-                    Turrest02Player sender = game.getPlayerByNumber().get(senderPlayerNumber);
-                    if (sender != null && sender.isAlive()) {
-                        creep.getType().getHitReward().apply(sender);
-                        int rewardGold = creep.getType().getHitReward().getGold();
-                        LOG.info("Creep {} hit castle, awarding {} gold to sender player {}",
-                                creep.getId(), rewardGold, senderPlayerNumber);
-                        game.sendResourceUpdateToPlayer(senderPlayerNumber);
-
-                        // Send resource event animation for hit reward
-                        game.sendToPlayer(senderPlayerNumber, new ResourceEventCommand(
-                                ResourceEventType.CREEP_HIT_CASTLE,
-                                creep.getType().getHitReward(),
-                                creep.getX(), creep.getY(),
-                                senderPlayerNumber
-                        ));
-                    }
-                }
+        pool.release(slot);
+    }
 
-                it.remove();
-            } else if (creep.isDead()) {
-                // Creep was killed by towers - award kill reward to the player who owns this section
-                int playerNum = creep.getOwnerPlayerNumber();
-                Turrest02Player player = game.getPlayerByNumber().get(playerNum);
-                if (player != null) {
-                    creep.getType().getKillReward().apply(player);
-
-                    // Record kill event for stats
-                    game.recordEvent(new CreepKilledEvent(
-                            playerNum,
-                            creep.getType().getId(),
-                            creep.getType().getKillReward().getGold()
-                    ));
-
-                    // Send resource event animation for kill reward
-                    game.sendToPlayer(playerNum, new ResourceEventCommand(
-                            ResourceEventType.CREEP_KILL,
-                            creep.getType().getKillReward(),
-                            creep.getX(), creep.getY(),
-                            playerNum
-                    ));
-                }
+    private void handleKilled(int slot, TurrestGameMode02 game) {
+        CreepType type = pool.getType(slot);
+
+        // Creep was killed by towers - award kill reward to the player who owns this section
+        int playerNum = pool.getOwnerPlayerNumber(slot);
+        Turrest02Player player = game.getPlayerByNumber().get(playerNum);
+        if (player != null) {
+            type.getKillReward().apply(player);
+
+            // Record kill event for stats
+            game.recordEvent(new CreepKilledEvent(
+                    playerNum,
+                    type.getId(),
+                    type.getKillReward().getGold()
+            ));
+
+            // Send resource event animation for kill reward
+            game.sendToPlayer(playerNum, new ResourceEventCommand(
+                    ResourceEventType.CREEP_KILL,
+                    type.getKillReward(),
+                    pool.getX(slot), pool.getY(slot),
+                    playerNum
+            ));
+        }
 
-                int goldReward = creep.getType().getGoldReward();
-                LOG.debug("Creep {} killed, awarding {} gold to player {}",
-                        creep.getId(), goldReward, playerNum);
+        int goldReward = type.getGoldReward();
+        LOG.debug("Creep {} killed, awarding {} gold to player {}",
+                pool.getId(slot), goldReward, playerNum);
 
-                game.broadcastToAllPlayers(new DespawnCreepCommand(creep, goldReward, playerNum));
-                game.sendResourceUpdateToPlayer(playerNum);
-                it.remove();
-            }
-        }
+        despawns.add(DespawnCreepCommand.payload(pool, slot, goldReward, playerNum));
+        pool.release(slot);
     }
 
     /**
      * Spawn a creep sent by a player to all OTHER players.
      * The creep will have a colored contour indicating who sent it.
      * Handles spawn count for swarm-type creeps.
+     * <p>
+     * Tick thread only: player sends arrive through {@link TurrestGameMode02#submit} and are
+     * drained before the creep tick, so they spawn right away and move this tick.
      *
      * @param type              The type of creep to spawn
      * @param senderPlayerNumber The player who sent the creep
      * @param game              Game instance for broadcasting
      */
     public void spawnSentCreep(CreepType type, int senderPlayerNumber, TurrestGameMode02 game) {
-        List<Creep> spawnedCreeps = new ArrayList<>();
+        spawnedSlots.clear();
         int spawnCount = type.getSpawnCount();
 
         // Spawn creep for all players EXCEPT the sender
@@ -260,27 +318,63 @@ public class CreepManager {
 
             // Spawn multiple creeps for swarm types
             for (int i = 0; i < spawnCount; i++) {
-                // spawnedByPlayer = sender's number (for colored contour)
-                Creep creep = new Creep(type, playerNum, senderPlayerNumber, path, spawner);
-                activeCreeps.put(creep.getId(), creep);
-                spawnedCreeps.add(creep);
+                // spawnedBy = sender's number (for colored contour)
+                spawnedSlots.add(pool.spawn(type, playerNum, senderPlayerNumber, spawner));
             }
         }
 
         // Broadcast spawns
-        if (!spawnedCreeps.isEmpty()) {
-            game.broadcastToAllPlayers(new BatchedSpawnCreepCommand(spawnedCreeps));
+        if (!spawnedSlots.isEmpty()) {
+            game.broadcastToAllPlayers(new BatchedSpawnCreepCommand(pool, spawnedSlots, game.getClock().getTick()));
             LOG.info("Player {} sent {}x{} to {} opponents (total: {} creeps)",
                     senderPlayerNumber, spawnCount, type.getId(),
-                    playerCount - 1, spawnedCreeps.size());
+                    playerCount - 1, spawnedSlots.size());
         }
     }
 
+    /**
+     * Get the spatial index of live creeps in a player's section.
+     */
+    public CreepGrid getSectionGrid(int playerNumber) {
+        return playerNumber >= 0 && playerNumber < sectionGrids.length ? sectionGrids[playerNumber] : null;
+    }
+
+    /**
+     * Get the path creeps walk in a player's section (empty if none).
+     */
+    public List<Point> getSectionPath(int playerNumber) {
+        return playerPaths.getOrDefault(playerNumber, List.of());
+    }
+
+    /**
+     * Get the spawner tile of a player's section, or null.
+     */
+    public Point getSpawnerPosition(int playerNumber) {
+        return playerSpawners.get(playerNumber);
+    }
+
+    /**
+     * Number of player sections.
+     */
+    public int getSectionCount() {
+        return playerCount;
+    }
+
     public int getActiveCreepCount() {
-        return activeCreeps.size();
+        return pool.size();
     }
 
-    public Collection<Creep> getActiveCreeps() {
-        return Collections.unmodifiableCollection(activeCreeps.values());
+    /**
+     * Get the creep store. Only the game tick thread may read or mutate it.
+     */
+    public CreepPool getCreepPool() {
+        return pool;
+    }
+
+    /**
+     * Path each section's creeps walk, indexed by player number. Sent to clients with the map.
+     */
+    public List<PathGeometry> getSectionGeometry() {
+        return sectionGeometry;
     }
 }
@@ -0,0 +1,468 @@
+package be.lefief.game.turrest02.creep;
+
+import be.lefief.game.GameClock;
+import be.lefief.util.IntList;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Structure-of-arrays store for all creeps of one game.
+ * <p>
+ * Every creep lives in a slot; its state is spread over primitive arrays
+ * indexed by that slot so per-tick scans walk contiguous memory instead of
+ * chasing heap objects. Freed slots are recycled. Each creep additionally gets
+ * a small, never-reused integer id that is used on the wire.
+ * <p>
+ * Movement is arc-length based: a creep's position is its progress (distance walked) along
+ * its section's {@link PathGeometry}. Moving adds to the progress; the cached x/y and path
+ * index used by the spatial grid and targeting are derived from it with a table lookup.
+ * <p>
+ * Creeps that reach the castle ({@link #move}) or die ({@link #takeDamage}) are pushed onto
+ * per-section lifecycle queues, so their owner only has to look at those instead of scanning
+ * every creep. Queues are per section because sections move and take damage in parallel.
+ * Slots whose client-visible state changed (new creep, hitpoints, slow) are logged the same way,
+ * once per slot until {@link #drainChanged} hands them to the delta stream.
+ * <p>
+ * Not thread-safe: only the game tick thread may touch the pool.
+ */
+public class CreepPool {
+
+    public static final int NO_SENDER = -1;  // spawnedBy value for wave-spawned creeps
+    private static final int INITIAL_CAPACITY = 64;
+    private static final double SPEED_MULTIPLIER = 2.0;
+    private static final IntList EMPTY_QUEUE = new IntList();
+
+    // Per-slot creep state
+    private int[] ids = new int[0];
+    private CreepType[] types = new CreepType[0];
+    private int[] owners = new int[0];
+    private int[] spawnedBy = new int[0];
+    private double[] xs = new double[0];
+    private double[] ys = new double[0];
+    private int[] hitpoints = new int[0];
+    private double[] progress = new double[0];
+    private int[] pathIndices = new int[0];       // Path segment = index of the path point being walked to
+    private boolean[] reachedCastle = new boolean[0];
+    private double[] slowFactors = new double[0];    // 0.0 = no slow, 0.5 = 50% slow
+    private long[] slowExpiresAt = new long[0];    // Game clock time when slow expires
+    private boolean[] changed = new boolean[0];    // Already in its section's change log
+
+    // Spatial grid linkage (intrusive per-cell lists, maintained by CreepGrid)
+    int[] gridCell = new int[0];
+    int[] gridNext = new int[0];
+    int[] gridPrev = new int[0];
+
+    // Path-index bucket linkage (intrusive per-bucket lists, maintained by PathBuckets)
+    int[] bucketIndex = new int[0];
+    int[] bucketNext = new int[0];
+    int[] bucketPrev = new int[0];
+
+    // Dense list of live slots plus reverse lookup for O(1) removal
+    private int[] activeSlots = new int[0];
+    private int[] activePosition = new int[0];
+    private int activeCount;
+
+    // Recycled slots
+    private int[] freeSlots = new int[0];
+    private int freeCount;
+    private int highWater;
+
+    private int nextId = 1;
+
+    private final List<PathGeometry> sectionPaths;
+    private final CreepGrid[] sectionGrids;
+    private final GameClock clock;
+    private final PathBuckets[] sectionBuckets;
+    private final IntList[] sectionArrivals;
+    private final IntList[] sectionDeaths;
+    private final IntList[] sectionChanges;
+
+    public CreepPool(List<PathGeometry> sectionPaths, CreepGrid[] sectionGrids, GameClock clock) {
+        this.sectionPaths = sectionPaths;
+        this.sectionGrids = sectionGrids;
+        this.clock = clock;
+        this.sectionBuckets = new PathBuckets[sectionPaths.size()];
+        this.sectionArrivals = new IntList[sectionPaths.size()];
+        this.sectionDeaths = new IntList[sectionPaths.size()];
+        this.sectionChanges = new IntList[sectionPaths.size()];
+        allocateArrays(INITIAL_CAPACITY);
+        for (CreepGrid grid : sectionGrids) {
+            if (grid != null) {
+                grid.bind(this);
+            }
+        }
+        for (int i = 0; i < sectionBuckets.length; i++) {
+            sectionBuckets[i] = new PathBuckets(sectionPaths.get(i).segmentCount());
+            sectionBuckets[i].bind(this);
+            sectionArrivals[i] = new IntList();
+            sectionDeaths[i] = new IntList();
+            sectionChanges[i] = new IntList();
+        }
+    }
+
+    /**
+     * Spawn a new creep at the centre of the spawner tile, with zero progress along its path.
+     *
+     * @param spawnedByPlayer sender's player number, or {@link #NO_SENDER} for wave creeps
+     * @return the slot of the new creep
+     */
+    public int spawn(CreepType type, int ownerPlayerNumber, int spawnedByPlayer, Point spawnerPosition) {
+        int slot = acquireSlot();
+        ids[slot] = nextId++;
+        types[slot] = type;
+        owners[slot] = ownerPlayerNumber;
+        spawnedBy[slot] = spawnedByPlayer;
+        xs[slot] = spawnerPosition.x + 0.5; // Center of tile
+        ys[slot] = spawnerPosition.y + 0.5;
+        hitpoints[slot] = type.getHitpoints();
+        progress[slot] = 0;
+        pathIndices[slot] = 0;
+        reachedCastle[slot] = false;
+        slowFactors[slot] = 0.0;
+        slowExpiresAt[slot] = 0;
+
+        activePosition[slot] = activeCount;
+        activeSlots[activeCount++] = slot;
+
+        CreepGrid grid = gridFor(ownerPlayerNumber);
+        if (grid != null) {
+            grid.insert(slot);
+        }
+        PathBuckets buckets = getSectionBuckets(ownerPlayerNumber);
+        if (buckets != null) {
+            buckets.insert(slot);
+        }
+        markChanged(slot);
+        return slot;
+    }
+
+    /**
+     * Release a creep's slot for reuse (on despawn).
+     */
+    public void release(int slot) {
+        CreepGrid grid = gridFor(owners[slot]);
+        if (grid != null) {
+            grid.remove(slot);
+        }
+        PathBuckets buckets = getSectionBuckets(owners[slot]);
+        if (buckets != null) {
+            buckets.remove(slot);
+        }
+
+        // Swap-remove from the dense active list
+        int pos = activePosition[slot];
+        int last = activeSlots[--activeCount];
+        activeSlots[pos] = last;
+        activePosition[last] = pos;
+        activePosition[slot] = -1;
+
+        types[slot] = null;
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * Move the creep along its section's path.
+     *
+     * @param deltaTime Time elapsed in seconds (1.0 for one tick)
+     */
+    public void move(int slot, double deltaTime) {
+        PathGeometry path = pathFor(owners[slot]);
+        if (reachedCastle[slot] || path.segmentCount() == 0) {
+            return;
+        }
+
+        // Calculate effective speed with slow effect
+        double effectiveSpeed = types[slot].getTilesPerSecond();
+        if (isSlowed(slot)) {
+            effectiveSpeed *= (1.0 - slowFactors[slot]);
+        }
+
+        double distance = progress[slot] + effectiveSpeed * deltaTime * SPEED_MULTIPLIER;
+        int segment = path.advance(pathIndices[slot], distance);
+        progress[slot] = Math.min(distance, path.getLength());
+        xs[slot] = path.xAt(segment, distance);
+        ys[slot] = path.yAt(segment, distance);
+        pathIndices[slot] = segment;
+
+        // Check if reached the end of path (castle)
+        if (segment >= path.segmentCount()) {
+            reachedCastle[slot] = true;
+            enqueue(sectionArrivals, slot);
+        }
+
+        // Keep spatial index and path buckets in sync with the new position
+        CreepGrid grid = gridFor(owners[slot]);
+        if (grid != null) {
+            grid.relocate(slot);
+        }
+        PathBuckets buckets = getSectionBuckets(owners[slot]);
+        if (buckets != null) {
+            buckets.relocate(slot);
+        }
+    }
+
+    public void takeDamage(int slot, int damage) {
+        int before = hitpoints[slot];
+        hitpoints[slot] = Math.max(0, before - damage);
+        if (hitpoints[slot] != before) {
+            markChanged(slot);
+            hpChanged(slot);
+        }
+        if (before > 0 && hitpoints[slot] == 0) {
+            enqueue(sectionDeaths, slot);
+        }
+    }
+
+    /**
+     * Heal a creep (for healer creep ability), capped at its type's max HP.
+     */
+    public void heal(int slot, int amount) {
+        if (hitpoints[slot] <= 0) {
+            return; // Dead creeps stay dead, they are already queued for removal
+        }
+        int before = hitpoints[slot];
+        hitpoints[slot] = Math.min(types[slot].getHitpoints(), before + amount);
+        if (hitpoints[slot] != before) {
+            markChanged(slot);
+            hpChanged(slot);
+        }
+    }
+
+    /**
+     * Apply slow effect to a creep.
+     * @param factor Slow factor (0.5 = 50% speed reduction)
+     * @param durationMs Duration in milliseconds
+     */
+    public void applySlow(int slot, double factor, int durationMs) {
+        // Only apply if stronger than current slow or current slow expired
+        if (factor > slowFactors[slot] || !isSlowed(slot)) {
+            slowFactors[slot] = factor;
+            slowExpiresAt[slot] = clock.nowMs() + durationMs;
+            markChanged(slot);
+        }
+    }
+
+    /**
+     * Check if creep is currently slowed.
+     */
+    public boolean isSlowed(int slot) {
+        return slowFactors[slot] > 0 && clock.nowMs() < slowExpiresAt[slot];
+    }
+
+    public boolean isDead(int slot) {
+        return hitpoints[slot] <= 0;
+    }
+
+    public boolean hasReachedCastle(int slot) {
+        return reachedCastle[slot];
+    }
+
+    public int getId(int slot) {
+        return ids[slot];
+    }
+
+    public CreepType getType(int slot) {
+        return types[slot];
+    }
+
+    public int getOwnerPlayerNumber(int slot) {
+        return owners[slot];
+    }
+
+    public double getX(int slot) {
+        return xs[slot];
+    }
+
+    public double getY(int slot) {
+        return ys[slot];
+    }
+
+    public int getHitpoints(int slot) {
+        return hitpoints[slot];
+    }
+
+    /**
+     * Distance the creep has walked along its section's path, from the spawner.
+     */
+    public double getProgress(int slot) {
+        return progress[slot];
+    }
+
+    public int getCurrentPathIndex(int slot) {
+        return pathIndices[slot];
+    }
+
+    public double getSlowFactor(int slot) {
+        return slowFactors[slot];
+    }
+
+    public long getSlowExpiresAt(int slot) {
+        return slowExpiresAt[slot];
+    }
+
+    /**
+     * Sender's player number, or {@link #NO_SENDER} for wave-spawned creeps.
+     */
+    public int getSpawnedByPlayer(int slot) {
+        return spawnedBy[slot];
+    }
+
+    /**
+     * Sender's player number boxed for JSON payloads (null = wave-spawned).
+     */
+    public Integer getSpawnedByPlayerOrNull(int slot) {
+        return spawnedBy[slot] == NO_SENDER ? null : spawnedBy[slot];
+    }
+
+    /**
+     * Movement speed in tiles per second as seen by clients.
+     */
+    public double getClientSpeed(int slot) {
+        return types[slot].getTilesPerSecond() * SPEED_MULTIPLIER;
+    }
+
+    /**
+     * Client speed with the current slow applied.
+     */
+    public double getEffectiveClientSpeed(int slot) {
+        double speed = getClientSpeed(slot);
+        return isSlowed(slot) ? speed * (1.0 - slowFactors[slot]) : speed;
+    }
+
+
+    /**
+     * Number of live creeps.
+     */
+    public int size() {
+        return activeCount;
+    }
+
+    /**
+     * Slot of the i-th live creep, for {@code 0 <= i < size()}.
+     * Order is unspecified and changes when creeps are released.
+     */
+    public int slotAt(int index) {
+        return activeSlots[index];
+    }
+
+    /**
+     * Upper bound (exclusive) of all slots ever handed out; live and free slots lie below it.
+     */
+    public int getSlotLimit() {
+        return highWater;
+    }
+
+    public boolean isActive(int slot) {
+        return slot >= 0 && slot < highWater && activePosition[slot] >= 0;
+    }
+
+    /**
+     * Live creeps of a player section bucketed by path index.
+     */
+    public PathBuckets getSectionBuckets(int owner) {
+        return owner >= 0 && owner < sectionBuckets.length ? sectionBuckets[owner] : null;
+    }
+
+    /**
+     * Creeps of a section that reached the castle since the queue was last cleared.
+     * The caller clears it after handling them.
+     */
+    public IntList getArrivals(int owner) {
+        return owner >= 0 && owner < sectionArrivals.length ? sectionArrivals[owner] : EMPTY_QUEUE;
+    }
+
+    /**
+     * Creeps of a section that died since the queue was last cleared.
+     * The caller clears it after handling them.
+     */
+    public IntList getDeaths(int owner) {
+        return owner >= 0 && owner < sectionDeaths.length ? sectionDeaths[owner] : EMPTY_QUEUE;
+    }
+
+    /**
+     * Move every slot logged as changed since the last drain into {@code into} and reset the log.
+     * Slots may since have been released or reused. A slow running out is not logged: it changes
+     * with the clock, not through the pool.
+     */
+    public void drainChanged(IntList into) {
+        for (IntList changes : sectionChanges) {
+            for (int i = 0; i < changes.size(); i++) {
+                int slot = changes.get(i);
+                changed[slot] = false;
+                into.add(slot);
+            }
+            changes.clear();
+        }
+    }
+
+    private void markChanged(int slot) {
+        int owner = owners[slot];
+        if (!changed[slot] && owner >= 0 && owner < sectionChanges.length) {
+            changed[slot] = true;
+            sectionChanges[owner].add(slot);
+        }
+    }
+
+    private void hpChanged(int slot) {
+        PathBuckets buckets = getSectionBuckets(owners[slot]);
+        if (buckets != null) {
+            buckets.hpChanged(slot);
+        }
+    }
+
+    private void enqueue(IntList[] queues, int slot) {
+        int owner = owners[slot];
+        if (owner >= 0 && owner < queues.length) {
+            queues[owner].add(slot);
+        }
+    }
+
+    private CreepGrid gridFor(int owner) {
+        return owner >= 0 && owner < sectionGrids.length ? sectionGrids[owner] : null;
+    }
+
+    private PathGeometry pathFor(int owner) {
+        return owner >= 0 && owner < sectionPaths.size() ? sectionPaths.get(owner) : PathGeometry.EMPTY;
+    }
+
+    private int acquireSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (highWater == ids.length) {
+            allocateArrays(ids.length * 2);
+        }
+        return highWater++;
+    }
+
+    private void allocateArrays(int capacity) {
+        int old = ids.length;
+        ids = Arrays.copyOf(ids, capacity);
+        types = Arrays.copyOf(types, capacity);
+        owners = Arrays.copyOf(owners, capacity);
+        spawnedBy = Arrays.copyOf(spawnedBy, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        hitpoints = Arrays.copyOf(hitpoints, capacity);
+        progress = Arrays.copyOf(progress, capacity);
+        pathIndices = Arrays.copyOf(pathIndices, capacity);
+        reachedCastle = Arrays.copyOf(reachedCastle, capacity);
+        slowFactors = Arrays.copyOf(slowFactors, capacity);
+        slowExpiresAt = Arrays.copyOf(slowExpiresAt, capacity);
+        changed = Arrays.copyOf(changed, capacity);
+        gridCell = Arrays.copyOf(gridCell, capacity);
+        gridNext = Arrays.copyOf(gridNext, capacity);
+        gridPrev = Arrays.copyOf(gridPrev, capacity);
+        bucketIndex = Arrays.copyOf(bucketIndex, capacity);
+        bucketNext = Arrays.copyOf(bucketNext, capacity);
+        bucketPrev = Arrays.copyOf(bucketPrev, capacity);
+        activeSlots = Arrays.copyOf(activeSlots, capacity);
+        activePosition = Arrays.copyOf(activePosition, capacity);
+        freeSlots = Arrays.copyOf(freeSlots, capacity);
+        Arrays.fill(activePosition, old, capacity, -1);
+        Arrays.fill(gridCell, old, capacity, -1);
+        Arrays.fill(bucketIndex, old, capacity, -1);
+    }
+}
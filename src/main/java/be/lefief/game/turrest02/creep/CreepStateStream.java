@@ -0,0 +1,193 @@
+package be.lefief.game.turrest02.creep;
+
+import be.lefief.game.turrest02.Turrest02Player;
+import be.lefief.game.turrest02.TurrestGameMode02;
+import be.lefief.game.turrest02.commands.CreepDeltaCommand;
+import be.lefief.game.turrest02.commands.CreepKeyframeCommand;
+import be.lefief.sockets.ClientSession;
+import be.lefief.sockets.PreparedMessage;
+import be.lefief.util.IntList;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sends creep state to clients as deltas against what they were last sent.
+ * <p>
+ * Creeps are synced path-parametrically: clients get every section's {@link PathGeometry} with
+ * the map and compute positions themselves from an anchor (progress along the path) and a speed.
+ * A per-slot baseline holds the state every in-sync client knows. Each tick only creeps whose
+ * hitpoints or speed changed are sent; a speed change (slow start/stop) re-anchors the progress.
+ * New creeps get one anchor so they line up with the tick they were moved in. Removed creeps are
+ * left to {@link be.lefief.game.turrest02.commands.BatchedDespawnCreepCommand}, which clients
+ * need anyway for the despawn reason and rewards. Steady movement costs no bandwidth at all. The transport is reliable and
+ * ordered, so a delta that was sent counts as received.
+ * <p>
+ * Sessions that did not see the previous frames (first tick, reconnects) get a keyframe instead,
+ * and every {@link #KEYFRAME_INTERVAL_TICKS} ticks everyone does, to correct any drift.
+ */
+public class CreepStateStream {
+
+    public static final int KEYFRAME_INTERVAL_TICKS = 25; // 5 seconds at 5Hz
+
+    private static final int NONE = 0;       // creep ids start at 1
+
+    private final CreepPool pool;
+
+    // Baseline per slot, as last sent
+    private int[] sentIds = new int[0];
+    private int[] sentHitpoints = new int[0];
+    private double[] sentSpeeds = new double[0];
+
+    // Session each player was last brought in sync on
+    private final Map<Integer, ClientSession> syncedSessions = new HashMap<>();
+    private long lastKeyframeTick;
+
+    // Slots last sent with a slowed speed; the slow runs out with the clock, so they are rechecked
+    private final IntList slowedSlots = new IntList();
+    // Stamp per slot of the last diff that looked at it, so a slot is diffed once per tick
+    private int[] visitedInDiff = new int[0];
+    private int diffCount;
+
+    // Scratch buffers reused every tick
+    private final IntList candidates = new IntList();
+    private final IntList changedSlots = new IntList();
+    private final IntList changeMasks = new IntList();
+
+    public CreepStateStream(CreepPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Diff the pool against the baseline and send this tick's delta or keyframe to every player.
+     */
+    public void publish(TurrestGameMode02 game) {
+        long tick = game.getClock().getTick();
+        diff();
+
+        boolean keyframeForAll = tick - lastKeyframeTick >= KEYFRAME_INTERVAL_TICKS;
+        if (keyframeForAll) {
+            lastKeyframeTick = tick;
+        }
+
+        PreparedMessage delta = keyframeForAll || changedSlots.isEmpty()
+                ? null : PreparedMessage.of(createDelta(tick));
+        PreparedMessage keyframe = null;
+
+        for (Turrest02Player player : game.getPlayerByNumber().values()) {
+            ClientSession session = player.getClientSession();
+            if (!player.isConnected() || session == null) {
+                continue;
+            }
+            if (!keyframeForAll && syncedSessions.get(player.getPlayerNumber()) == session) {
+                if (delta != null) {
+                    game.sendToPlayer(player, delta);
+                }
+            } else {
+                if (keyframe == null) {
+                    keyframe = PreparedMessage.of(new CreepKeyframeCommand(pool, tick));
+                }
+                game.sendToPlayer(player, keyframe);
+                syncedSessions.put(player.getPlayerNumber(), session);
+            }
+        }
+    }
+
+    /**
+     * Collect changed creeps and move the baseline to the current state. Only the slots the pool
+     * logged as changed and the ones sent as slowed are looked at, so the cost follows the number
+     * of changes rather than the number of slots.
+     */
+    void diff() {
+        changedSlots.clear();
+        changeMasks.clear();
+        ensureCapacity(pool.getSlotLimit());
+        diffCount++;
+
+        candidates.clear();
+        pool.drainChanged(candidates);
+        candidates.addAll(slowedSlots);
+        slowedSlots.clear();  // rebuilt while diffing
+        for (int i = 0; i < candidates.size(); i++) {
+            int slot = candidates.get(i);
+            if (visitedInDiff[slot] != diffCount) {
+                visitedInDiff[slot] = diffCount;
+                diffSlot(slot);
+            }
+        }
+    }
+
+    private void diffSlot(int slot) {
+        int id = pool.isActive(slot) ? pool.getId(slot) : NONE;
+        boolean isNew = sentIds[slot] != id;
+        if (isNew) {
+            sentIds[slot] = id;
+            if (id == NONE) {
+                return;
+            }
+            // The spawn command already told clients the full hitpoints and base speed
+            sentHitpoints[slot] = pool.getType(slot).getHitpoints();
+            sentSpeeds[slot] = pool.getClientSpeed(slot);
+        }
+        if (id == NONE) {
+            return;
+        }
+
+        int mask = isNew ? CreepDeltaCommand.FLAG_PROGRESS : 0;
+        int hitpoints = pool.getHitpoints(slot);
+        if (hitpoints != sentHitpoints[slot]) {
+            sentHitpoints[slot] = hitpoints;
+            mask |= CreepDeltaCommand.FLAG_HP;
+        }
+        double speed = pool.getEffectiveClientSpeed(slot);
+        if (speed != sentSpeeds[slot]) {
+            sentSpeeds[slot] = speed;
+            mask |= CreepDeltaCommand.FLAG_SPEED | CreepDeltaCommand.FLAG_PROGRESS;
+        }
+        if (speed != pool.getClientSpeed(slot)) {
+            slowedSlots.add(slot);
+        }
+        if (mask != 0) {
+            changedSlots.add(slot);
+            changeMasks.add(mask);
+        }
+    }
+
+    CreepDeltaCommand createDelta(long tick) {
+        int count = changedSlots.size();
+        int[] ids = new int[count];
+        int[] masks = new int[count];
+        double[] progress = new double[count];
+        int[] hitpoints = new int[count];
+        double[] speeds = new double[count];
+        for (int i = 0; i < count; i++) {
+            int slot = changedSlots.get(i);
+            ids[i] = sentIds[slot];
+            masks[i] = changeMasks.get(i);
+            progress[i] = pool.getProgress(slot);
+            hitpoints[i] = sentHitpoints[slot];
+            speeds[i] = sentSpeeds[slot];
+        }
+        return new CreepDeltaCommand(tick, ids, masks, progress, hitpoints, speeds);
+    }
+
+    int changedCount() {
+        return changedSlots.size();
+    }
+
+    int visitedCount() {
+        return candidates.size();
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (sentIds.length >= capacity) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, sentIds.length * 2);
+        sentIds = Arrays.copyOf(sentIds, newCapacity);
+        sentHitpoints = Arrays.copyOf(sentHitpoints, newCapacity);
+        sentSpeeds = Arrays.copyOf(sentSpeeds, newCapacity);
+        visitedInDiff = Arrays.copyOf(visitedInDiff, newCapacity);
+    }
+}
@@ -0,0 +1,172 @@
+package be.lefief.game.turrest02.creep;
+
+import java.util.Arrays;
+
+/**
+ * Live creeps of one player section bucketed by {@code currentPathIndex}.
+ * <p>
+ * Since creeps only ever walk their section's fixed path, "which creeps are
+ * near path tile i" is a bucket lookup. {@link CreepPool#move} moves a creep
+ * to its next bucket whenever its path index advances. Buckets are intrusive
+ * doubly-linked lists threaded through the pool's bucket linkage arrays.
+ * <p>
+ * Each bucket also caches its strongest and weakest live creep for the HP
+ * targeting strategies. A bucket is only rescanned when it is asked for after a
+ * creep entered, left or changed hitpoints, so all towers of the section share
+ * one pass over each changed bucket instead of each scanning every creep.
+ */
+public class PathBuckets {
+
+    public static final int NONE = -1;
+
+    private final int[] heads;  // index 0..pathLength (pathLength = at castle)
+    // Per-bucket HP extremes among live creeps, valid while the bucket is not stale
+    private final int[] strongest;
+    private final int[] weakest;
+    private final boolean[] hpStale;
+    private CreepPool pool;
+
+    public PathBuckets(int pathLength) {
+        this.heads = new int[pathLength + 1];
+        this.strongest = new int[pathLength + 1];
+        this.weakest = new int[pathLength + 1];
+        this.hpStale = new boolean[pathLength + 1];
+        Arrays.fill(heads, NONE);
+        Arrays.fill(strongest, NONE);
+        Arrays.fill(weakest, NONE);
+    }
+
+    void bind(CreepPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Number of buckets (path length + 1 for the castle).
+     */
+    public int bucketCount() {
+        return heads.length;
+    }
+
+    /**
+     * First creep (dead or alive) in the bucket, or {@link #NONE}.
+     */
+    public int head(int pathIndex) {
+        return pathIndex >= 0 && pathIndex < heads.length ? heads[pathIndex] : NONE;
+    }
+
+    /**
+     * Next creep in the same bucket, or {@link #NONE}.
+     */
+    public int next(int slot) {
+        return pool.bucketNext[slot];
+    }
+
+    /**
+     * Live creep with the most hitpoints in the bucket, or {@link #NONE}. Ties go to the
+     * creep furthest along as of the bucket's last rescan.
+     */
+    public int strongest(int pathIndex) {
+        if (pathIndex < 0 || pathIndex >= heads.length) {
+            return NONE;
+        }
+        refreshHp(pathIndex);
+        return strongest[pathIndex];
+    }
+
+    /**
+     * Live creep with the fewest hitpoints in the bucket, or {@link #NONE}. Ties go to the
+     * creep furthest along as of the bucket's last rescan.
+     */
+    public int weakest(int pathIndex) {
+        if (pathIndex < 0 || pathIndex >= heads.length) {
+            return NONE;
+        }
+        refreshHp(pathIndex);
+        return weakest[pathIndex];
+    }
+
+    /**
+     * A creep's hitpoints changed; its bucket's HP extremes are rescanned on next use.
+     */
+    void hpChanged(int slot) {
+        int bucket = pool.bucketIndex[slot];
+        if (bucket != NONE) {
+            hpStale[bucket] = true;
+        }
+    }
+
+    private void refreshHp(int bucket) {
+        if (!hpStale[bucket]) {
+            return;
+        }
+        int max = NONE;
+        int min = NONE;
+        for (int slot = heads[bucket]; slot != NONE; slot = pool.bucketNext[slot]) {
+            if (pool.isDead(slot)) continue;
+            int hp = pool.getHitpoints(slot);
+            if (max == NONE || hp > pool.getHitpoints(max)
+                    || (hp == pool.getHitpoints(max) && pool.getProgress(slot) > pool.getProgress(max))) {
+                max = slot;
+            }
+            if (min == NONE || hp < pool.getHitpoints(min)
+                    || (hp == pool.getHitpoints(min) && pool.getProgress(slot) > pool.getProgress(min))) {
+                min = slot;
+            }
+        }
+        strongest[bucket] = max;
+        weakest[bucket] = min;
+        hpStale[bucket] = false;
+    }
+
+    void insert(int slot) {
+        link(slot, bucketOf(slot));
+    }
+
+    void remove(int slot) {
+        if (pool.bucketIndex[slot] != NONE) {
+            unlink(slot);
+        }
+    }
+
+    /**
+     * Move a creep to the bucket matching its current path index, if it changed.
+     */
+    void relocate(int slot) {
+        int bucket = bucketOf(slot);
+        if (bucket != pool.bucketIndex[slot]) {
+            unlink(slot);
+            link(slot, bucket);
+        }
+    }
+
+    private int bucketOf(int slot) {
+        return Math.min(heads.length - 1, pool.getCurrentPathIndex(slot));
+    }
+
+    private void link(int slot, int bucket) {
+        int head = heads[bucket];
+        pool.bucketPrev[slot] = NONE;
+        pool.bucketNext[slot] = head;
+        if (head != NONE) {
+            pool.bucketPrev[head] = slot;
+        }
+        heads[bucket] = slot;
+        pool.bucketIndex[slot] = bucket;
+        hpStale[bucket] = true;
+    }
+
+    private void unlink(int slot) {
+        int prev = pool.bucketPrev[slot];
+        int next = pool.bucketNext[slot];
+        if (prev != NONE) {
+            pool.bucketNext[prev] = next;
+        } else {
+            heads[pool.bucketIndex[slot]] = next;
+        }
+        if (next != NONE) {
+            pool.bucketPrev[next] = prev;
+        }
+        hpStale[pool.bucketIndex[slot]] = true;
+        pool.bucketIndex[slot] = NONE;
+    }
+}
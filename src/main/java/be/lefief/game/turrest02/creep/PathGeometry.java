@@ -0,0 +1,106 @@
+package be.lefief.game.turrest02.creep;
+
+import java.awt.Point;
+import java.util.List;
+
+/**
+ * Immutable polyline a section's creeps walk along: the spawner followed by the path points,
+ * all as tile centers, with the cumulative distance to every point.
+ * <p>
+ * Creep position is a single distance walked from the spawner (its progress). Segment
+ * {@code i} runs from point {@code i} to point {@code i + 1}; its unit direction is
+ * precomputed, so turning a progress into x/y is one multiply-add per axis. Point
+ * {@code i + 1} is path point {@code i}, so the segment a creep is on equals the section
+ * path index it is heading for. Shared by the server pool and, via FULL_MAP, the clients.
+ */
+public final class PathGeometry {
+
+    public static final PathGeometry EMPTY = new PathGeometry(new double[0], new double[0]);
+
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] cumulative;
+    private final double[] dirX;
+    private final double[] dirY;
+
+    private PathGeometry(double[] xs, double[] ys) {
+        this.xs = xs;
+        this.ys = ys;
+        this.cumulative = new double[xs.length];
+        int segments = Math.max(0, xs.length - 1);
+        this.dirX = new double[segments];
+        this.dirY = new double[segments];
+        for (int i = 0; i < segments; i++) {
+            double dx = xs[i + 1] - xs[i];
+            double dy = ys[i + 1] - ys[i];
+            double length = Math.sqrt(dx * dx + dy * dy);
+            cumulative[i + 1] = cumulative[i] + length;
+            if (length > 0) {
+                dirX[i] = dx / length;
+                dirY[i] = dy / length;
+            }
+        }
+    }
+
+    public static PathGeometry of(Point spawner, List<Point> path) {
+        if (spawner == null || path == null || path.isEmpty()) {
+            return EMPTY;
+        }
+        double[] xs = new double[path.size() + 1];
+        double[] ys = new double[path.size() + 1];
+        xs[0] = spawner.x + 0.5;
+        ys[0] = spawner.y + 0.5;
+        for (int i = 0; i < path.size(); i++) {
+            xs[i + 1] = path.get(i).x + 0.5;
+            ys[i + 1] = path.get(i).y + 0.5;
+        }
+        return new PathGeometry(xs, ys);
+    }
+
+    public int size() {
+        return xs.length;
+    }
+
+    public double getX(int point) {
+        return xs[point];
+    }
+
+    public double getY(int point) {
+        return ys[point];
+    }
+
+    public int segmentCount() {
+        return dirX.length;
+    }
+
+    public double getLength() {
+        return xs.length == 0 ? 0 : cumulative[xs.length - 1];
+    }
+
+    /**
+     * Segment that contains {@code progress}, searching forward from {@code segment}.
+     * Progress never decreases, so callers pass the creep's previous segment and the
+     * scan is amortized constant. Returns {@link #segmentCount()} once the end is reached.
+     * A point exactly on a segment end counts as reached.
+     */
+    public int advance(int segment, double progress) {
+        while (segment < dirX.length && cumulative[segment + 1] <= progress) {
+            segment++;
+        }
+        return segment;
+    }
+
+    public double xAt(int segment, double progress) {
+        if (segment >= dirX.length) {
+            return xs.length == 0 ? 0 : xs[xs.length - 1];
+        }
+        return xs[segment] + dirX[segment] * (progress - cumulative[segment]);
+    }
+
+    public double yAt(int segment, double progress) {
+        if (segment >= dirY.length) {
+            return ys.length == 0 ? 0 : ys[ys.length - 1];
+        }
+        return ys[segment] + dirY[segment] * (progress - cumulative[segment]);
+    }
+}
@@ -14,10 +14,15 @@ public class PlaceBuildingHandler extends CommandTopicHandler<PlaceBuildingComma
         super(PlaceBuildingCommand.SUBJECT.name(), PlaceBuildingCommand.TOPIC);
     }
 
+    @Override
+    public Class<? extends Record> getPayloadType() {
+        return PlaceBuildingCommand.Payload.class;
+    }
+
     @Override
     public SecuredClientToServerCommand<PlaceBuildingCommand> identify(ClientToServerCommand command, ClientSession clientSession) {
         return new SecuredClientToServerCommand<>(
-                new PlaceBuildingCommand(command.getData()),
+                new PlaceBuildingCommand(command.payload(PlaceBuildingCommand.Payload.class)),
                 clientSession.getUserId(),
                 clientSession.getUserName()
         );
@@ -14,10 +14,15 @@ public class PlaceTowerHandler extends CommandTopicHandler<PlaceTowerCommand> {
         super(PlaceTowerCommand.SUBJECT.name(), PlaceTowerCommand.TOPIC);
     }
 
+    @Override
+    public Class<? extends Record> getPayloadType() {
+        return PlaceTowerCommand.Payload.class;
+    }
+
     @Override
     public SecuredClientToServerCommand<PlaceTowerCommand> identify(ClientToServerCommand command, ClientSession clientSession) {
         return new SecuredClientToServerCommand<>(
-                new PlaceTowerCommand(command.getData()),
+                new PlaceTowerCommand(command.payload(PlaceTowerCommand.Payload.class)),
                 clientSession.getUserId(),
                 clientSession.getUserName()
         );
@@ -14,10 +14,15 @@ public class SendCreepHandler extends CommandTopicHandler<SendCreepCommand> {
         super(SendCreepCommand.SUBJECT.name(), SendCreepCommand.TOPIC);
     }
 
+    @Override
+    public Class<? extends Record> getPayloadType() {
+        return SendCreepCommand.Payload.class;
+    }
+
     @Override
     public SecuredClientToServerCommand<SendCreepCommand> identify(ClientToServerCommand command, ClientSession clientSession) {
         return new SecuredClientToServerCommand<>(
-                new SendCreepCommand(command.getData()),
+                new SendCreepCommand(command.payload(SendCreepCommand.Payload.class)),
                 clientSession.getUserId(),
                 clientSession.getUserName()
         );
@@ -0,0 +1,30 @@
+package be.lefief.game.turrest02.handlers;
+
+import be.lefief.game.turrest02.commands.SetTowerTargetingCommand;
+import be.lefief.sockets.ClientSession;
+import be.lefief.sockets.SecuredClientToServerCommand;
+import be.lefief.sockets.commands.ClientToServerCommand;
+import be.lefief.util.CommandTopicHandler;
+import org.springframework.stereotype.Component;
+
+@Component("turrest02SetTowerTargetingHandler")
+public class SetTowerTargetingHandler extends CommandTopicHandler<SetTowerTargetingCommand> {
+
+    public SetTowerTargetingHandler() {
+        super(SetTowerTargetingCommand.SUBJECT.name(), SetTowerTargetingCommand.TOPIC);
+    }
+
+    @Override
+    public Class<? extends Record> getPayloadType() {
+        return SetTowerTargetingCommand.Payload.class;
+    }
+
+    @Override
+    public SecuredClientToServerCommand<SetTowerTargetingCommand> identify(ClientToServerCommand command, ClientSession clientSession) {
+        return new SecuredClientToServerCommand<>(
+                new SetTowerTargetingCommand(command.payload(SetTowerTargetingCommand.Payload.class)),
+                clientSession.getUserId(),
+                clientSession.getUserName()
+        );
+    }
+}
@@ -0,0 +1,24 @@
+package be.lefief.game.turrest02.handlers;
+
+import be.lefief.game.turrest02.commands.SetTowerTargetingCommand;
+import be.lefief.sockets.ClientSession;
+import be.lefief.sockets.SecuredClientToServerCommand;
+import be.lefief.sockets.handlers.CommandHandler;
+import org.springframework.stereotype.Component;
+
+@Component("turrest02SetTowerTargetingListener")
+public class SetTowerTargetingListener extends CommandHandler<SetTowerTargetingCommand> {
+
+    private final Turrest02GameHandler gameHandler;
+
+    public SetTowerTargetingListener(Turrest02GameHandler gameHandler, SetTowerTargetingHandler setTowerTargetingHandler) {
+        super(setTowerTargetingHandler);
+        this.gameHandler = gameHandler;
+        openChannel();
+    }
+
+    @Override
+    public void accept(SecuredClientToServerCommand<SetTowerTargetingCommand> command, ClientSession clientSession) {
+        gameHandler.handleSetTowerTargeting(command, clientSession);
+    }
+}
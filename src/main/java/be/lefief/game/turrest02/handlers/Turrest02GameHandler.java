@@ -15,6 +15,7 @@ import be.lefief.game.turrest02.resource.ResourceEventType;
 import be.lefief.game.turrest02.resource.TurrestCost;
 import be.lefief.game.turrest02.structure.TurrestBuilding;
 import be.lefief.game.turrest02.tower.GenericTower;
+import be.lefief.game.turrest02.tower.TargetingStrategy;
 import be.lefief.game.turrest02.tower.Tower;
 import be.lefief.game.turrest02.tower.TowerDefinition;
 import be.lefief.game.validation.CommandValidator;
@@ -28,6 +29,15 @@ import org.springframework.stereotype.Service;
 
 import java.util.UUID;
 
+/**
+ * Player commands of a running Turrest02 game.
+ * <p>
+ * Sessions and games are looked up on the caller's thread; everything that reads or changes
+ * game state is {@linkplain be.lefief.game.Game#submit submitted} and runs on the game's tick
+ * thread at the start of the next tick, so the game has a single writer. Replies from submitted
+ * commands go through the game, into the player's tick frame, so feedback and the state change it
+ * belongs to arrive together; only rejections made before queuing are sent directly.
+ */
 @Service
 public class Turrest02GameHandler {
 
@@ -69,21 +79,28 @@ public class Turrest02GameHandler {
                 turrestGame.getPlayerByNumber().size(),
                 turrestGame.getPlayerByNumber().keySet());
         Turrest02Player player = commandValidator.findPlayerBySession(turrestGame, clientSession);
+        if (player == null) {
+            clientSession.sendCommand(new ErrorMessageResponse("Player not found"));
+            return;
+        }
+        turrestGame.submit(() -> placeBuilding(turrestGame, player, x, y, buildingTypeId));
+    }
 
+    private void placeBuilding(TurrestGameMode02 turrestGame, Turrest02Player player, int x, int y, int buildingTypeId) {
         // Validate player is alive
         ValidationResult playerAlive = commandValidator.validatePlayerIsAlive(player);
         if (playerAlive.isInvalid()) {
             LOG.warn("[BUILD DEBUG] Player validation failed: {}", playerAlive.getErrorMessage());
-            clientSession.sendCommand(new ErrorMessageResponse(playerAlive.getErrorMessage()));
+            turrestGame.sendToPlayer(player, new ErrorMessageResponse(playerAlive.getErrorMessage()));
             return;
         }
-        LOG.info("[BUILD DEBUG] Found player {} for userId={}", player.getPlayerNumber(), userId);
+        LOG.info("[BUILD DEBUG] Found player {}", player.getPlayerNumber());
 
         // Get building definition
         BuildingDefinition buildingDef = BuildingDefinition.fromId(buildingTypeId);
         if (buildingDef == null) {
             LOG.warn("Unknown building type: {}", buildingTypeId);
-            clientSession.sendCommand(new ErrorMessageResponse("Unknown building type"));
+            turrestGame.sendToPlayer(player, new ErrorMessageResponse("Unknown building type"));
             return;
         }
 
@@ -91,7 +108,7 @@ public class Turrest02GameHandler {
         Tile tile = turrestGame.getGameMap().getTile(x, y);
         if (tile == null) {
             LOG.warn("Invalid tile position: ({}, {})", x, y);
-            clientSession.sendCommand(new ErrorMessageResponse("Invalid position"));
+            turrestGame.sendToPlayer(player, new ErrorMessageResponse("Invalid position"));
             return;
         }
 
@@ -99,14 +116,14 @@ public class Turrest02GameHandler {
         if (!tile.canPlayerBuild(player.getPlayerNumber())) {
             LOG.info("Player {} cannot build on tile ({}, {}) - owners: {}",
                     player.getPlayerNumber(), x, y, tile.getOwners());
-            clientSession.sendCommand(new ErrorMessageResponse("Cannot build on another player's territory"));
+            turrestGame.sendToPlayer(player, new ErrorMessageResponse("Cannot build on another player's territory"));
             return;
         }
 
         // Validate terrain
         if (!buildingDef.canBuildOn(tile.getTerrainType())) {
             LOG.info("Cannot build {} on terrain {}", buildingDef.getName(), tile.getTerrainType());
-            clientSession.sendCommand(new ErrorMessageResponse(
+            turrestGame.sendToPlayer(player, new ErrorMessageResponse(
                     "Cannot build " + buildingDef.getName() + " on " + tile.getTerrainType().name().toLowerCase()));
             return;
         }
@@ -114,7 +131,7 @@ public class Turrest02GameHandler {
         // Check for existing structure
         if (tile.hasStructure()) {
             LOG.info("Tile already has a structure");
-            clientSession.sendCommand(new ErrorMessageResponse("Tile already occupied"));
+            turrestGame.sendToPlayer(player, new ErrorMessageResponse("Tile already occupied"));
             return;
         }
 
@@ -122,7 +139,7 @@ public class Turrest02GameHandler {
         PlayerResources resources = player.getResources();
         if (!resources.canAfford(buildingDef.getCost())) {
             LOG.info("Player cannot afford {}", buildingDef.getName());
-            clientSession.sendCommand(new ErrorMessageResponse("Not enough resources"));
+            turrestGame.sendToPlayer(player, new ErrorMessageResponse("Not enough resources"));
             return;
         }
 
@@ -142,14 +159,10 @@ public class Turrest02GameHandler {
                 player.getPlayerNumber(), buildingDef.getName(), x, y);
 
         // Send resource update to the building player
-        clientSession.sendCommand(new ResourceUpdateResponse(
-                resources.getWood(),
-                resources.getStone(),
-                resources.getGold()
-        ));
+        turrestGame.sendResourceUpdateToPlayer(player.getPlayerNumber());
 
         // Send resource event animation for building cost
-        clientSession.sendCommand(new ResourceEventCommand(
+        turrestGame.sendToPlayer(player, new ResourceEventCommand(
                 ResourceEventType.BUILD_BUILDING,
                 buildingDef.getCost(),
                 x + 0.5, y + 0.5,  // Center of tile
@@ -186,12 +199,20 @@ public class Turrest02GameHandler {
             return;
         }
 
-        // Find the player and validate alive
         Turrest02Player player = commandValidator.findPlayerBySession(turrestGame, clientSession);
+        if (player == null) {
+            clientSession.sendCommand(new ErrorMessageResponse("Player not found"));
+            return;
+        }
+        turrestGame.submit(() -> placeTower(turrestGame, player, x, y, towerTypeId));
+    }
+
+    private void placeTower(TurrestGameMode02 turrestGame, Turrest02Player player, int x, int y, int towerTypeId) {
+        // Validate player is alive
         ValidationResult playerAlive = commandValidator.validatePlayerIsAlive(player);
         if (playerAlive.isInvalid()) {
             LOG.warn("[TOWER DEBUG] Player validation failed: {}", playerAlive.getErrorMessage());
-            clientSession.sendCommand(new ErrorMessageResponse(playerAlive.getErrorMessage()));
+            turrestGame.sendToPlayer(player, new ErrorMessageResponse(playerAlive.getErrorMessage()));
             return;
         }
 
@@ -199,7 +220,7 @@ public class Turrest02GameHandler {
         TowerDefinition towerDef = TowerDefinition.fromId(towerTypeId);
         if (towerDef == null) {
             LOG.warn("Unknown tower type: {}", towerTypeId);
-            clientSession.sendCommand(new ErrorMessageResponse("Unknown tower type"));
+            turrestGame.sendToPlayer(player, new ErrorMessageResponse("Unknown tower type"));
             return;
         }
 
@@ -207,7 +228,7 @@ public class Turrest02GameHandler {
         Tile tile = turrestGame.getGameMap().getTile(x, y);
         if (tile == null) {
             LOG.warn("Invalid tile position: ({}, {})", x, y);
-            clientSession.sendCommand(new ErrorMessageResponse("Invalid position"));
+            turrestGame.sendToPlayer(player, new ErrorMessageResponse("Invalid position"));
             return;
         }
 
@@ -215,14 +236,14 @@ public class Turrest02GameHandler {
         if (!tile.canPlayerBuild(player.getPlayerNumber())) {
             LOG.info("Player {} cannot build tower on tile ({}, {}) - owners: {}",
                     player.getPlayerNumber(), x, y, tile.getOwners());
-            clientSession.sendCommand(new ErrorMessageResponse("Cannot build on another player's territory"));
+            turrestGame.sendToPlayer(player, new ErrorMessageResponse("Cannot build on another player's territory"));
             return;
         }
 
         // Validate terrain
         if (!towerDef.canBuildOn(tile.getTerrainType())) {
             LOG.info("Cannot build {} on terrain {}", towerDef.getName(), tile.getTerrainType());
-            clientSession.sendCommand(new ErrorMessageResponse(
+            turrestGame.sendToPlayer(player, new ErrorMessageResponse(
                     "Cannot build " + towerDef.getName() + " on " + tile.getTerrainType().name().toLowerCase()));
             return;
         }
@@ -230,7 +251,7 @@ public class Turrest02GameHandler {
         // Check for existing structure
         if (tile.hasStructure()) {
             LOG.info("Tile already has a structure");
-            clientSession.sendCommand(new ErrorMessageResponse("Tile already occupied"));
+            turrestGame.sendToPlayer(player, new ErrorMessageResponse("Tile already occupied"));
             return;
         }
 
@@ -238,7 +259,7 @@ public class Turrest02GameHandler {
         PlayerResources resources = player.getResources();
         if (!resources.canAfford(towerDef.getCost())) {
             LOG.info("Player cannot afford {}", towerDef.getName());
-            clientSession.sendCommand(new ErrorMessageResponse("Not enough resources"));
+            turrestGame.sendToPlayer(player, new ErrorMessageResponse("Not enough resources"));
             return;
         }
 
@@ -262,14 +283,10 @@ public class Turrest02GameHandler {
                 towerDef.getPracticalFireRate(turrestGame.getTickRateMs()));
 
         // Send resource update to the building player
-        clientSession.sendCommand(new ResourceUpdateResponse(
-                resources.getWood(),
-                resources.getStone(),
-                resources.getGold()
-        ));
+        turrestGame.sendResourceUpdateToPlayer(player.getPlayerNumber());
 
         // Send resource event animation for tower cost
-        clientSession.sendCommand(new ResourceEventCommand(
+        turrestGame.sendToPlayer(player, new ResourceEventCommand(
                 ResourceEventType.BUILD_TOWER,
                 towerDef.getCost(),
                 x + 0.5, y + 0.5,  // Center of tile
@@ -280,6 +297,70 @@ public class Turrest02GameHandler {
         turrestGame.broadcastToAllPlayers(new TowerPlacedCommand(tower, turrestGame.getTickRateMs()));
     }
 
+    public void handleSetTowerTargeting(SecuredClientToServerCommand<SetTowerTargetingCommand> command, ClientSession clientSession) {
+        SetTowerTargetingCommand targetingCommand = command.getCommand();
+        UUID userId = clientSession.getUserId();
+
+        // Validate player can act
+        ValidationResult canAct = commandValidator.validatePlayerCanAct(userId);
+        if (canAct.isInvalid()) {
+            clientSession.sendCommand(new ErrorMessageResponse(canAct.getErrorMessage()));
+            return;
+        }
+
+        // Get the game for this player
+        TurrestGameMode02 turrestGame = commandValidator.getValidTurrest02Game(userId);
+        if (turrestGame == null) {
+            clientSession.sendCommand(new ErrorMessageResponse("Invalid game type"));
+            return;
+        }
+
+        Turrest02Player player = commandValidator.findPlayerBySession(turrestGame, clientSession);
+        if (player == null) {
+            clientSession.sendCommand(new ErrorMessageResponse("Player not found"));
+            return;
+        }
+        turrestGame.submit(() -> setTowerTargeting(turrestGame, player, targetingCommand));
+    }
+
+    private void setTowerTargeting(TurrestGameMode02 turrestGame, Turrest02Player player,
+                                   SetTowerTargetingCommand targetingCommand) {
+        ValidationResult playerAlive = commandValidator.validatePlayerIsAlive(player);
+        if (playerAlive.isInvalid()) {
+            turrestGame.sendToPlayer(player, new ErrorMessageResponse(playerAlive.getErrorMessage()));
+            return;
+        }
+
+        TargetingStrategy targeting = TargetingStrategy.fromName(targetingCommand.getTargeting());
+        if (targeting == null) {
+            LOG.warn("Unknown targeting strategy: {}", targetingCommand.getTargeting());
+            turrestGame.sendToPlayer(player, new ErrorMessageResponse("Unknown targeting strategy"));
+            return;
+        }
+
+        Tower tower;
+        try {
+            tower = turrestGame.getTowerManager().getTower(UUID.fromString(targetingCommand.getTowerId()));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            tower = null;
+        }
+        if (tower == null) {
+            turrestGame.sendToPlayer(player, new ErrorMessageResponse("Unknown tower"));
+            return;
+        }
+
+        // Players can only retarget their own towers
+        if (tower.getOwnerPlayerNumber() != player.getPlayerNumber()) {
+            turrestGame.sendToPlayer(player, new ErrorMessageResponse("Cannot change another player's tower"));
+            return;
+        }
+
+        tower.setTargeting(targeting);
+        LOG.info("Player {} set tower {} targeting to {}", player.getPlayerNumber(), tower.getId(), targeting);
+
+        turrestGame.broadcastToAllPlayers(new TowerTargetingChangedCommand(tower));
+    }
+
     private Tower createTower(TowerDefinition def, int playerNumber, int x, int y) {
         return new GenericTower(def, playerNumber, x, y);
     }
@@ -306,12 +387,19 @@ public class Turrest02GameHandler {
             return;
         }
 
-        // Find the player and validate alive
         Turrest02Player player = commandValidator.findPlayerBySession(turrestGame, clientSession);
+        if (player == null) {
+            clientSession.sendCommand(new ErrorMessageResponse("Player not found"));
+            return;
+        }
+        turrestGame.submit(() -> sendCreep(turrestGame, player, creepTypeId));
+    }
+
+    private void sendCreep(TurrestGameMode02 turrestGame, Turrest02Player player, String creepTypeId) {
         ValidationResult playerAlive = commandValidator.validatePlayerIsAlive(player);
         if (playerAlive.isInvalid()) {
             LOG.warn("[SEND CREEP] Player validation failed: {}", playerAlive.getErrorMessage());
-            clientSession.sendCommand(new ErrorMessageResponse(playerAlive.getErrorMessage()));
+            turrestGame.sendToPlayer(player, new ErrorMessageResponse(playerAlive.getErrorMessage()));
             return;
         }
 
@@ -319,7 +407,7 @@ public class Turrest02GameHandler {
         CreepType creepType = CreepType.fromId(creepTypeId);
         if (creepType == null) {
             LOG.warn("Unknown creep type: {}", creepTypeId);
-            clientSession.sendCommand(new ErrorMessageResponse("Unknown creep type"));
+            turrestGame.sendToPlayer(player, new ErrorMessageResponse("Unknown creep type"));
             return;
         }
 
@@ -327,7 +415,7 @@ public class Turrest02GameHandler {
         TurrestCost sendCost = creepType.getSendCost();
         if (!sendCost.canAfford(player)) {
             LOG.info("Player {} cannot afford to send {}", player.getPlayerNumber(), creepType.getId());
-            clientSession.sendCommand(new ErrorMessageResponse("Not enough resources"));
+            turrestGame.sendToPlayer(player, new ErrorMessageResponse("Not enough resources"));
             return;
         }
 
@@ -349,7 +437,7 @@ public class Turrest02GameHandler {
 
         // Send resource event animation for send cost
         // Position at screen center (frontend will handle positioning for SEND_CREEP events)
-        clientSession.sendCommand(new ResourceEventCommand(
+        turrestGame.sendToPlayer(player, new ResourceEventCommand(
                 ResourceEventType.SEND_CREEP,
                 sendCost,
                 -1, -1,  // Special coordinates: frontend will use screen center
@@ -371,7 +459,8 @@ public class Turrest02GameHandler {
             return;
         }
 
-        // Send stats response to the requesting player
+        // Send stats response to the requesting player. Also answered after the game ended, when no tick
+        // drains submitted commands; the stats are safe to read concurrently.
         clientSession.sendCommand(new StatsResponseCommand(turrestGame.getGameStats()));
     }
 }
@@ -0,0 +1,111 @@
+package be.lefief.game.turrest02.level;
+
+import be.lefief.game.map.GameMap;
+import be.lefief.game.map.LevelLoader;
+import be.lefief.game.turrest02.creep.PathFinder;
+import be.lefief.game.turrest02.map.RoadGenerator;
+import be.lefief.game.turrest02.structure.Road;
+import be.lefief.game.turrest02.wave.Wave;
+import be.lefief.game.turrest02.wave.WaveLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import java.awt.*;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Parses every turrest02 level once at startup into immutable {@link LevelTemplate}s.
+ * Starting a game then only copies a template instead of reading files, generating
+ * roads and searching paths on the request thread.
+ */
+@Service
+public class LevelRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LevelRegistry.class);
+    private static final String LEVEL_DIRECTORY = "levels/turrest02/";
+    public static final String DEFAULT_LEVEL = "0001";
+    private static final int ROAD_LAYOUTS_PER_LEVEL = 8;
+
+    private final Map<String, LevelTemplate> templates = new TreeMap<>();
+
+    public LevelRegistry() {
+        Resource[] resources;
+        try {
+            resources = new PathMatchingResourcePatternResolver()
+                    .getResources("classpath*:" + LEVEL_DIRECTORY + "*.level");
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to scan " + LEVEL_DIRECTORY, e);
+        }
+
+        for (Resource resource : resources) {
+            String fileName = resource.getFilename();
+            if (fileName == null) continue;
+            String name = fileName.substring(0, fileName.length() - ".level".length());
+            try {
+                LevelTemplate template = buildTemplate(name);
+                if (template != null) {
+                    templates.put(name, template);
+                }
+            } catch (IOException e) {
+                LOG.error("Failed to load level {}", name, e);
+            }
+        }
+
+        if (!templates.containsKey(DEFAULT_LEVEL)) {
+            throw new IllegalStateException("Default level " + DEFAULT_LEVEL + " is missing or invalid");
+        }
+        LOG.info("Level registry loaded {} levels: {}", templates.size(), templates.keySet());
+    }
+
+    private LevelTemplate buildTemplate(String name) throws IOException {
+        LevelLoader level = LevelLoader.load(LEVEL_DIRECTORY + name + ".level");
+
+        List<RoadLayout> layouts = new ArrayList<>();
+        for (int seed = 0; seed < ROAD_LAYOUTS_PER_LEVEL; seed++) {
+            Set<Point> roads = new RoadGenerator(seed).generateRoads(level);
+
+            // Resolve the creep path on a single section; every section is a shifted copy
+            GameMap section = GameMap.createFromLevelWithRoads(level, 1, roads, Road::new);
+            List<Point> path = PathFinder.computePlayerPaths(section, 1).get(0);
+            Point spawner = PathFinder.getSpawnerPosition(section, 0);
+            if (path.isEmpty() || spawner == null) {
+                LOG.warn("Level {} road layout {} has no spawner-to-castle path, skipping it", name, seed);
+                continue;
+            }
+            layouts.add(new RoadLayout(roads, path, spawner));
+        }
+        if (layouts.isEmpty()) {
+            LOG.error("Level {} has no valid road layout, skipping level", name);
+            return null;
+        }
+
+        List<Wave> waves = WaveLoader.load("turrest02/" + name);
+        if (waves.isEmpty()) {
+            LOG.warn("Level {} has no waves", name);
+        }
+        return new LevelTemplate(name, level, layouts, waves);
+    }
+
+    /**
+     * Get a level by name, or null if it does not exist.
+     */
+    public LevelTemplate getTemplate(String name) {
+        return templates.get(name);
+    }
+
+    public LevelTemplate getDefaultTemplate() {
+        return templates.get(DEFAULT_LEVEL);
+    }
+
+    public Set<String> getLevelNames() {
+        return templates.keySet();
+    }
+}
@@ -0,0 +1,52 @@
+package be.lefief.game.turrest02.level;
+
+import be.lefief.game.map.LevelLoader;
+import be.lefief.game.turrest02.wave.Wave;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A parsed and validated level, shared read-only by every game played on it:
+ * terrain, a few candidate road layouts with their creep paths, and the wave schedule.
+ */
+public final class LevelTemplate {
+
+    private final String name;
+    private final LevelLoader level;
+    private final List<RoadLayout> roadLayouts;
+    private final List<Wave> waves;
+
+    LevelTemplate(String name, LevelLoader level, List<RoadLayout> roadLayouts, List<Wave> waves) {
+        this.name = name;
+        this.level = level;
+        this.roadLayouts = List.copyOf(roadLayouts);
+        this.waves = List.copyOf(waves);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Terrain of one player section. Shared: do not mutate.
+     */
+    public LevelLoader getLevel() {
+        return level;
+    }
+
+    public List<RoadLayout> getRoadLayouts() {
+        return roadLayouts;
+    }
+
+    /**
+     * Pick one of the pre-generated road layouts, so games keep varying.
+     */
+    public RoadLayout randomRoadLayout() {
+        return roadLayouts.get(ThreadLocalRandom.current().nextInt(roadLayouts.size()));
+    }
+
+    public List<Wave> getWaves() {
+        return waves;
+    }
+}
@@ -0,0 +1,66 @@
+package be.lefief.game.turrest02.level;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One pre-generated road network of a level, with the creep path it produces.
+ * Coordinates are relative to a single player section; games shift them by the section offset.
+ */
+public final class RoadLayout {
+
+    private final Set<Point> roadPositions;
+    private final int[] pathXs;
+    private final int[] pathYs;
+    private final int spawnerX;
+    private final int spawnerY;
+
+    RoadLayout(Set<Point> roadPositions, List<Point> path, Point spawner) {
+        Set<Point> roads = new HashSet<>();
+        for (Point p : roadPositions) {
+            roads.add(new Point(p));
+        }
+        this.roadPositions = Collections.unmodifiableSet(roads);
+        this.pathXs = new int[path.size()];
+        this.pathYs = new int[path.size()];
+        for (int i = 0; i < path.size(); i++) {
+            pathXs[i] = path.get(i).x;
+            pathYs[i] = path.get(i).y;
+        }
+        this.spawnerX = spawner.x;
+        this.spawnerY = spawner.y;
+    }
+
+    /**
+     * Road tiles of one section. Do not mutate the points.
+     */
+    public Set<Point> getRoadPositions() {
+        return roadPositions;
+    }
+
+    public int getPathLength() {
+        return pathXs.length;
+    }
+
+    /**
+     * Fresh copy of the creep path for a section at the given map offset.
+     */
+    public List<Point> sectionPath(int offsetX, int offsetY) {
+        List<Point> path = new ArrayList<>(pathXs.length);
+        for (int i = 0; i < pathXs.length; i++) {
+            path.add(new Point(pathXs[i] + offsetX, pathYs[i] + offsetY));
+        }
+        return path;
+    }
+
+    /**
+     * Spawner tile for a section at the given map offset.
+     */
+    public Point sectionSpawner(int offsetX, int offsetY) {
+        return new Point(spawnerX + offsetX, spawnerY + offsetY);
+    }
+}
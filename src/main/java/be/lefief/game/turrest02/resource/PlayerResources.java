@@ -9,6 +9,7 @@ public class PlayerResources {
 
     private final Map<ResourceType, Integer> resources;
     private final Map<ResourceType, Integer> productionRates;
+    private int version;  // Bumped on every change of an amount, so senders can skip unchanged state
 
     public PlayerResources() {
         resources = new EnumMap<>(ResourceType.class);
@@ -37,7 +38,12 @@ public class PlayerResources {
         return getAmount(ResourceType.GOLD);
     }
 
+    public int getVersion() {
+        return version;
+    }
+
     public void addGold(int amount) {
+        version++;
         resources.put(ResourceType.GOLD, resources.get(ResourceType.GOLD) + amount);
     }
 
@@ -46,6 +52,7 @@ public class PlayerResources {
     }
 
     public void addProduction() {
+        version++;
         for (ResourceType type : ResourceType.values()) {
             int current = resources.get(type);
             int production = productionRates.get(type);
@@ -58,12 +65,14 @@ public class PlayerResources {
     }
 
     public void subtract(ResourceCost cost) {
+        version++;
         resources.put(ResourceType.WOOD, resources.get(ResourceType.WOOD) - cost.getWood());
         resources.put(ResourceType.STONE, resources.get(ResourceType.STONE) - cost.getStone());
         resources.put(ResourceType.GOLD, resources.get(ResourceType.GOLD) - cost.getGold());
     }
 
     public void subtract(TurrestCost cost) {
+        version++;
         resources.put(ResourceType.WOOD, resources.get(ResourceType.WOOD) - cost.getWood());
         resources.put(ResourceType.STONE, resources.get(ResourceType.STONE) - cost.getStone());
         resources.put(ResourceType.GOLD, resources.get(ResourceType.GOLD) - cost.getGold());
@@ -71,6 +80,7 @@ public class PlayerResources {
     }
 
     public void add(TurrestReward reward) {
+        version++;
         resources.put(ResourceType.WOOD, resources.get(ResourceType.WOOD) + reward.getWood());
         resources.put(ResourceType.STONE, resources.get(ResourceType.STONE) + reward.getStone());
         resources.put(ResourceType.GOLD, resources.get(ResourceType.GOLD) + reward.getGold());
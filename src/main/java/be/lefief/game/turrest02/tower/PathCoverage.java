@@ -0,0 +1,229 @@
+package be.lefief.game.turrest02.tower;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Path-index ranges of a section's creep path that lie within a tower's range.
+ * <p>
+ * Towers never move and creeps never leave their path, so this is computed
+ * once when the tower is placed. A creep with path index {@code i} is walking
+ * the segment from path point {@code i - 1} (or the spawner) to path point
+ * {@code i}; that index counts as covered when any point of that segment is
+ * within shooting range, so no creep on an uncovered index is reachable.
+ * <p>
+ * A covered segment can still reach out of range, typically at the first and
+ * last index of a range. Those indices are recorded as partial, and
+ * {@link #reaches} checks the exact distance for creeps on them; creeps on
+ * fully covered indices need no distance check.
+ * <p>
+ * The covered indices are also kept ordered by how close their segment comes
+ * to the tower, so a nearest-creep search can stop early.
+ */
+public class PathCoverage {
+
+    public static final PathCoverage EMPTY = new PathCoverage(new int[0], new int[0], new int[0], new double[0], 0, 0, 0);
+
+    // Flattened inclusive [start, end] pairs in ascending order
+    private final int[] ranges;
+    // Covered indices whose segment leaves the range, ascending
+    private final int[] partial;
+    // Covered indices by ascending closest distance of their segment, and that distance squared
+    private final int[] byDistance;
+    private final double[] distanceSq;
+    private final double centerX;
+    private final double centerY;
+    private final double rangeSq;
+
+    private PathCoverage(int[] ranges, int[] partial, int[] byDistance, double[] distanceSq,
+                         double centerX, double centerY, double rangeSq) {
+        this.ranges = ranges;
+        this.partial = partial;
+        this.byDistance = byDistance;
+        this.distanceSq = distanceSq;
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.rangeSq = rangeSq;
+    }
+
+    /**
+     * Compute which path indices fall inside a circle around (centerX, centerY).
+     */
+    public static PathCoverage compute(double centerX, double centerY, double range,
+                                       List<Point> path, Point spawner) {
+        if (path.isEmpty() || spawner == null) {
+            return EMPTY;
+        }
+
+        int[] ranges = new int[8];
+        int count = 0;
+        int[] partial = new int[8];
+        int partialCount = 0;
+        int[] coveredIndices = new int[8];
+        double[] coveredDistanceSq = new double[8];
+        int coveredCount = 0;
+        int runStart = -1;
+        double rangeSq = range * range;
+        Point previous = spawner;
+
+        for (int i = 0; i < path.size(); i++) {
+            Point current = path.get(i);
+            double segmentDistanceSq = distanceSqToSegment(centerX, centerY, previous, current);
+            boolean covered = segmentDistanceSq <= rangeSq;
+            if (covered) {
+                if (coveredCount == coveredIndices.length) {
+                    coveredIndices = Arrays.copyOf(coveredIndices, coveredCount * 2);
+                    coveredDistanceSq = Arrays.copyOf(coveredDistanceSq, coveredCount * 2);
+                }
+                coveredIndices[coveredCount] = i;
+                coveredDistanceSq[coveredCount++] = segmentDistanceSq;
+            }
+            // The range is convex: a segment is fully inside when both of its ends are
+            if (covered && !(distanceSqToPoint(centerX, centerY, previous) <= rangeSq
+                    && distanceSqToPoint(centerX, centerY, current) <= rangeSq)) {
+                if (partialCount == partial.length) {
+                    partial = Arrays.copyOf(partial, partial.length * 2);
+                }
+                partial[partialCount++] = i;
+            }
+
+            if (covered && runStart < 0) {
+                runStart = i;
+            } else if (!covered && runStart >= 0) {
+                if (count + 2 > ranges.length) {
+                    ranges = Arrays.copyOf(ranges, ranges.length * 2);
+                }
+                ranges[count++] = runStart;
+                ranges[count++] = i - 1;
+                runStart = -1;
+            }
+            previous = current;
+        }
+        if (runStart >= 0) {
+            if (count + 2 > ranges.length) {
+                ranges = Arrays.copyOf(ranges, ranges.length + 2);
+            }
+            ranges[count++] = runStart;
+            ranges[count++] = path.size() - 1;
+        }
+
+        // Few indices and computed once per tower, so a plain insertion sort does
+        int[] byDistance = Arrays.copyOf(coveredIndices, coveredCount);
+        double[] distanceSq = Arrays.copyOf(coveredDistanceSq, coveredCount);
+        for (int k = 1; k < coveredCount; k++) {
+            int index = byDistance[k];
+            double d = distanceSq[k];
+            int j = k - 1;
+            while (j >= 0 && distanceSq[j] > d) {
+                byDistance[j + 1] = byDistance[j];
+                distanceSq[j + 1] = distanceSq[j];
+                j--;
+            }
+            byDistance[j + 1] = index;
+            distanceSq[j + 1] = d;
+        }
+
+        return new PathCoverage(Arrays.copyOf(ranges, count), Arrays.copyOf(partial, partialCount),
+                byDistance, distanceSq, centerX, centerY, rangeSq);
+    }
+
+    private static double distanceSqToPoint(double x, double y, Point tile) {
+        double dx = tile.x + 0.5 - x;
+        double dy = tile.y + 0.5 - y;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Squared distance from (x, y) to the closest point of the segment between two tile centers.
+     */
+    private static double distanceSqToSegment(double x, double y, Point from, Point to) {
+        double ax = from.x + 0.5;
+        double ay = from.y + 0.5;
+        double sx = to.x - from.x;
+        double sy = to.y - from.y;
+        double lengthSq = sx * sx + sy * sy;
+        double t = lengthSq == 0 ? 0 : ((x - ax) * sx + (y - ay) * sy) / lengthSq;
+        t = Math.max(0, Math.min(1, t));
+        double dx = ax + t * sx - x;
+        double dy = ay + t * sy - y;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Number of disjoint covered ranges.
+     */
+    public int rangeCount() {
+        return ranges.length / 2;
+    }
+
+    public int rangeStart(int range) {
+        return ranges[range * 2];
+    }
+
+    public int rangeEnd(int range) {
+        return ranges[range * 2 + 1];
+    }
+
+    public boolean isEmpty() {
+        return ranges.length == 0;
+    }
+
+    public boolean covers(int pathIndex) {
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (pathIndex >= ranges[i] && pathIndex <= ranges[i + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Number of covered path indices.
+     */
+    public int coveredCount() {
+        return byDistance.length;
+    }
+
+    /**
+     * The {@code k}-th covered path index, nearest segment first.
+     */
+    public int nearestIndex(int k) {
+        return byDistance[k];
+    }
+
+    /**
+     * Squared closest distance between the tower and the segment of {@link #nearestIndex(int)}.
+     * No creep on that index is nearer.
+     */
+    public double nearestDistanceSq(int k) {
+        return distanceSq[k];
+    }
+
+    /**
+     * Squared distance from the tower to a point.
+     */
+    public double distanceSq(double x, double y) {
+        double dx = x - centerX;
+        double dy = y - centerY;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Whether the index is covered but its segment is not entirely within range.
+     */
+    public boolean isPartial(int pathIndex) {
+        return Arrays.binarySearch(partial, pathIndex) >= 0;
+    }
+
+    /**
+     * Whether a creep at (x, y) on the given path index is within range. Only creeps on
+     * partial indices pay for a distance check.
+     */
+    public boolean reaches(int pathIndex, double x, double y) {
+        if (!covers(pathIndex)) {
+            return false;
+        }
+        return !isPartial(pathIndex) || distanceSq(x, y) <= rangeSq;
+    }
+}
@@ -0,0 +1,189 @@
+package be.lefief.game.turrest02.tower;
+
+import be.lefief.game.turrest02.creep.CreepPool;
+import be.lefief.game.turrest02.creep.PathBuckets;
+
+/**
+ * How a tower picks its next target among the creeps inside its path coverage.
+ * Creeps on partially covered indices are only picked when they are within range.
+ * <p>
+ * No strategy scans every creep in range: FIRST and LAST stop at the first
+ * occupied bucket, STRONGEST and WEAKEST read the per-bucket HP extremes that
+ * {@link PathBuckets} shares between all towers of a section, and CLOSEST walks
+ * buckets nearest first and stops once no nearer creep can exist. Only the
+ * partially covered buckets at the edges of a range are scanned creep by creep.
+ * Towers also keep their target while it stays in range, so this only runs
+ * when a target dies or walks out.
+ */
+public enum TargetingStrategy {
+
+    /**
+     * Creep furthest along the path (closest to the castle).
+     */
+    FIRST {
+        @Override
+        int selectTarget(Tower tower, CreepPool pool, PathBuckets buckets) {
+            PathCoverage coverage = tower.getPathCoverage();
+            for (int range = coverage.rangeCount() - 1; range >= 0; range--) {
+                for (int i = coverage.rangeEnd(range); i >= coverage.rangeStart(range); i--) {
+                    int slot = byProgress(coverage, pool, buckets, i, true);
+                    if (slot != PathBuckets.NONE) {
+                        return slot;
+                    }
+                }
+            }
+            return PathBuckets.NONE;
+        }
+    },
+
+    /**
+     * Creep least far along the path (closest to the spawner).
+     */
+    LAST {
+        @Override
+        int selectTarget(Tower tower, CreepPool pool, PathBuckets buckets) {
+            PathCoverage coverage = tower.getPathCoverage();
+            for (int range = 0; range < coverage.rangeCount(); range++) {
+                for (int i = coverage.rangeStart(range); i <= coverage.rangeEnd(range); i++) {
+                    int slot = byProgress(coverage, pool, buckets, i, false);
+                    if (slot != PathBuckets.NONE) {
+                        return slot;
+                    }
+                }
+            }
+            return PathBuckets.NONE;
+        }
+    },
+
+    /**
+     * Creep with the most hitpoints left.
+     */
+    STRONGEST {
+        @Override
+        int selectTarget(Tower tower, CreepPool pool, PathBuckets buckets) {
+            return selectByHitpoints(tower, pool, buckets, true);
+        }
+    },
+
+    /**
+     * Creep with the fewest hitpoints left.
+     */
+    WEAKEST {
+        @Override
+        int selectTarget(Tower tower, CreepPool pool, PathBuckets buckets) {
+            return selectByHitpoints(tower, pool, buckets, false);
+        }
+    },
+
+    /**
+     * Creep nearest to the tower.
+     */
+    CLOSEST {
+        @Override
+        int selectTarget(Tower tower, CreepPool pool, PathBuckets buckets) {
+            PathCoverage coverage = tower.getPathCoverage();
+            int best = PathBuckets.NONE;
+            double bestDistanceSq = Double.POSITIVE_INFINITY;
+
+            for (int k = 0; k < coverage.coveredCount(); k++) {
+                if (coverage.nearestDistanceSq(k) > bestDistanceSq) {
+                    break; // every remaining segment is further away than the best creep
+                }
+                int i = coverage.nearestIndex(k);
+                for (int slot = buckets.head(i); slot != PathBuckets.NONE; slot = buckets.next(slot)) {
+                    if (!inRange(coverage, pool, i, slot)) continue;
+                    double distanceSq = coverage.distanceSq(pool.getX(slot), pool.getY(slot));
+                    if (distanceSq < bestDistanceSq
+                            || (distanceSq == bestDistanceSq && pool.getProgress(slot) > pool.getProgress(best))) {
+                        bestDistanceSq = distanceSq;
+                        best = slot;
+                    }
+                }
+            }
+            return best;
+        }
+    };
+
+    /**
+     * Pick a target for the tower.
+     *
+     * @return pool slot of the target, or {@link PathBuckets#NONE}
+     */
+    abstract int selectTarget(Tower tower, CreepPool pool, PathBuckets buckets);
+
+    /**
+     * Strongest or weakest live creep in the tower's coverage.
+     * Ties go to the creep furthest along the path.
+     */
+    private static int selectByHitpoints(Tower tower, CreepPool pool, PathBuckets buckets, boolean strongest) {
+        PathCoverage coverage = tower.getPathCoverage();
+        int best = PathBuckets.NONE;
+
+        for (int range = coverage.rangeCount() - 1; range >= 0; range--) {
+            for (int i = coverage.rangeEnd(range); i >= coverage.rangeStart(range); i--) {
+                if (!coverage.isPartial(i)) {
+                    int slot = strongest ? buckets.strongest(i) : buckets.weakest(i);
+                    if (slot != PathBuckets.NONE && beats(pool, slot, best, strongest)) {
+                        best = slot;
+                    }
+                    continue;
+                }
+                for (int slot = buckets.head(i); slot != PathBuckets.NONE; slot = buckets.next(slot)) {
+                    if (inRange(coverage, pool, i, slot) && beats(pool, slot, best, strongest)) {
+                        best = slot;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Whether {@code slot} has strictly more (or fewer) hitpoints than {@code best}. Buckets are
+     * visited furthest first, so keeping the earlier one on a tie favours the creep further along.
+     */
+    private static boolean beats(CreepPool pool, int slot, int best, boolean strongest) {
+        if (best == PathBuckets.NONE) {
+            return true;
+        }
+        int hp = pool.getHitpoints(slot);
+        int bestHp = pool.getHitpoints(best);
+        return strongest ? hp > bestHp : hp < bestHp;
+    }
+
+    /**
+     * Live creep in range in the bucket that is furthest along (or least far along).
+     */
+    private static int byProgress(PathCoverage coverage, CreepPool pool, PathBuckets buckets, int pathIndex,
+                                  boolean furthest) {
+        int best = PathBuckets.NONE;
+        for (int slot = buckets.head(pathIndex); slot != PathBuckets.NONE; slot = buckets.next(slot)) {
+            if (!inRange(coverage, pool, pathIndex, slot)) continue;
+            if (best == PathBuckets.NONE
+                    || (furthest ? pool.getProgress(slot) > pool.getProgress(best)
+                                 : pool.getProgress(slot) < pool.getProgress(best))) {
+                best = slot;
+            }
+        }
+        return best;
+    }
+
+    private static boolean inRange(PathCoverage coverage, CreepPool pool, int pathIndex, int slot) {
+        return !pool.isDead(slot) && coverage.reaches(pathIndex, pool.getX(slot), pool.getY(slot));
+    }
+
+    /**
+     * Get a strategy by name (case-insensitive), or null if unknown.
+     */
+    public static TargetingStrategy fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        for (TargetingStrategy strategy : values()) {
+            if (strategy.name().equalsIgnoreCase(name.trim())) {
+                return strategy;
+            }
+        }
+        return null;
+    }
+}
@@ -16,6 +16,12 @@ public abstract class Tower {
     private final int tileX;
     private final int tileY;
     private int cooldownTicksRemaining;
+    private PathCoverage pathCoverage = PathCoverage.EMPTY;
+    private TargetingStrategy targeting;  // null = definition default
+
+    // Sticky target (creep pool slot + id to detect slot reuse)
+    private int stickyTargetSlot = -1;
+    private int stickyTargetId;
 
     public Tower(int ownerPlayerNumber, int tileX, int tileY) {
         this.id = UUID.randomUUID();
@@ -88,6 +94,37 @@ public abstract class Tower {
         cooldownTicksRemaining = Math.max(0, cooldownTicksRemaining - 1);
     }
 
+    /**
+     * Targeting strategy in effect: the player's choice, or the definition default.
+     */
+    public TargetingStrategy getTargeting() {
+        TargetingStrategy chosen = targeting;
+        return chosen != null ? chosen : getDefinition().getDefaultTargeting();
+    }
+
+    /**
+     * Change the targeting strategy (player choice). Drops the current sticky target.
+     */
+    public void setTargeting(TargetingStrategy targeting) {
+        this.targeting = targeting;
+        this.stickyTargetSlot = -1;
+    }
+
+    /**
+     * Remember the creep this tower is locked onto.
+     */
+    void rememberTarget(int slot, int creepId) {
+        this.stickyTargetSlot = slot;
+        this.stickyTargetId = creepId;
+    }
+
+    /**
+     * Set the precomputed path-index ranges this tower can reach (on placement).
+     */
+    void setPathCoverage(PathCoverage pathCoverage) {
+        this.pathCoverage = pathCoverage;
+    }
+
     /**
      * Get center X position of tower (for distance calculations).
      */
@@ -1,6 +1,6 @@
 package be.lefief.game.turrest02.tower;
 
-import be.lefief.game.turrest02.creep.Creep;
+import be.lefief.game.turrest02.creep.CreepPool;
 import lombok.Getter;
 
 /**
@@ -10,7 +10,7 @@ import lombok.Getter;
 public class TowerAttack {
 
     private final Tower tower;
-    private final Creep target;
+    private final int targetCreepId;
     private final double towerX;
     private final double towerY;
     private final double targetX;
@@ -18,13 +18,13 @@ public class TowerAttack {
     private final int damage;
     private final String bulletType;
 
-    public TowerAttack(Tower tower, Creep target) {
+    public TowerAttack(Tower tower, CreepPool pool, int targetSlot) {
         this.tower = tower;
-        this.target = target;
+        this.targetCreepId = pool.getId(targetSlot);
         this.towerX = tower.getCenterX();
         this.towerY = tower.getCenterY();
-        this.targetX = target.getX();
-        this.targetY = target.getY();
+        this.targetX = pool.getX(targetSlot);
+        this.targetY = pool.getY(targetSlot);
         this.damage = tower.getBulletDamage();
         this.bulletType = tower.getBulletType();
     }
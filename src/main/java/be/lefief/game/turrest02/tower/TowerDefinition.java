@@ -22,7 +22,8 @@ public enum TowerDefinition {
             List.of(TerrainType.GRASS, TerrainType.DIRT),
             0.0,           // splashRadius (0 = no splash)
             0.0,           // slowFactor (0 = no slow)
-            0),            // slowDurationMs
+            0,             // slowDurationMs
+            TargetingStrategy.FIRST),  // defaultTargeting
 
     SNIPER_TOWER(2, "Sniper Tower",
             5.0,           // shootingRange - long range
@@ -31,7 +32,8 @@ public enum TowerDefinition {
             "SNIPER",      // bulletType
             new ResourceCost(60, 150, 200),
             List.of(TerrainType.GRASS, TerrainType.ROCKY),
-            0.0, 0.0, 0),
+            0.0, 0.0, 0,
+            TargetingStrategy.FIRST),
 
     SPLASH_TOWER(3, "Splash Tower",
             2.5,           // shootingRange - medium
@@ -41,7 +43,8 @@ public enum TowerDefinition {
             new ResourceCost(120, 120, 150),
             List.of(TerrainType.GRASS, TerrainType.DIRT),
             1.0,           // splashRadius - hits all creeps in 1 tile radius
-            0.0, 0),
+            0.0, 0,
+            TargetingStrategy.FIRST),
 
     SLOW_TOWER(4, "Slow Tower",
             2.5,           // shootingRange - medium (buffed from 2)
@@ -52,7 +55,8 @@ public enum TowerDefinition {
             List.of(TerrainType.GRASS, TerrainType.FOREST),
             0.0,
             0.5,           // slowFactor - 50% speed reduction
-            2500),         // slowDurationMs - 2.5 seconds (buffed)
+            2500,          // slowDurationMs - 2.5 seconds (buffed)
+            TargetingStrategy.FIRST),
 
     RAPID_TOWER(5, "Rapid Tower",
             2.0,           // shootingRange - short
@@ -61,7 +65,8 @@ public enum TowerDefinition {
             "RAPID",       // bulletType
             new ResourceCost(100, 80, 100),  // slightly increased cost
             List.of(TerrainType.GRASS, TerrainType.DIRT),
-            0.0, 0.0, 0);
+            0.0, 0.0, 0,
+            TargetingStrategy.FIRST);
 
     private final int id;
     private final String name;
@@ -74,11 +79,12 @@ public enum TowerDefinition {
     private final double splashRadius;
     private final double slowFactor;
     private final int slowDurationMs;
+    private final TargetingStrategy defaultTargeting;
 
     TowerDefinition(int id, String name, double shootingRange, int cooldownMs,
                     int bulletDamage, String bulletType, ResourceCost cost,
                     List<TerrainType> allowedTerrains, double splashRadius,
-                    double slowFactor, int slowDurationMs) {
+                    double slowFactor, int slowDurationMs, TargetingStrategy defaultTargeting) {
         this.id = id;
         this.name = name;
         this.shootingRange = shootingRange;
@@ -90,6 +96,7 @@ public enum TowerDefinition {
         this.splashRadius = splashRadius;
         this.slowFactor = slowFactor;
         this.slowDurationMs = slowDurationMs;
+        this.defaultTargeting = defaultTargeting;
     }
 
     /**
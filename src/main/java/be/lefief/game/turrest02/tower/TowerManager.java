@@ -1,30 +1,47 @@
 package be.lefief.game.turrest02.tower;
 
+import be.lefief.game.turrest02.SectionTasks;
 import be.lefief.game.turrest02.TurrestGameMode02;
 import be.lefief.game.turrest02.commands.BatchedTowerAttackCommand;
-import be.lefief.game.turrest02.creep.Creep;
+import be.lefief.game.turrest02.creep.CreepGrid;
 import be.lefief.game.turrest02.creep.CreepManager;
+import be.lefief.game.turrest02.creep.CreepPool;
+import be.lefief.game.turrest02.creep.PathBuckets;
+import be.lefief.util.IntList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages all towers in the game.
  * Handles tower targeting, firing, and cooldowns.
+ * Only used from the game's tick thread; section tasks read the tower lists but never change them.
  */
 public class TowerManager {
 
     private static final Logger LOG = LoggerFactory.getLogger(TowerManager.class);
+    private static final int NO_TARGET = PathBuckets.NONE;
 
-    private final Map<UUID, Tower> towers = new ConcurrentHashMap<>();
+    // Placement order, so iteration (resyncs, bots) is deterministic
+    private final Map<UUID, Tower> towers = new LinkedHashMap<>();
     private final CreepManager creepManager;
     private final int tickRateMs;
+    // Per-section towers in placement order, and per-section scratch for the section tasks
+    private final List<List<Tower>> sectionTowers = new ArrayList<>();
+    private final List<List<TowerAttack>> sectionAttacks = new ArrayList<>();
+    private final IntList[] sectionSplash;
 
     public TowerManager(CreepManager creepManager, int tickRateMs) {
         this.creepManager = creepManager;
         this.tickRateMs = tickRateMs;
+        int sectionCount = creepManager.getSectionCount();
+        this.sectionSplash = new IntList[sectionCount];
+        for (int i = 0; i < sectionCount; i++) {
+            sectionTowers.add(new ArrayList<>());
+            sectionAttacks.add(new ArrayList<>());
+            sectionSplash[i] = new IntList();
+        }
         LOG.info("TowerManager initialized with tick rate {}ms", tickRateMs);
     }
 
@@ -32,7 +49,15 @@ public class TowerManager {
      * Register a new tower.
      */
     public void addTower(Tower tower) {
+        // Precompute which stretch of the owner's creep path this tower reaches
+        int owner = tower.getOwnerPlayerNumber();
+        tower.setPathCoverage(PathCoverage.compute(
+                tower.getCenterX(), tower.getCenterY(), tower.getShootingRange(),
+                creepManager.getSectionPath(owner), creepManager.getSpawnerPosition(owner)));
         towers.put(tower.getId(), tower);
+        if (owner >= 0 && owner < sectionTowers.size()) {
+            sectionTowers.get(owner).add(tower);
+        }
         LOG.debug("Tower {} added at ({}, {}) for player {}",
                 tower.getId(), tower.getTileX(), tower.getTileY(), tower.getOwnerPlayerNumber());
     }
@@ -43,6 +68,10 @@ public class TowerManager {
     public void removeTower(UUID towerId) {
         Tower removed = towers.remove(towerId);
         if (removed != null) {
+            int owner = removed.getOwnerPlayerNumber();
+            if (owner >= 0 && owner < sectionTowers.size()) {
+                sectionTowers.get(owner).remove(removed);
+            }
             LOG.debug("Tower {} removed", towerId);
         }
     }
@@ -76,18 +105,41 @@ public class TowerManager {
 
     /**
      * Process one game tick - update cooldowns, find targets, fire.
+     * Sections are processed independently (in parallel for big games) and
+     * their attacks merged in section order before broadcasting.
      */
     public void tick(TurrestGameMode02 game) {
+        CreepPool pool = creepManager.getCreepPool();
+        int workload = pool.size() + towers.size();
+        SectionTasks.forEachSection(sectionTowers.size(), workload, section -> tickSection(section, pool));
+
         List<TowerAttack> attacks = new ArrayList<>();
+        for (List<TowerAttack> section : sectionAttacks) {
+            attacks.addAll(section);
+        }
 
-        for (Tower tower : towers.values()) {
+        // Broadcast all attacks in single batched command
+        if (!attacks.isEmpty()) {
+            game.broadcastToAllPlayers(new BatchedTowerAttackCommand(attacks, game.getClock().getTick()));
+        }
+    }
+
+    /**
+     * Fire the towers of one section. May run in parallel with other sections.
+     */
+    private void tickSection(int section, CreepPool pool) {
+        List<TowerAttack> attacks = sectionAttacks.get(section);
+        IntList splashScratch = sectionSplash[section];
+        attacks.clear();
+
+        for (Tower tower : sectionTowers.get(section)) {
             // Decrement cooldown
             tower.tickCooldown();
 
             // Check if tower can fire
             if (tower.canFire()) {
-                Creep target = findTarget(tower);
-                if (target != null) {
+                int target = findTarget(tower, pool);
+                if (target != NO_TARGET) {
                     // Fire!
                     tower.fire(tickRateMs);
 
@@ -95,101 +147,64 @@ public class TowerManager {
 
                     // Handle splash damage
                     if (def.hasSplash()) {
-                        List<Creep> splashTargets = findCreepsInRadius(tower, target, def.getSplashRadius());
-                        for (Creep splashTarget : splashTargets) {
-                            splashTarget.takeDamage(tower.getBulletDamage());
+                        CreepGrid grid = creepManager.getSectionGrid(section);
+                        splashScratch.clear();
+                        grid.forEachInRadius(pool.getX(target), pool.getY(target), def.getSplashRadius(),
+                                splashScratch::add);
+                        for (int i = 0; i < splashScratch.size(); i++) {
+                            pool.takeDamage(splashScratch.get(i), tower.getBulletDamage());
                         }
                         LOG.trace("Tower {} splash hit {} creeps for {} damage",
-                                tower.getId(), splashTargets.size(), tower.getBulletDamage());
+                                tower.getId(), splashScratch.size(), tower.getBulletDamage());
                     } else {
-                        target.takeDamage(tower.getBulletDamage());
+                        pool.takeDamage(target, tower.getBulletDamage());
                     }
 
                     // Handle slow effect
                     if (def.hasSlow()) {
-                        target.applySlow(def.getSlowFactor(), def.getSlowDurationMs());
+                        pool.applySlow(target, def.getSlowFactor(), def.getSlowDurationMs());
                         LOG.trace("Tower {} slowed creep {} by {}% for {}ms",
-                                tower.getId(), target.getId(),
+                                tower.getId(), pool.getId(target),
                                 (int)(def.getSlowFactor() * 100), def.getSlowDurationMs());
                     }
 
-                    attacks.add(new TowerAttack(tower, target));
+                    attacks.add(new TowerAttack(tower, pool, target));
 
                     LOG.trace("Tower {} fired at creep {}, dealt {} damage (HP: {})",
-                            tower.getId(), target.getId(), tower.getBulletDamage(), target.getHitpoints());
+                            tower.getId(), pool.getId(target), tower.getBulletDamage(), pool.getHitpoints(target));
                 }
             }
         }
-
-        // Broadcast all attacks in single batched command
-        if (!attacks.isEmpty()) {
-            game.broadcastToAllPlayers(new BatchedTowerAttackCommand(attacks));
-        }
     }
 
     /**
-     * Find all creeps within a radius of the target creep (for splash damage).
-     */
-    private List<Creep> findCreepsInRadius(Tower tower, Creep center, double radius) {
-        List<Creep> targets = new ArrayList<>();
-        for (Creep creep : creepManager.getActiveCreeps()) {
-            if (creep.isDead()) continue;
-            if (creep.getOwnerPlayerNumber() != tower.getOwnerPlayerNumber()) continue;
-
-            double dx = center.getX() - creep.getX();
-            double dy = center.getY() - creep.getY();
-            double distance = Math.sqrt(dx * dx + dy * dy);
-
-            if (distance <= radius) {
-                targets.add(creep);
-            }
-        }
-        return targets;
-    }
-
-    /**
-     * Find target using FURTHEST strategy:
-     * Target the creep closest to the castle (highest path index) that is within range.
+     * Find a target for the tower.
+     * Keeps the previous target while it is alive and still within range;
+     * otherwise asks the tower's targeting strategy for a new one.
      * Only targets creeps on the tower owner's section.
+     *
+     * @return pool slot of the target, or {@link #NO_TARGET}
      */
-    private Creep findTarget(Tower tower) {
-        Creep bestTarget = null;
-        int highestPathIndex = -1;
-
-        for (Creep creep : creepManager.getActiveCreeps()) {
-            // Skip dead creeps
-            if (creep.isDead()) {
-                continue;
-            }
-
-            // Only target creeps on this tower's owner's section
-            if (creep.getOwnerPlayerNumber() != tower.getOwnerPlayerNumber()) {
-                continue;
-            }
-
-            // Check if in range
-            if (!isInRange(tower, creep)) {
-                continue;
-            }
-
-            // FURTHEST strategy: highest path index = closest to castle
-            if (creep.getCurrentPathIndex() > highestPathIndex) {
-                highestPathIndex = creep.getCurrentPathIndex();
-                bestTarget = creep;
-            }
+    static int findTarget(Tower tower, CreepPool pool) {
+        PathBuckets buckets = pool.getSectionBuckets(tower.getOwnerPlayerNumber());
+        PathCoverage coverage = tower.getPathCoverage();
+        if (buckets == null || coverage.isEmpty()) {
+            return NO_TARGET;
         }
 
-        return bestTarget;
-    }
+        int sticky = tower.getStickyTargetSlot();
+        if (sticky != NO_TARGET
+                && pool.isActive(sticky)
+                && pool.getId(sticky) == tower.getStickyTargetId()
+                && !pool.isDead(sticky)
+                && !pool.hasReachedCastle(sticky)
+                && coverage.reaches(pool.getCurrentPathIndex(sticky), pool.getX(sticky), pool.getY(sticky))) {
+            return sticky;
+        }
 
-    /**
-     * Check if a creep is within tower's shooting range.
-     */
-    private boolean isInRange(Tower tower, Creep creep) {
-        double dx = tower.getCenterX() - creep.getX();
-        double dy = tower.getCenterY() - creep.getY();
-        double distance = Math.sqrt(dx * dx + dy * dy);
-        return distance <= tower.getShootingRange();
+        int target = tower.getTargeting().selectTarget(tower, pool, buckets);
+        tower.rememberTarget(target, target != NO_TARGET ? pool.getId(target) : 0);
+        return target;
     }
 
     /**
@@ -12,6 +12,6 @@ public class Wave {
 
     public Wave(int tick, List<CreepType> creeps) {
         this.tick = tick;
-        this.creeps = creeps;
+        this.creeps = List.copyOf(creeps);
     }
 }
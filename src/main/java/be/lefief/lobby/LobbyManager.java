@@ -1,6 +1,7 @@
 package be.lefief.lobby;
 
-import be.lefief.sockets.SocketHandler;
+import be.lefief.sockets.ClientSession;
+import be.lefief.sockets.PreparedMessage;
 import be.lefief.sockets.commands.ClientToServerCommand;
 import be.lefief.sockets.commands.ServerToClientCommand;
 import be.lefief.sockets.handlers.routing.CommandRouter;
@@ -11,34 +12,33 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.net.Socket;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 @Service
 public class LobbyManager implements SocketConnectionAcceptor {
     private static final Logger LOG = LoggerFactory.getLogger(LobbyManager.class);
-    private final List<SocketHandler> clientsInLobby;
+    // Joined and left from the transports' threads, iterated on every broadcast
+    private final List<ClientSession> clientsInLobby;
     public LobbyManager() {
-        this.clientsInLobby = new ArrayList<>();
+        this.clientsInLobby = new CopyOnWriteArrayList<>();
     }
     @Override
-    public void accept(Socket socket, CommandRouter commandRouter) {
-        LOG.info("Client connected to lobby: {}", socket.getInetAddress());
-        SocketHandler socketHandler = new SocketHandler(socket);
-        socketHandler.setOnClose(onClose(socketHandler));
-        socketHandler.setOnMessage(ClientCommandConsumer.createCommandConsumer(socketHandler, commandRouter));
-        clientsInLobby.add(socketHandler);
-        new Thread(socketHandler::run).start();
+    public void register(ClientSession session, CommandRouter commandRouter) {
+        session.setOnClose(onClose(session));
+        session.setOnMessage(ClientCommandConsumer.createCommandConsumer(session, commandRouter));
+        clientsInLobby.add(session);
     }
 
-    private Runnable onClose(SocketHandler socketHandler) {
-        return () -> clientsInLobby.remove(socketHandler);
+    private Runnable onClose(ClientSession session) {
+        return () -> clientsInLobby.remove(session);
     }
 
     public void emitGlobalMessage(ServerToClientCommand serverToClientCommand) {
-        clientsInLobby.forEach(client -> client.sendCommand(serverToClientCommand));
+        PreparedMessage message = PreparedMessage.of(serverToClientCommand);
+        clientsInLobby.forEach(client -> client.sendPrepared(message));
     }
-    public List<SocketHandler> getClientsInLobby(){
+    public List<ClientSession> getClientsInLobby(){
         return clientsInLobby;
     }
 
@@ -1,11 +1,14 @@
 package be.lefief.lobby;
 
+import be.lefief.sockets.ClientSession;
 import be.lefief.sockets.handlers.routing.CommandRouter;
 
-import java.net.Socket;
-
 public interface SocketConnectionAcceptor {
 
-    void accept(Socket socket, CommandRouter commandRouter);
+    /**
+     * Wire up a session whose transport already handles its own I/O (e.g. the NIO server).
+     * Called before the session starts reading.
+     */
+    void register(ClientSession session, CommandRouter commandRouter);
 
 }
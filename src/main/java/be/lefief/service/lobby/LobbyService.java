@@ -3,8 +3,8 @@ package be.lefief.service.lobby;
 import be.lefief.lobby.Lobby;
 import be.lefief.lobby.SocketConnectionAcceptor;
 import be.lefief.sockets.ClientSession;
+import be.lefief.sockets.PreparedMessage;
 import be.lefief.sockets.SecuredClientToServerCommand;
-import be.lefief.sockets.SocketHandler;
 import be.lefief.sockets.commands.ServerToClientCommand;
 import be.lefief.sockets.commands.client.emission.CreateLobbyCommand;
 import be.lefief.sockets.commands.client.emission.JoinLobbyCommand;
@@ -15,27 +15,28 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.net.Socket;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class LobbyService implements SocketConnectionAcceptor {
 
     private static final Logger LOG = LoggerFactory.getLogger(LobbyService.class);
     // Simplified: one session per user (userId -> session)
+    // Changed from every transport's threads (WebSocket handlers, NIO loops and handler pools)
     private final Map<UUID, ClientSession> identifiedClients;
-    private final List<ClientSession> unidentifiedClients;
+    private final Set<ClientSession> unidentifiedClients;
     private final Map<UUID, Lobby> lobbyHosts;
 
     public LobbyService() {
-        this.lobbyHosts = new HashMap<>();
-        this.identifiedClients = new HashMap<>();
-        this.unidentifiedClients = new ArrayList<>();
+        this.lobbyHosts = new ConcurrentHashMap<>();
+        this.identifiedClients = new ConcurrentHashMap<>();
+        this.unidentifiedClients = ConcurrentHashMap.newKeySet();
     }
 
     public Lobby getLobby(UUID lobbyID) {
-        return lobbyHosts.get(lobbyID);
+        return lobbyID == null ? null : lobbyHosts.get(lobbyID);
     }
 
     public boolean createLobby(SecuredClientToServerCommand<CreateLobbyCommand> command) {
@@ -67,7 +68,7 @@ public class LobbyService implements SocketConnectionAcceptor {
     }
 
     private boolean lobbyExists(UUID hostId) {
-        return lobbyHosts.containsKey(hostId);
+        return hostId != null && lobbyHosts.containsKey(hostId);
     }
 
     private void removeUserFromAllLobbies(UUID userId) {
@@ -114,7 +115,8 @@ public class LobbyService implements SocketConnectionAcceptor {
     }
 
     public void emitGlobalMessage(ServerToClientCommand serverToClientCommand) {
-        identifiedClients.values().forEach(client -> client.sendCommand(serverToClientCommand));
+        PreparedMessage message = PreparedMessage.of(serverToClientCommand);
+        identifiedClients.values().forEach(client -> client.sendPrepared(message));
     }
 
     public List<Lobby> getLobbies() {
@@ -128,13 +130,10 @@ public class LobbyService implements SocketConnectionAcceptor {
     }
 
     @Override
-    public void accept(Socket socket, CommandRouter commandRouter) {
-        LOG.info("Client connected to lobby: {}", socket.getInetAddress());
-        SocketHandler socketHandler = new SocketHandler(socket);
-        socketHandler.setOnClose(onClose(socketHandler));
-        socketHandler.setOnMessage(ClientCommandConsumer.createCommandConsumer(socketHandler, commandRouter));
-        unidentifiedClients.add(socketHandler);
-        new Thread(socketHandler::run).start();
+    public void register(ClientSession session, CommandRouter commandRouter) {
+        session.setOnClose(onClose(session));
+        session.setOnMessage(ClientCommandConsumer.createCommandConsumer(session, commandRouter));
+        unidentifiedClients.add(session);
     }
 
     public void emitLobbyMessage(UUID lobbyId, String message) {
@@ -151,10 +150,11 @@ public class LobbyService implements SocketConnectionAcceptor {
     public void emitLobbyCommand(UUID lobbyId, ServerToClientCommand serverToClientCommand) {
         Lobby lobby = lobbyHosts.get(lobbyId);
         if (lobby != null) {
+            PreparedMessage message = PreparedMessage.of(serverToClientCommand);
             lobby.getPlayerIds().forEach(playerId -> {
                 identifiedClients.values().stream()
                         .filter(session -> playerId.equals(session.getUserId()))
-                        .forEach(session -> session.sendCommand(serverToClientCommand));
+                        .forEach(session -> session.sendPrepared(message));
             });
         }
     }
@@ -183,6 +183,6 @@ public class LobbyService implements SocketConnectionAcceptor {
     }
 
     public ClientSession getClientSession(UUID playerId) {
-        return identifiedClients.get(playerId);
+        return playerId == null ? null : identifiedClients.get(playerId);
     }
 }
@@ -18,6 +18,11 @@ public interface ClientSession {
      */
     void sendCommand(ServerToClientCommand command);
 
+    /**
+     * Send a command that was already encoded for a broadcast.
+     */
+    void sendPrepared(PreparedMessage message);
+
     /**
      * Send a raw message string to the client.
      */
@@ -0,0 +1,149 @@
+package be.lefief.sockets;
+
+import be.lefief.sockets.commands.DeliveryPolicy;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Bounded queue of encoded frames waiting to be written to one client.
+ * <p>
+ * The queue is limited in messages and bytes. Queuing a {@link DeliveryPolicy#LATEST_ONLY}
+ * frame drops older queued frames of the same topic. When the client stays over the limits for
+ * {@link #OVERFLOW_GRACE_MS}, or more than twice the byte limit piles up, {@link #offer} reports
+ * that the session should be dropped: a client that cannot keep up is better off reconnecting and
+ * resyncing than getting an incomplete stream. {@link DeliveryPolicy#CRITICAL} frames are always
+ * accepted and never trigger that.
+ * <p>
+ * Game traffic arrives as per-tick frames. Those never embed {@link DeliveryPolicy#LATEST_ONLY}
+ * commands, which are queued on their own so superseding still applies to them.
+ * <p>
+ * Thread-safe: producers (game ticks, handlers) and the writer thread share it.
+ *
+ * @param <M> the transport's frame type
+ */
+public class OutboundQueue<M> {
+
+    public static final int MAX_MESSAGES = 512;
+    public static final long MAX_BYTES = 2L * 1024 * 1024;
+    public static final long OVERFLOW_GRACE_MS = 5000;
+
+    private final ArrayDeque<Entry<M>> entries = new ArrayDeque<>();
+    private final ToIntFunction<M> sizeOf;
+    private final LongSupplier clock;
+    private final int maxMessages;
+    private final long maxBytes;
+
+    private long queuedBytes;
+    private long overflowSinceMs = -1;  // -1 = within limits
+
+    // Counters
+    private long messagesSent;
+    private long bytesSent;
+    private long dropped;
+    private long overflowed;
+
+    public OutboundQueue(ToIntFunction<M> sizeOf) {
+        this(sizeOf, System::currentTimeMillis, MAX_MESSAGES, MAX_BYTES);
+    }
+
+    OutboundQueue(ToIntFunction<M> sizeOf, LongSupplier clock, int maxMessages, long maxBytes) {
+        this.sizeOf = sizeOf;
+        this.clock = clock;
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Queue a frame.
+     *
+     * @param topic the command topic, used to find superseded frames (may be null)
+     * @return false when the client has been over its limits for too long and should be disconnected
+     */
+    public synchronized boolean offer(M frame, String topic, DeliveryPolicy policy) {
+        if (policy == DeliveryPolicy.LATEST_ONLY) {
+            dropSuperseded(topic);
+        }
+        int size = sizeOf.applyAsInt(frame);
+        entries.addLast(new Entry<>(frame, topic, policy, size));
+        queuedBytes += size;
+
+        if (withinLimits()) {
+            overflowSinceMs = -1;
+            return true;
+        }
+        if (policy == DeliveryPolicy.CRITICAL) {
+            return true;
+        }
+        long now = clock.getAsLong();
+        if (overflowSinceMs < 0) {
+            overflowSinceMs = now;
+            overflowed++;
+        }
+        return now - overflowSinceMs < OVERFLOW_GRACE_MS && queuedBytes <= 2 * maxBytes;
+    }
+
+    /**
+     * Next frame to write, or null when the queue is empty.
+     */
+    public synchronized M poll() {
+        Entry<M> entry = entries.pollFirst();
+        if (entry == null) {
+            return null;
+        }
+        queuedBytes -= entry.size();
+        messagesSent++;
+        bytesSent += entry.size();
+        if (withinLimits()) {
+            overflowSinceMs = -1;
+        }
+        return entry.frame();
+    }
+
+    public synchronized boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Discard everything still queued, e.g. when the session is closed.
+     */
+    public synchronized void clear() {
+        dropped += entries.size();
+        entries.clear();
+        queuedBytes = 0;
+        overflowSinceMs = -1;
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(entries.size(), queuedBytes, messagesSent, bytesSent, dropped, overflowed);
+    }
+
+    private boolean withinLimits() {
+        return entries.size() <= maxMessages && queuedBytes <= maxBytes;
+    }
+
+    private void dropSuperseded(String topic) {
+        Iterator<Entry<M>> it = entries.iterator();
+        while (it.hasNext()) {
+            Entry<M> entry = it.next();
+            if (entry.policy() == DeliveryPolicy.LATEST_ONLY && Objects.equals(entry.topic(), topic)) {
+                it.remove();
+                queuedBytes -= entry.size();
+                dropped++;
+            }
+        }
+    }
+
+    private record Entry<M>(M frame, String topic, DeliveryPolicy policy, int size) {
+    }
+
+    /**
+     * Snapshot of a session's outbound counters. Sent counts are frames handed to the transport.
+     */
+    public record Stats(int queueDepth, long queuedBytes, long messagesSent, long bytesSent,
+                        long dropped, long overflowed) {
+    }
+}
@@ -0,0 +1,102 @@
+package be.lefief.sockets;
+
+import be.lefief.sockets.binary.BinaryEncodable;
+import be.lefief.sockets.commands.ServerToClientCommand;
+import be.lefief.util.CommandSerializer;
+import org.springframework.web.socket.TextMessage;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A server-to-client command encoded once and shared by every recipient of a broadcast.
+ * <p>
+ * Encoding is deferred until the first session actually needs the payload, so fan-outs
+ * that only reach bots never serialize at all. After that every session gets the same
+ * immutable string and {@link TextMessage}. Commands with a binary layout are encoded
+ * the same way, once, for the sessions that negotiated the binary protocol.
+ */
+public final class PreparedMessage {
+
+    private final ServerToClientCommand command;
+    private volatile TextMessage textMessage;
+    private volatile byte[] payloadBytes;
+    private volatile byte[] binaryFrame;
+
+    private PreparedMessage(ServerToClientCommand command) {
+        this.command = command;
+    }
+
+    public static PreparedMessage of(ServerToClientCommand command) {
+        return new PreparedMessage(command);
+    }
+
+    public ServerToClientCommand getCommand() {
+        return command;
+    }
+
+    /**
+     * The JSON payload, serialized on first use.
+     */
+    public String getPayload() {
+        TextMessage message = getTextMessage();
+        return message == null ? null : message.getPayload();
+    }
+
+    /**
+     * The JSON payload as UTF-8, encoded on first use, or null when the command could not be serialized.
+     * Callers must not modify the returned array.
+     */
+    public byte[] getPayloadBytes() {
+        byte[] bytes = payloadBytes;
+        if (bytes == null) {
+            String payload = getPayload();
+            if (payload == null) return null;
+            // Racing encoders produce equal arrays, either one may win
+            bytes = payload.getBytes(StandardCharsets.UTF_8);
+            payloadBytes = bytes;
+        }
+        return bytes;
+    }
+
+    /**
+     * The payload wrapped for a WebSocket send, or null when the command could not be serialized.
+     */
+    public TextMessage getTextMessage() {
+        TextMessage message = textMessage;
+        if (message == null) {
+            synchronized (this) {
+                message = textMessage;
+                if (message == null) {
+                    String payload = CommandSerializer.serialize(command);
+                    if (payload == null) return null;
+                    message = new TextMessage(payload);
+                    textMessage = message;
+                }
+            }
+        }
+        return message;
+    }
+
+    public boolean hasBinaryFrame() {
+        return command instanceof BinaryEncodable;
+    }
+
+    /**
+     * The binary frame, encoded on first use, or null when the command only has a JSON form.
+     * Callers must not modify the returned array.
+     */
+    public byte[] getBinaryFrame() {
+        if (!(command instanceof BinaryEncodable encodable)) return null;
+        byte[] frame = binaryFrame;
+        if (frame == null) {
+            synchronized (this) {
+                frame = binaryFrame;
+                if (frame == null) {
+                    frame = encodable.toBinaryFrame();
+                    binaryFrame = frame;
+                }
+            }
+        }
+        return frame;
+    }
+}
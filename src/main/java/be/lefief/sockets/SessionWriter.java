@@ -0,0 +1,198 @@
+package be.lefief.sockets;
+
+import be.lefief.sockets.commands.DeliveryPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Writes one session's {@link OutboundQueue} on a writer pool shared by all sessions.
+ * <p>
+ * A session is scheduled on the pool only while it has frames queued, and at most once at a time,
+ * which keeps its frames in order without a thread of its own. Each turn writes at most
+ * {@link #MAX_FRAMES_PER_TURN} frames and then requeues the session behind the others, so a busy
+ * game session cannot starve lobby sessions.
+ * <p>
+ * Writes are asynchronous: the pool thread only starts a write, and the transport's completion
+ * resumes the session on the pool. A client that does not take a frame within
+ * {@link #SEND_TIME_LIMIT_MS} makes the next {@link #offer} fail so the session gets closed; it never
+ * holds a pool thread while it stalls.
+ *
+ * @param <M> the transport's frame type
+ */
+public class SessionWriter<M> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SessionWriter.class);
+
+    public static final int THREADS = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+    public static final int MAX_FRAMES_PER_TURN = 64;
+    public static final long SEND_TIME_LIMIT_MS = 5000;
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final ExecutorService POOL = Executors.newFixedThreadPool(THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "session-writer-" + THREAD_COUNTER.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Non-blocking write of one frame to the transport.
+     */
+    @FunctionalInterface
+    public interface Transport<M> {
+
+        /**
+         * Start writing a frame and return without waiting for the client.
+         *
+         * @param done called exactly once when the frame is written, with the failure or null
+         */
+        void write(M frame, Consumer<Throwable> done);
+    }
+
+    private final OutboundQueue<M> queue;
+    private final Transport<M> transport;
+    private final LongSupplier clock;
+    private final long sendTimeLimitMs;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile long writeStartedMs = -1;  // -1 = no write in flight
+    private volatile boolean closed;
+
+    /**
+     * @param sizeOf    frame size for the queue's byte limit
+     * @param transport non-blocking write of one frame
+     */
+    public SessionWriter(ToIntFunction<M> sizeOf, Transport<M> transport) {
+        this(sizeOf, transport, System::currentTimeMillis, SEND_TIME_LIMIT_MS);
+    }
+
+    SessionWriter(ToIntFunction<M> sizeOf, Transport<M> transport, LongSupplier clock, long sendTimeLimitMs) {
+        this.queue = new OutboundQueue<>(sizeOf);
+        this.transport = transport;
+        this.clock = clock;
+        this.sendTimeLimitMs = sendTimeLimitMs;
+    }
+
+    /**
+     * Queue a frame for writing. Frames offered after {@link #close()} are ignored.
+     *
+     * @return false when the client has fallen too far behind, or has not taken the frame in flight
+     * within the send time limit, and the session should be closed
+     */
+    public boolean offer(M frame, String topic, DeliveryPolicy policy) {
+        if (closed) {
+            return true;
+        }
+        if (isStalled()) {
+            return false;
+        }
+        if (!queue.offer(frame, topic, policy)) {
+            return false;
+        }
+        schedule();
+        return true;
+    }
+
+    /**
+     * Whether the frame in flight has been waiting on the client for longer than the send time limit.
+     */
+    public boolean isStalled() {
+        long startedMs = writeStartedMs;
+        return startedMs >= 0 && clock.getAsLong() - startedMs > sendTimeLimitMs;
+    }
+
+    /**
+     * Stop writing and drop whatever is still queued.
+     */
+    public void close() {
+        closed = true;
+        queue.clear();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public OutboundQueue.Stats getStats() {
+        return queue.getStats();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            POOL.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        for (int i = 0; i < MAX_FRAMES_PER_TURN && !closed; i++) {
+            M frame = queue.poll();
+            if (frame == null) {
+                break;
+            }
+            PendingWrite write = new PendingWrite();
+            writeStartedMs = clock.getAsLong();
+            try {
+                transport.write(frame, write);
+            } catch (RuntimeException e) {
+                write.accept(e);
+            }
+            if (write.detach()) {
+                // Still on the wire: the completion resumes this session, the thread moves on
+                return;
+            }
+        }
+        finishTurn();
+    }
+
+    private void finishTurn() {
+        scheduled.set(false);
+        // More frames left, or queued after the last poll: take another turn behind other sessions
+        if (!closed && !queue.isEmpty()) {
+            schedule();
+        }
+    }
+
+    /**
+     * Completion of one write. Whichever of the transport's callback and the draining thread comes
+     * second decides how to continue: inline completions let the turn go on, late ones resume it.
+     */
+    private final class PendingWrite implements Consumer<Throwable> {
+
+        private static final int WRITING = 0;
+        private static final int DONE = 1;
+        private static final int DETACHED = 2;
+
+        private final AtomicInteger state = new AtomicInteger(WRITING);
+
+        @Override
+        public void accept(Throwable failure) {
+            if (failure != null) {
+                LOG.error("Failed to write frame: {}", failure.getMessage());
+            }
+            writeStartedMs = -1;
+            if (!state.compareAndSet(WRITING, DONE)) {
+                finishTurn();
+            }
+        }
+
+        boolean detach() {
+            return state.compareAndSet(WRITING, DETACHED);
+        }
+    }
+
+    /**
+     * Adapts a blocking write to {@link Transport}, for tests and transports that complete in place.
+     */
+    public static <M> Transport<M> blocking(Consumer<M> write) {
+        return (frame, done) -> {
+            write.accept(frame);
+            done.accept(null);
+        };
+    }
+}
@@ -2,33 +2,48 @@ package be.lefief.sockets;
 
 import be.lefief.repository.UserData;
 import be.lefief.service.userprofile.UserProfileService;
+import be.lefief.sockets.binary.BinaryProtocol;
+import be.lefief.sockets.commands.DeliveryPolicy;
 import be.lefief.sockets.commands.ServerToClientCommand;
 import be.lefief.sockets.commands.client.reception.DisplayChatCommand;
 import be.lefief.util.CommandSerializer;
 import be.lefief.util.ServerClock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
 
 import javax.persistence.EntityNotFoundException;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.Session;
 import java.io.IOException;
 import java.util.TimerTask;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
  * WebSocket implementation of ClientSession for browser connections.
+ * <p>
+ * Outgoing frames go through a bounded {@link OutboundQueue} drained on the shared
+ * {@link SessionWriter} pool, so a slow client can neither grow the heap without limit nor
+ * stall the game tick, and idle sessions cost no thread. Frames are written through the container's
+ * async remote endpoint, so a stalled client never holds a writer thread.
+ * A client that stays over the queue limits or the send time limit is disconnected and resyncs when
+ * it reconnects.
  */
 public class WebSocketClientSession implements ClientSession {
 
     private static final Logger LOG = LoggerFactory.getLogger(WebSocketClientSession.class);
 
     private final WebSocketSession session;
-    private final ExecutorService threadPoolExecutor;
+    private final boolean binaryProtocol;
+    private final SessionWriter<WebSocketMessage<?>> writer;
     private Runnable onClose;
     private Consumer<String> onMessage;
     private Supplier<UserData> userDataSupplier;
@@ -36,7 +51,8 @@ public class WebSocketClientSession implements ClientSession {
 
     public WebSocketClientSession(WebSocketSession session) {
         this.session = session;
-        this.threadPoolExecutor = Executors.newFixedThreadPool(1);
+        this.binaryProtocol = BinaryProtocol.BINARY.equals(session.getAcceptedProtocol());
+        this.writer = new SessionWriter<>(WebSocketMessage::getPayloadLength, transport(session));
 
         // Timeout for authentication
         this.authTimeoutTask = new TimerTask() {
@@ -53,21 +69,81 @@ public class WebSocketClientSession implements ClientSession {
 
     @Override
     public void sendCommand(ServerToClientCommand command) {
-        if (threadPoolExecutor.isShutdown()) {
-            LOG.debug("Cannot send command - executor is shutdown for session");
-            return;
+        sendPrepared(PreparedMessage.of(command));
+    }
+
+    @Override
+    public void sendPrepared(PreparedMessage message) {
+        final WebSocketMessage<?> frame;
+        if (binaryProtocol && message.hasBinaryFrame()) {
+            // Fresh ByteBuffer per session, the shared array is never written to
+            frame = new BinaryMessage(message.getBinaryFrame());
+        } else {
+            frame = message.getTextMessage();
+            if (frame == null) return;
         }
-        final String cmd = CommandSerializer.serialize(command);
-        threadPoolExecutor.submit(() -> sendMessage(cmd));
+        ServerToClientCommand command = message.getCommand();
+        enqueue(frame, command.getTopic(), command.getDeliveryPolicy());
     }
 
     @Override
     public void sendMessage(String message) {
+        enqueue(new TextMessage(message), null, DeliveryPolicy.NORMAL);
+    }
+
+    private void enqueue(WebSocketMessage<?> frame, String topic, DeliveryPolicy policy) {
+        if (writer.isClosed()) {
+            LOG.debug("Cannot send command - session is closed");
+            return;
+        }
+        if (!writer.offer(frame, topic, policy)) {
+            closeForOverflow();
+        }
+    }
+
+    private void closeForOverflow() {
+        OutboundQueue.Stats stats = writer.getStats();
+        LOG.warn("Closing slow WebSocket client {}: {} frames / {} bytes queued, stalled: {}",
+                getRemoteAddress(), stats.queueDepth(), stats.queuedBytes(), writer.isStalled());
+        writer.close();
+        // Closing may block on the same stalled connection, keep it off the producer's thread
+        CompletableFuture.runAsync(() -> {
+            try {
+                session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException e) {
+                LOG.error("Failed to close WebSocket session: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Async writes on the JSR-356 session underneath the servlet container's WebSocket. Sessions
+     * without one (e.g. test doubles) are written in place.
+     */
+    private static SessionWriter.Transport<WebSocketMessage<?>> transport(WebSocketSession session) {
+        Session nativeSession = session instanceof NativeWebSocketSession
+                ? ((NativeWebSocketSession) session).getNativeSession(Session.class)
+                : null;
+        if (nativeSession == null) {
+            return SessionWriter.blocking(message -> send(session, message));
+        }
+        RemoteEndpoint.Async remote = nativeSession.getAsyncRemote();
+        remote.setSendTimeout(SessionWriter.SEND_TIME_LIMIT_MS);
+        return (message, done) -> {
+            if (!session.isOpen()) {
+                done.accept(null);
+            } else if (message instanceof BinaryMessage binary) {
+                remote.sendBinary(binary.getPayload(), result -> done.accept(result.getException()));
+            } else {
+                remote.sendText(((TextMessage) message).getPayload(), result -> done.accept(result.getException()));
+            }
+        };
+    }
+
+    private static void send(WebSocketSession session, WebSocketMessage<?> message) {
         if (session.isOpen()) {
             try {
-                synchronized (session) {
-                    session.sendMessage(new TextMessage(message));
-                }
+                session.sendMessage(message);
             } catch (IOException e) {
                 LOG.error("Failed to send message to WebSocket client: {}", e.getMessage());
             }
@@ -146,7 +222,21 @@ public class WebSocketClientSession implements ClientSession {
         if (onClose != null) {
             onClose.run();
         }
-        threadPoolExecutor.shutdown();
+        writer.close();
+    }
+
+    /**
+     * Queue depth, bytes sent and drop counters of this session's outbound queue.
+     */
+    public OutboundQueue.Stats getOutboundStats() {
+        return writer.getStats();
+    }
+
+    /**
+     * Whether this client negotiated {@link BinaryProtocol#BINARY} for hot game topics.
+     */
+    public boolean isBinaryProtocol() {
+        return binaryProtocol;
     }
 
     public WebSocketSession getSession() {
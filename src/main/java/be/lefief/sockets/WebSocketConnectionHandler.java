@@ -1,18 +1,19 @@
 package be.lefief.sockets;
 
 import be.lefief.game.GameService;
-import be.lefief.sockets.commands.ClientToServerCommand;
+import be.lefief.sockets.binary.BinaryProtocol;
 import be.lefief.sockets.commands.client.reception.ErrorMessageResponse;
 import be.lefief.sockets.handlers.routing.CommandRouter;
-import be.lefief.util.CommandSerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.SubProtocolCapable;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,10 +21,11 @@ import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Handles WebSocket connections and bridges them to the existing command
- * protocol.
+ * protocol. Clients may offer {@link BinaryProtocol#BINARY} as subprotocol to
+ * receive hot game topics as binary frames; without it everything stays JSON.
  */
 @Component
-public class WebSocketConnectionHandler extends TextWebSocketHandler {
+public class WebSocketConnectionHandler extends TextWebSocketHandler implements SubProtocolCapable {
 
     private static final Logger LOG = LoggerFactory.getLogger(WebSocketConnectionHandler.class);
 
@@ -38,19 +40,27 @@ public class WebSocketConnectionHandler extends TextWebSocketHandler {
         this.rateLimiter = rateLimiter;
     }
 
+    @Override
+    public List<String> getSubProtocols() {
+        return BinaryProtocol.SUBPROTOCOLS;
+    }
+
     @Override
     public void afterConnectionEstablished(WebSocketSession session) {
-        LOG.info("WebSocket client connected: {}", session.getRemoteAddress());
+        LOG.info("WebSocket client connected: {} (protocol: {})", session.getRemoteAddress(),
+                Optional.ofNullable(session.getAcceptedProtocol()).orElse("json"));
 
         WebSocketClientSession clientSession = new WebSocketClientSession(session);
         sessions.put(session.getId(), clientSession);
 
         // Set up message handler (similar to ClientCommandConsumer)
         clientSession.setOnMessage(message -> {
-            LOG.info("WebSocket client {} @ {} sent: {}",
-                    Optional.ofNullable(clientSession.getUserId()).map(UUID::toString).orElse("<unauthenticated>"),
-                    clientSession.getRemoteAddress(),
-                    message);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("WebSocket client {} @ {} sent: {}",
+                        Optional.ofNullable(clientSession.getUserId()).map(UUID::toString).orElse("<unauthenticated>"),
+                        clientSession.getRemoteAddress(),
+                        message);
+            }
 
             // Rate limiting check
             UUID userId = clientSession.getUserId();
@@ -60,10 +70,7 @@ public class WebSocketConnectionHandler extends TextWebSocketHandler {
                 return;
             }
 
-            ClientToServerCommand command = CommandSerializer.deserializeClientToServerCommand(message);
-            if (command != null) {
-                commandRouter.handle(command, clientSession);
-            }
+            commandRouter.handleMessage(message, clientSession);
         });
 
         // Set up close handler
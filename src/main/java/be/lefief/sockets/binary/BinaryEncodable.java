@@ -0,0 +1,18 @@
+package be.lefief.sockets.binary;
+
+/**
+ * A server-to-client command with a compact binary layout for clients on {@link BinaryProtocol#BINARY}.
+ */
+public interface BinaryEncodable {
+
+    /**
+     * Write the full frame, header included.
+     */
+    void encode(BinaryFrameWriter out);
+
+    default byte[] toBinaryFrame() {
+        BinaryFrameWriter out = new BinaryFrameWriter();
+        encode(out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,134 @@
+package be.lefief.sockets.binary;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Growable big-endian byte buffer with the primitives of the binary protocol.
+ */
+public class BinaryFrameWriter {
+
+    private byte[] buffer;
+    private int size;
+
+    public BinaryFrameWriter() {
+        this(256);
+    }
+
+    public BinaryFrameWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    public BinaryFrameWriter header(int opcode, long tick, int count) {
+        writeByte(BinaryProtocol.VERSION);
+        writeByte(opcode);
+        writeVarLong(tick);
+        writeVarInt(count);
+        return this;
+    }
+
+    public BinaryFrameWriter writeByte(int value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+        return this;
+    }
+
+    /**
+     * Unsigned LEB128; negative values take the full five bytes.
+     */
+    public BinaryFrameWriter writeVarInt(int value) {
+        ensureCapacity(5);
+        while ((value & ~0x7F) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+        return this;
+    }
+
+    public BinaryFrameWriter writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+        return this;
+    }
+
+    public BinaryFrameWriter writeU16(int value) {
+        ensureCapacity(2);
+        buffer[size++] = (byte) (value >>> 8);
+        buffer[size++] = (byte) value;
+        return this;
+    }
+
+    /**
+     * Map coordinate quantized to {@link BinaryProtocol#POSITION_SCALE} steps, clamped to u16.
+     */
+    public BinaryFrameWriter writePosition(double value) {
+        long quantized = Math.round(value * BinaryProtocol.POSITION_SCALE);
+        return writeU16((int) Math.max(0, Math.min(0xFFFF, quantized)));
+    }
+
+    public BinaryFrameWriter writeFloat(float value) {
+        int bits = Float.floatToIntBits(value);
+        ensureCapacity(4);
+        buffer[size++] = (byte) (bits >>> 24);
+        buffer[size++] = (byte) (bits >>> 16);
+        buffer[size++] = (byte) (bits >>> 8);
+        buffer[size++] = (byte) bits;
+        return this;
+    }
+
+    public BinaryFrameWriter writeUuid(UUID value) {
+        writeLong(value.getMostSignificantBits());
+        return writeLong(value.getLeastSignificantBits());
+    }
+
+    /**
+     * Short UTF-8 string prefixed by its varint byte length.
+     */
+    public BinaryFrameWriter writeString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+        return this;
+    }
+
+    /**
+     * Raw bytes prefixed by their varint length.
+     */
+    public BinaryFrameWriter writeBytes(byte[] bytes) {
+        writeVarInt(bytes.length);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+        return this;
+    }
+
+    public BinaryFrameWriter writeLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[size++] = (byte) (value >>> shift);
+        }
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
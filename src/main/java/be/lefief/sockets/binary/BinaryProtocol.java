@@ -0,0 +1,38 @@
+package be.lefief.sockets.binary;
+
+import java.util.List;
+
+/**
+ * Constants of the negotiated binary WebSocket protocol.
+ * <p>
+ * Clients opt in by offering {@link #BINARY} as WebSocket subprotocol; anyone who does not
+ * (or offers {@link #JSON}) keeps receiving plain JSON text frames. Only high-frequency game
+ * topics have a binary layout, everything else is sent as JSON on either protocol.
+ * <p>
+ * Frame layout: {@code u8 version, u8 opcode, varint tick, varint count} followed by
+ * {@code count} fixed-layout entries defined by the command owning the opcode.
+ * Positions are quantized to {@link #POSITION_SCALE} steps per tile and sent as u16.
+ */
+public final class BinaryProtocol {
+
+    public static final String BINARY = "turrest.bin.v1";
+    public static final String JSON = "turrest.json.v1";
+    public static final List<String> SUBPROTOCOLS = List.of(BINARY, JSON);
+
+    public static final int VERSION = 1;
+    public static final int POSITION_SCALE = 100;
+
+    // 1 was the per-tick creep update, replaced by the delta stream; not reused
+    public static final int OP_CREEP_SPAWN = 2;
+    public static final int OP_TOWER_ATTACK = 3;
+    public static final int OP_CREEP_DELTA = 4;
+    public static final int OP_CREEP_KEYFRAME = 5;
+    public static final int OP_TICK_FRAME = 6;
+
+    // Part kinds inside a tick frame
+    public static final int PART_BINARY = 0;
+    public static final int PART_JSON = 1;
+
+    private BinaryProtocol() {
+    }
+}
@@ -2,22 +2,35 @@ package be.lefief.sockets.commands;
 
 import be.lefief.sockets.SocketCommand;
 import be.lefief.sockets.commands.client.ServerSocketSubject;
+import be.lefief.util.CommandSerializer;
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 
 import java.util.Map;
 
-
+/**
+ * Command sent by a client. The {@code data} object is either a map or, for commands whose
+ * handler names a payload record, that record bound directly by the decoder.
+ */
 @NoArgsConstructor
 @Data
 @JsonSerialize
 @JsonDeserialize
 public class ClientToServerCommand extends SocketCommand {
 
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Record payload;
+
     @JsonCreator
     public ClientToServerCommand(
             @JsonProperty("subject") ServerSocketSubject subject,
@@ -27,10 +40,50 @@ public class ClientToServerCommand extends SocketCommand {
         super(subject.name(), topic, data);
     }
 
+    /**
+     * Command with a typed payload; the map view is only built on demand.
+     */
+    public ClientToServerCommand(ServerSocketSubject subject, String topic, Record payload) {
+        super(subject.name(), topic, null);
+        this.payload = payload;
+    }
+
     public ClientToServerCommand(
             ClientToServerCommand other
     ){
-        super(other.getSubject(), other.getTopic(), other.getData());
+        super(other.getSubject(), other.getTopic(), other.data);
+        this.payload = other.payload;
+    }
+
+    @JsonIgnore
+    public Record getTypedPayload() {
+        return payload;
+    }
+
+    @JsonIgnore
+    public void setTypedPayload(Record payload) {
+        this.payload = payload;
+        this.data = null;
+    }
+
+    /**
+     * The data as {@code type}: the record the decoder bound, or one bound from the map.
+     *
+     * @throws IllegalArgumentException when the data does not fit the record
+     */
+    public <P extends Record> P payload(Class<P> type) {
+        if (type.isInstance(payload)) {
+            return type.cast(payload);
+        }
+        return CommandSerializer.bindPayload(getData(), type);
+    }
+
+    @Override
+    public Map<String, Object> getData() {
+        if (data == null && payload != null) {
+            data = CommandSerializer.payloadAsMap(payload);
+        }
+        return data;
     }
 
 }
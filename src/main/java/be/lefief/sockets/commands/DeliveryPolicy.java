@@ -0,0 +1,23 @@
+package be.lefief.sockets.commands;
+
+/**
+ * How a session's outbound queue may treat a command when the client falls behind.
+ */
+public enum DeliveryPolicy {
+
+    /**
+     * Delivered in order; counts towards the queue limits.
+     */
+    NORMAL,
+
+    /**
+     * Full state that makes earlier queued commands of the same topic obsolete.
+     * Those are dropped when a newer one is queued.
+     */
+    LATEST_ONLY,
+
+    /**
+     * Never dropped and accepted even when the queue is over its limits (game over, map resync).
+     */
+    CRITICAL
+}
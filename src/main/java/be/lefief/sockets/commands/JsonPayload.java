@@ -0,0 +1,19 @@
+package be.lefief.sockets.commands;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * A server-to-client command that streams its own {@code data} object.
+ * <p>
+ * Used by high-volume commands that keep their state in flat arrays, so no
+ * intermediate maps or records are built on the way to the wire.
+ */
+public interface JsonPayload {
+
+    /**
+     * Write the {@code data} value, starting with its opening brace.
+     */
+    void writeData(JsonGenerator gen) throws IOException;
+}
@@ -2,22 +2,80 @@ package be.lefief.sockets.commands;
 
 import be.lefief.sockets.SocketCommand;
 import be.lefief.sockets.commands.client.ClientSocketSubject;
+import be.lefief.util.CommandSerializer;
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 
 import java.util.Map;
 
+/**
+ * Command sent to clients. The {@code data} object is either a map, a typed record
+ * payload (written by a cached {@code ObjectWriter}) or, for {@link JsonPayload}
+ * commands, streamed by the command itself. All three produce the same wire format.
+ */
 @JsonSerialize
 @NoArgsConstructor
 @Data
 public class ServerToClientCommand extends SocketCommand {
 
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Record payload;
+
     @JsonCreator
     public ServerToClientCommand(ClientSocketSubject subject, String topic, Map<String, Object> data) {
         super(subject.name(), topic, data);
     }
 
-}
+    /**
+     * Command with a typed payload, serialized without building a map.
+     */
+    public ServerToClientCommand(ClientSocketSubject subject, String topic, Record payload) {
+        super(subject.name(), topic, null);
+        this.payload = payload;
+    }
+
+    /**
+     * Command whose data is written by its {@link JsonPayload#writeData} implementation.
+     */
+    protected ServerToClientCommand(ClientSocketSubject subject, String topic) {
+        super(subject.name(), topic, null);
+    }
+
+    @JsonIgnore
+    public Record getTypedPayload() {
+        return payload;
+    }
 
+    @JsonIgnore
+    public boolean hasTypedPayload() {
+        return payload != null || this instanceof JsonPayload;
+    }
+
+    /**
+     * How outbound queues may treat this command under backpressure.
+     */
+    @JsonIgnore
+    public DeliveryPolicy getDeliveryPolicy() {
+        return DeliveryPolicy.NORMAL;
+    }
+
+    /**
+     * For typed commands the map view is only built on demand (tests, logging); the wire
+     * path never calls this.
+     */
+    @Override
+    public Map<String, Object> getData() {
+        if (data == null && hasTypedPayload()) {
+            data = CommandSerializer.dataAsMap(this);
+        }
+        return data;
+    }
+}
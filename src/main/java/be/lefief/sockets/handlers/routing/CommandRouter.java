@@ -2,38 +2,85 @@ package be.lefief.sockets.handlers.routing;
 
 import be.lefief.sockets.ClientSession;
 import be.lefief.sockets.commands.ClientToServerCommand;
-import be.lefief.util.ClientSubjectHandler;
+import be.lefief.util.CommandSerializer;
 import be.lefief.util.CommandTopicHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
+/**
+ * Dispatches inbound commands to the {@link CommandTopicHandler} registered for their subject and topic.
+ * <p>
+ * The routing table is immutable: handlers register once at startup, each registration publishes
+ * a new copy, and dispatching is two lookups without locking or string conversion. Subjects and
+ * topics are registered upper case; other casings still resolve through a slower fallback.
+ */
 @Service
 public class CommandRouter {
     private static final Logger LOG = LoggerFactory.getLogger(CommandRouter.class);
-    private final Map<String, ClientSubjectHandler> subjectHandlerMap;
 
-    public CommandRouter(
+    // subject -> topic -> handler
+    private volatile Map<String, Map<String, CommandTopicHandler<?>>> routes = Map.of();
 
-    ) {
-        subjectHandlerMap = new HashMap<>();
+    public synchronized void register(CommandTopicHandler<?> commandTopicHandler) {
+        String subject = commandTopicHandler.getSubject().toUpperCase(Locale.ROOT);
+        String topic = commandTopicHandler.getTopic().toUpperCase(Locale.ROOT);
+        if (!routes.containsKey(subject)) {
+            LOG.warn("Did not find registered subject {} for topic {} - adding it", subject, topic);
+        }
+        LOG.info("Registering handler for Subject {} - Topic {}", subject, topic);
+
+        Map<String, Map<String, CommandTopicHandler<?>>> next = new HashMap<>(routes);
+        Map<String, CommandTopicHandler<?>> topics = new HashMap<>(next.getOrDefault(subject, Map.of()));
+        topics.put(topic, commandTopicHandler);
+        next.put(subject, Map.copyOf(topics));
+        routes = Map.copyOf(next);
     }
 
-    public void register(CommandTopicHandler<?> commandTopicHandler) {
-        if (!subjectHandlerMap.containsKey(commandTopicHandler.getSubject().toUpperCase())) {
-            LOG.warn("Did not find registered subject {} for topic {} - creating default", commandTopicHandler.getSubject().toUpperCase(), commandTopicHandler.getTopic().toUpperCase());
-            subjectHandlerMap.put(commandTopicHandler.getSubject().toUpperCase(), new ClientSubjectHandler(commandTopicHandler.getSubject().toUpperCase()));
+    /**
+     * The handler for a subject and topic, or null when none is registered.
+     */
+    public CommandTopicHandler<?> route(String subject, String topic) {
+        CommandTopicHandler<?> handler = lookup(subject, topic);
+        if (handler == null) {
+            handler = lookup(subject.toUpperCase(Locale.ROOT), topic.toUpperCase(Locale.ROOT));
         }
-        LOG.info("Registering handler for Subject {} - Topic {}", commandTopicHandler.getSubject().toUpperCase(), commandTopicHandler.getTopic().toUpperCase());
-        subjectHandlerMap.get(commandTopicHandler.getSubject().toUpperCase()).getTopicHandlers().put(commandTopicHandler.getTopic().toUpperCase(), commandTopicHandler);
+        return handler;
     }
 
-    public void handle(ClientToServerCommand command, ClientSession clientSession) {
-        subjectHandlerMap.get(command.getSubject().toUpperCase()).handle(command, clientSession);
+    private CommandTopicHandler<?> lookup(String subject, String topic) {
+        Map<String, CommandTopicHandler<?>> topics = routes.get(subject);
+        return topics == null ? null : topics.get(topic);
     }
 
+    public void handle(ClientToServerCommand command, ClientSession clientSession) {
+        CommandTopicHandler<?> handler = route(command.getSubject(), command.getTopic());
+        if (handler == null) {
+            LOG.warn("No handler for subject {} - topic {}", command.getSubject(), command.getTopic());
+            return;
+        }
+        handler.handle(command, clientSession);
+    }
 
+    /**
+     * Decode a raw message and dispatch it. The envelope is routed before the data is bound,
+     * so unknown or malformed commands cost no data binding, and handlers with a payload type
+     * get their data bound straight into it.
+     *
+     * @return false when the message was malformed or nothing handles it
+     */
+    public boolean handleMessage(String message, ClientSession clientSession) {
+        CommandSerializer.RoutedCommand<CommandTopicHandler<?>> routed =
+                CommandSerializer.decodeRouted(message, this::route, CommandTopicHandler::getPayloadType);
+        if (routed == null) {
+            LOG.warn("Dropping unroutable message from {}", clientSession.getRemoteAddress());
+            return false;
+        }
+        routed.route().handle(routed.command(), clientSession);
+        return true;
+    }
 }
@@ -0,0 +1,104 @@
+package be.lefief.sockets.nio;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Framing of the NIO transport. Every frame carries one command as UTF-8 JSON, the same
+ * commands the other transports carry; the codecs only differ in how frames are delimited.
+ */
+public enum FrameCodec {
+
+    /**
+     * A 4-byte big-endian payload length followed by that many bytes.
+     */
+    LENGTH_PREFIXED {
+        @Override
+        public boolean decode(ByteBuffer buffer, Consumer<String> sink) {
+            while (buffer.remaining() >= HEADER_BYTES) {
+                int start = buffer.position();
+                int length = buffer.getInt(start);
+                if (length < 0 || length > buffer.capacity() - HEADER_BYTES) {
+                    return false;
+                }
+                if (buffer.remaining() < HEADER_BYTES + length) {
+                    break;
+                }
+                ByteBuffer payload = buffer.slice(start + HEADER_BYTES, length);
+                buffer.position(start + HEADER_BYTES + length);
+                sink.accept(StandardCharsets.UTF_8.decode(payload).toString());
+            }
+            return true;
+        }
+
+        @Override
+        void frame(byte[] payload, ByteBuffer headers, int index, ByteBuffer[] gather) {
+            int offset = index * HEADER_BYTES;
+            headers.putInt(offset, payload.length);
+            gather[index * 2] = headers.slice(offset, HEADER_BYTES);
+            gather[index * 2 + 1] = ByteBuffer.wrap(payload);
+        }
+    },
+
+    /**
+     * One frame per line, ended by {@code \n} (a preceding {@code \r} is dropped). The line
+     * protocol of the lobby socket on port 1234.
+     */
+    LINES {
+        @Override
+        public boolean decode(ByteBuffer buffer, Consumer<String> sink) {
+            while (buffer.hasRemaining()) {
+                int start = buffer.position();
+                int end = indexOf(buffer, (byte) '\n', start);
+                if (end < 0) {
+                    // A partial line that already fills the whole buffer can never end in it
+                    return start > 0 || buffer.limit() < buffer.capacity();
+                }
+                int length = end - start;
+                if (length > 0 && buffer.get(end - 1) == '\r') {
+                    length--;
+                }
+                ByteBuffer payload = buffer.slice(start, length);
+                buffer.position(end + 1);
+                sink.accept(StandardCharsets.UTF_8.decode(payload).toString());
+            }
+            return true;
+        }
+
+        @Override
+        void frame(byte[] payload, ByteBuffer headers, int index, ByteBuffer[] gather) {
+            gather[index * 2] = ByteBuffer.wrap(payload);
+            gather[index * 2 + 1] = NEWLINE.duplicate();
+        }
+    };
+
+    public static final int HEADER_BYTES = 4;
+
+    private static final ByteBuffer NEWLINE = ByteBuffer.wrap(new byte[]{'\n'}).asReadOnlyBuffer();
+
+    /**
+     * Hand every complete frame in {@code buffer} (flipped, ready to read) to {@code sink}.
+     * A trailing partial frame is left in the buffer for the caller to keep.
+     *
+     * @return false when a frame can never fit the buffer, in which case the connection
+     * should be closed
+     */
+    public abstract boolean decode(ByteBuffer buffer, Consumer<String> sink);
+
+    /**
+     * Put the two buffers of outgoing frame {@code index} of a batch into
+     * {@code gather[2 * index]} and {@code gather[2 * index + 1]}. {@code headers} has
+     * {@link #HEADER_BYTES} of room per frame of the batch.
+     */
+    abstract void frame(byte[] payload, ByteBuffer headers, int index, ByteBuffer[] gather);
+
+    private static int indexOf(ByteBuffer buffer, byte value, int from) {
+        for (int i = from; i < buffer.limit(); i++) {
+            if (buffer.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
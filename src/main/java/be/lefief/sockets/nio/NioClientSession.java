@@ -0,0 +1,330 @@
+package be.lefief.sockets.nio;
+
+import be.lefief.repository.UserData;
+import be.lefief.service.userprofile.UserProfileService;
+import be.lefief.sockets.ClientSession;
+import be.lefief.sockets.OutboundQueue;
+import be.lefief.sockets.PreparedMessage;
+import be.lefief.sockets.commands.DeliveryPolicy;
+import be.lefief.sockets.commands.ServerToClientCommand;
+import be.lefief.sockets.commands.client.reception.DisplayChatCommand;
+import be.lefief.util.CommandSerializer;
+import be.lefief.util.ServerClock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.persistence.EntityNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.TimerTask;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * TCP client session served by an {@link NioEventLoop}.
+ * <p>
+ * Each readable event borrows a pooled direct buffer, splits it into frames with the server's
+ * {@link FrameCodec} on the loop thread and returns it right away. Only the bytes of a trailing
+ * partial frame stay with the session, in a heap spill buffer of just that size, so idle
+ * connections hold no read buffer. Commands are then handled on the server's handler pool, in
+ * order per session, so a slow handler (database lookups on login) never blocks the other
+ * connections of the loop.
+ * <p>
+ * Outgoing frames wait in a bounded {@link OutboundQueue}. The loop writes them with one
+ * gathering write per batch of up to {@link #MAX_GATHER_FRAMES} frames and only asks the
+ * selector for write readiness while the socket buffer is full.
+ */
+public class NioClientSession implements ClientSession, NioEventLoop.Handler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NioClientSession.class);
+
+    public static final int MAX_GATHER_FRAMES = 64;
+    public static final int MAX_PENDING_INBOUND = 256;
+
+    private final SocketChannel channel;
+    private final NioEventLoop loop;
+    private final BufferPool bufferPool;
+    private final ExecutorService handlerPool;
+    private final FrameCodec codec;
+    private final String remoteAddress;
+
+    // Loop thread only
+    private SelectionKey key;
+    private ByteBuffer spill;   // partial frame left by the last read, null when none
+    private final ByteBuffer headers = ByteBuffer.allocate(MAX_GATHER_FRAMES * FrameCodec.HEADER_BYTES);
+    private final ByteBuffer[] gather = new ByteBuffer[MAX_GATHER_FRAMES * 2];
+    private int gatherLength;   // 0 = nothing pending
+
+    private final OutboundQueue<byte[]> outbound = new OutboundQueue<>(frame -> frame.length);
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final Queue<String> inbound = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inboundCount = new AtomicInteger();
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private Runnable onClose;
+    private Consumer<String> onMessage;
+    private Supplier<UserData> userDataSupplier;
+    private final TimerTask authTimeoutTask;
+
+    NioClientSession(SocketChannel channel, NioEventLoop loop, BufferPool bufferPool, ExecutorService handlerPool,
+                     FrameCodec codec) {
+        this.channel = channel;
+        this.loop = loop;
+        this.bufferPool = bufferPool;
+        this.handlerPool = handlerPool;
+        this.codec = codec;
+        this.remoteAddress = String.valueOf(channel.socket().getInetAddress());
+        this.authTimeoutTask = new TimerTask() {
+            @Override
+            public void run() {
+                if (userDataSupplier == null) {
+                    sendMessage(CommandSerializer.serialize(
+                            new DisplayChatCommand("did not receive login information in time, please retry")));
+                }
+            }
+        };
+        ServerClock.TIMER.schedule(authTimeoutTask, 10000L);
+    }
+
+    /**
+     * Start reading. Loop thread only, after the acceptor has set the message handler.
+     */
+    void register() {
+        if (closed.get()) {
+            return;
+        }
+        try {
+            key = loop.register(channel, SelectionKey.OP_READ, this);
+            // Frames may have been queued before the key existed
+            flush();
+        } catch (IOException e) {
+            failed(e);
+        }
+    }
+
+    @Override
+    public void ready(SelectionKey key) throws IOException {
+        if (key.isReadable()) {
+            read();
+        }
+        if (key.isValid() && key.isWritable()) {
+            flush();
+        }
+    }
+
+    @Override
+    public void failed(Exception e) {
+        LOG.debug("Connection {} failed: {}", remoteAddress, e.getMessage());
+        close();
+    }
+
+    private void read() throws IOException {
+        ByteBuffer buffer = bufferPool.acquire();
+        try {
+            if (spill != null) {
+                buffer.put(spill);
+                spill = null;
+            }
+            int read = channel.read(buffer);
+            if (read < 0) {
+                close();
+                return;
+            }
+            buffer.flip();
+            if (!codec.decode(buffer, this::received)) {
+                LOG.warn("Closing client {}: frame larger than {} bytes", remoteAddress, buffer.capacity());
+                close();
+                return;
+            }
+            if (buffer.hasRemaining()) {
+                spill = ByteBuffer.allocate(buffer.remaining()).put(buffer).flip();
+            }
+        } finally {
+            bufferPool.release(buffer);
+        }
+    }
+
+    private void received(String message) {
+        if (inboundCount.incrementAndGet() > MAX_PENDING_INBOUND) {
+            LOG.warn("Closing client {}: {} commands waiting to be handled", remoteAddress, MAX_PENDING_INBOUND);
+            close();
+            return;
+        }
+        inbound.add(message);
+        if (dispatching.compareAndSet(false, true)) {
+            handlerPool.execute(this::dispatch);
+        }
+    }
+
+    private void dispatch() {
+        do {
+            String message;
+            while ((message = inbound.poll()) != null) {
+                inboundCount.decrementAndGet();
+                if (closed.get() || onMessage == null) {
+                    continue;
+                }
+                try {
+                    onMessage.accept(message);
+                } catch (RuntimeException e) {
+                    LOG.error("Failed to handle message from {}", remoteAddress, e);
+                }
+            }
+            dispatching.set(false);
+            // A message may have arrived after the last poll but before the flag was cleared
+        } while (!inbound.isEmpty() && dispatching.compareAndSet(false, true));
+    }
+
+    @Override
+    public void sendMessage(String message) {
+        enqueue(message.getBytes(StandardCharsets.UTF_8), null, DeliveryPolicy.NORMAL);
+    }
+
+    @Override
+    public void sendCommand(ServerToClientCommand command) {
+        sendPrepared(PreparedMessage.of(command));
+    }
+
+    @Override
+    public void sendPrepared(PreparedMessage message) {
+        byte[] payload = message.getPayloadBytes();
+        if (payload == null) return;
+        ServerToClientCommand command = message.getCommand();
+        enqueue(payload, command.getTopic(), command.getDeliveryPolicy());
+    }
+
+    private void enqueue(byte[] payload, String topic, DeliveryPolicy policy) {
+        if (closed.get()) {
+            return;
+        }
+        if (!outbound.offer(payload, topic, policy)) {
+            OutboundQueue.Stats stats = outbound.getStats();
+            LOG.warn("Closing slow client {}: {} frames / {} bytes queued",
+                    remoteAddress, stats.queueDepth(), stats.queuedBytes());
+            close();
+            return;
+        }
+        if (flushScheduled.compareAndSet(false, true)) {
+            loop.execute(() -> {
+                flushScheduled.set(false);
+                flush();
+            });
+        }
+    }
+
+    /**
+     * Write queued frames until the queue is empty or the socket buffer is full. Loop thread only.
+     */
+    private void flush() {
+        if (key == null || closed.get()) {
+            return;
+        }
+        try {
+            while (true) {
+                if (gatherLength == 0 && !nextBatch()) {
+                    key.interestOps(SelectionKey.OP_READ);
+                    return;
+                }
+                channel.write(gather, 0, gatherLength);
+                if (gather[gatherLength - 1].hasRemaining()) {
+                    // Socket buffer full, continue when the selector says it is writable
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    return;
+                }
+                gatherLength = 0;
+            }
+        } catch (IOException e) {
+            failed(e);
+        }
+    }
+
+    private boolean nextBatch() {
+        int frames = 0;
+        byte[] payload;
+        while (frames < MAX_GATHER_FRAMES && (payload = outbound.poll()) != null) {
+            codec.frame(payload, headers, frames, gather);
+            frames++;
+        }
+        gatherLength = frames * 2;
+        return frames > 0;
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        authTimeoutTask.cancel();
+        outbound.clear();
+        loop.execute(() -> {
+            if (key != null) {
+                key.cancel();
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOG.debug("Could not close channel: {}", e.getMessage());
+            }
+            spill = null;
+        });
+        if (onClose != null) {
+            onClose.run();
+        }
+    }
+
+    @Override
+    public void setOnClose(Runnable onClose) {
+        this.onClose = onClose;
+    }
+
+    @Override
+    public void setOnMessage(Consumer<String> onMessage) {
+        this.onMessage = onMessage;
+    }
+
+    @Override
+    public UUID getUserId() {
+        return (userDataSupplier == null) ? null : userDataSupplier.get().getId();
+    }
+
+    @Override
+    public String getUserName() {
+        return getUserData().getName();
+    }
+
+    @Override
+    public String getUserIdentifiedClientName() {
+        return String.format("%s(%s)", getUserName(), "#" + getUserId().toString().substring(0, 4));
+    }
+
+    @Override
+    public void authenticate(UserProfileService userProfileService, UUID userId) {
+        authTimeoutTask.cancel();
+        userDataSupplier = () -> userProfileService.findByID(userId)
+                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+    }
+
+    @Override
+    public UserData getUserData() {
+        return (userDataSupplier == null) ? null : userDataSupplier.get();
+    }
+
+    @Override
+    public String getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    public OutboundQueue.Stats getOutboundStats() {
+        return outbound.getStats();
+    }
+}
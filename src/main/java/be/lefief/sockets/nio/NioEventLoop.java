@@ -0,0 +1,120 @@
+package be.lefief.sockets.nio;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * One I/O thread with its own selector. Channels registered with it are only ever touched from
+ * this thread; other threads hand work over with {@link #execute(Runnable)}.
+ */
+final class NioEventLoop implements Runnable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NioEventLoop.class);
+
+    /**
+     * Attached to a selection key, called on the loop thread when the key is ready.
+     */
+    interface Handler {
+        void ready(SelectionKey key) throws IOException;
+
+        void failed(Exception e);
+    }
+
+    private final Selector selector;
+    private final Thread thread;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private volatile boolean running = true;
+
+    NioEventLoop(String name) throws IOException {
+        this.selector = Selector.open();
+        this.thread = new Thread(this, name);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    void shutdown() {
+        running = false;
+        selector.wakeup();
+    }
+
+    /**
+     * Run a task on the loop thread, after the current select returns.
+     */
+    void execute(Runnable task) {
+        tasks.add(task);
+        // Also from the loop itself, so the next select does not block with tasks waiting
+        selector.wakeup();
+    }
+
+    /**
+     * Register a channel with this loop's selector. Loop thread only.
+     */
+    SelectionKey register(SelectableChannel channel, int ops, Handler handler) throws IOException {
+        return channel.register(selector, ops, handler);
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                runTasks();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    Handler handler = (Handler) key.attachment();
+                    try {
+                        if (key.isValid()) {
+                            handler.ready(key);
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        handler.failed(e);
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            LOG.error("I/O loop {} stopped: {}", thread.getName(), e.getMessage());
+        } finally {
+            closeAll();
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOG.error("I/O loop task failed", e);
+            }
+        }
+    }
+
+    private void closeAll() {
+        for (SelectionKey key : selector.keys()) {
+            try {
+                key.channel().close();
+            } catch (IOException e) {
+                LOG.debug("Could not close channel: {}", e.getMessage());
+            }
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            LOG.debug("Could not close selector: {}", e.getMessage());
+        }
+    }
+}
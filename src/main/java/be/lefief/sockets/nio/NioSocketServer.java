@@ -0,0 +1,160 @@
+package be.lefief.sockets.nio;
+
+import be.lefief.lobby.SocketConnectionAcceptor;
+import be.lefief.sockets.handlers.routing.CommandRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking TCP transport for bots and native clients.
+ * <p>
+ * A handful of {@link NioEventLoop}s serve every connection; the first one also accepts.
+ * New connections are spread round-robin over the loops and handed to the
+ * {@link SocketConnectionAcceptor}, so commands reach the same {@link CommandRouter} as the
+ * WebSocket ones. How frames are delimited is up to the server's {@link FrameCodec}.
+ */
+public class NioSocketServer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NioSocketServer.class);
+
+    public static final int READ_BUFFER_BYTES = 64 * 1024;
+    // Read buffers are only borrowed for one readable event, so a few per loop are plenty
+    public static final int MAX_POOLED_BUFFERS = 16;
+
+    private final int port;
+    private final int ioThreads;
+    private final FrameCodec codec;
+    private final BufferPool bufferPool = new BufferPool(READ_BUFFER_BYTES, MAX_POOLED_BUFFERS);
+    private final AtomicInteger nextLoop = new AtomicInteger();
+    private NioEventLoop[] loops;
+    private ExecutorService handlerPool;
+    private ServerSocketChannel serverChannel;
+
+    /**
+     * @param port      port to listen on, 0 for any free port
+     * @param ioThreads number of I/O loops, 0 for one per two cores (at most 4)
+     */
+    public NioSocketServer(int port, int ioThreads) {
+        this(port, ioThreads, FrameCodec.LENGTH_PREFIXED);
+    }
+
+    /**
+     * @param port      port to listen on, 0 for any free port
+     * @param ioThreads number of I/O loops, 0 for one per two cores (at most 4)
+     * @param codec     how frames are delimited on the wire
+     */
+    public NioSocketServer(int port, int ioThreads, FrameCodec codec) {
+        this.port = port;
+        this.codec = codec;
+        int cores = Runtime.getRuntime().availableProcessors();
+        this.ioThreads = ioThreads > 0 ? ioThreads : Math.max(1, Math.min(4, cores / 2));
+    }
+
+    public synchronized void start(SocketConnectionAcceptor acceptor, CommandRouter commandRouter) throws IOException {
+        if (serverChannel != null) {
+            return;
+        }
+        AtomicInteger handlerThreads = new AtomicInteger();
+        handlerPool = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+            Thread thread = new Thread(runnable, "nio-handler-" + handlerThreads.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        loops = new NioEventLoop[ioThreads];
+        for (int i = 0; i < ioThreads; i++) {
+            loops[i] = new NioEventLoop("nio-io-" + i);
+            loops[i].start();
+        }
+
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.configureBlocking(false);
+        serverChannel.bind(new InetSocketAddress(port));
+        ServerSocketChannel server = serverChannel;
+        NioEventLoop acceptLoop = loops[0];
+        acceptLoop.execute(() -> {
+            try {
+                acceptLoop.register(server, SelectionKey.OP_ACCEPT, new NioEventLoop.Handler() {
+                    @Override
+                    public void ready(SelectionKey key) throws IOException {
+                        acceptAll(server, acceptor, commandRouter);
+                    }
+
+                    @Override
+                    public void failed(Exception e) {
+                        LOG.error("Failed to accept connection: {}", e.getMessage());
+                    }
+                });
+            } catch (IOException e) {
+                LOG.error("Could not listen for connections on port {}", getLocalPort(), e);
+            }
+        });
+        LOG.info("Accepting NIO connections on port {} with {} I/O threads", getLocalPort(), ioThreads);
+    }
+
+    private void acceptAll(ServerSocketChannel server, SocketConnectionAcceptor acceptor, CommandRouter commandRouter)
+            throws IOException {
+        SocketChannel channel;
+        while ((channel = server.accept()) != null) {
+            channel.configureBlocking(false);
+            // Frames are already batched per gathering write
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            NioEventLoop loop = loops[Math.floorMod(nextLoop.getAndIncrement(), loops.length)];
+            NioClientSession session = new NioClientSession(channel, loop, bufferPool, handlerPool, codec);
+            LOG.info("Client connected over NIO: {}", session.getRemoteAddress());
+            try {
+                acceptor.register(session, commandRouter);
+            } catch (RuntimeException e) {
+                LOG.error("Failed to register connection from {}", session.getRemoteAddress(), e);
+                session.close();
+                continue;
+            }
+            loop.execute(session::register);
+        }
+    }
+
+    public synchronized void stop() {
+        if (serverChannel == null) {
+            return;
+        }
+        LOG.info("Stopping NIO connections on port {}", getLocalPort());
+        try {
+            serverChannel.close();
+        } catch (IOException e) {
+            LOG.error(e.getMessage(), e);
+        }
+        for (NioEventLoop loop : loops) {
+            loop.shutdown();
+        }
+        handlerPool.shutdown();
+        serverChannel = null;
+    }
+
+    /**
+     * The bound port, useful when started on port 0.
+     */
+    public int getLocalPort() {
+        ServerSocketChannel server = serverChannel;
+        if (server == null) {
+            return -1;
+        }
+        try {
+            return ((InetSocketAddress) server.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    BufferPool getBufferPool() {
+        return bufferPool;
+    }
+}
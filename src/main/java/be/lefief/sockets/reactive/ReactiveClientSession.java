@@ -0,0 +1,240 @@
+package be.lefief.sockets.reactive;
+
+import be.lefief.repository.UserData;
+import be.lefief.service.userprofile.UserProfileService;
+import be.lefief.sockets.ClientSession;
+import be.lefief.sockets.OutboundQueue;
+import be.lefief.sockets.PreparedMessage;
+import be.lefief.sockets.binary.BinaryProtocol;
+import be.lefief.sockets.commands.DeliveryPolicy;
+import be.lefief.sockets.commands.ServerToClientCommand;
+import be.lefief.sockets.commands.client.reception.DisplayChatCommand;
+import be.lefief.util.CommandSerializer;
+import be.lefief.util.ServerClock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import javax.persistence.EntityNotFoundException;
+import java.util.TimerTask;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * WebSocket session on the reactive (Reactor Netty) transport.
+ * <p>
+ * Frames wait in the same bounded {@link OutboundQueue} as on the servlet transport, but nothing
+ * blocks to write them: {@link #outbound()} is the flux handed to {@code session.send}, and frames
+ * are only emitted as Netty requests them, i.e. while the channel is writable. A client that reads
+ * too slowly stops the demand, its queue fills up and it is disconnected like on the other transports.
+ */
+public class ReactiveClientSession implements ClientSession {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReactiveClientSession.class);
+
+    // Same code the servlet transport closes slow clients with
+    private static final CloseStatus SESSION_NOT_RELIABLE = new CloseStatus(4500);
+
+    private final WebSocketSession session;
+    private final boolean binaryProtocol;
+    private final OutboundQueue<Frame> queue = new OutboundQueue<>(Frame::size);
+    private final Flux<WebSocketMessage> outbound;
+    private volatile FluxSink<WebSocketMessage> sink;
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private Runnable onClose;
+    private Consumer<String> onMessage;
+    private Supplier<UserData> userDataSupplier;
+    private final TimerTask authTimeoutTask;
+
+    /**
+     * An encoded frame, turned into a {@link WebSocketMessage} only when it is emitted.
+     */
+    private record Frame(String text, byte[] binary) {
+        int size() {
+            return binary != null ? binary.length : text.length();
+        }
+    }
+
+    public ReactiveClientSession(WebSocketSession session) {
+        this.session = session;
+        this.binaryProtocol = BinaryProtocol.BINARY.equals(session.getHandshakeInfo().getSubProtocol());
+        this.outbound = Flux.create(emitter -> {
+            sink = emitter;
+            emitter.onRequest(requested -> drain());
+            emitter.onDispose(queue::clear);
+        });
+        this.authTimeoutTask = new TimerTask() {
+            @Override
+            public void run() {
+                if (userDataSupplier == null && session.isOpen()) {
+                    sendMessage(CommandSerializer.serialize(
+                            new DisplayChatCommand("did not receive login information in time, please retry")));
+                }
+            }
+        };
+        ServerClock.TIMER.schedule(authTimeoutTask, 10000L);
+    }
+
+    /**
+     * The outgoing frames, to be subscribed once by {@code session.send}.
+     */
+    public Flux<WebSocketMessage> outbound() {
+        return outbound;
+    }
+
+    @Override
+    public void sendCommand(ServerToClientCommand command) {
+        sendPrepared(PreparedMessage.of(command));
+    }
+
+    @Override
+    public void sendPrepared(PreparedMessage message) {
+        final Frame frame;
+        if (binaryProtocol && message.hasBinaryFrame()) {
+            frame = new Frame(null, message.getBinaryFrame());
+        } else {
+            String payload = message.getPayload();
+            if (payload == null) return;
+            frame = new Frame(payload, null);
+        }
+        ServerToClientCommand command = message.getCommand();
+        enqueue(frame, command.getTopic(), command.getDeliveryPolicy());
+    }
+
+    @Override
+    public void sendMessage(String message) {
+        enqueue(new Frame(message, null), null, DeliveryPolicy.NORMAL);
+    }
+
+    private void enqueue(Frame frame, String topic, DeliveryPolicy policy) {
+        if (closed.get()) {
+            return;
+        }
+        if (!queue.offer(frame, topic, policy)) {
+            OutboundQueue.Stats stats = queue.getStats();
+            LOG.warn("Closing slow WebSocket client {}: {} frames / {} bytes queued",
+                    getRemoteAddress(), stats.queueDepth(), stats.queuedBytes());
+            queue.clear();
+            session.close(SESSION_NOT_RELIABLE).subscribe();
+            return;
+        }
+        drain();
+    }
+
+    /**
+     * Emit queued frames while there is demand. Producers and Netty's requests may race,
+     * only one thread drains at a time and the others leave it a note to go round once more.
+     */
+    private void drain() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        do {
+            FluxSink<WebSocketMessage> emitter = sink;
+            if (emitter != null) {
+                while (emitter.requestedFromDownstream() > 0 && !emitter.isCancelled()) {
+                    Frame frame = queue.poll();
+                    if (frame == null) {
+                        break;
+                    }
+                    emitter.next(toMessage(frame));
+                }
+            }
+        } while (drainRequests.decrementAndGet() != 0);
+    }
+
+    private WebSocketMessage toMessage(Frame frame) {
+        if (frame.binary() != null) {
+            return session.binaryMessage(factory -> factory.wrap(frame.binary()));
+        }
+        return session.textMessage(frame.text());
+    }
+
+    @Override
+    public UUID getUserId() {
+        return (userDataSupplier == null) ? null : userDataSupplier.get().getId();
+    }
+
+    @Override
+    public String getUserName() {
+        return getUserData().getName();
+    }
+
+    @Override
+    public String getUserIdentifiedClientName() {
+        return String.format("%s(%s)", getUserName(), "#" + getUserId().toString().substring(0, 4));
+    }
+
+    @Override
+    public void authenticate(UserProfileService userProfileService, UUID userId) {
+        authTimeoutTask.cancel();
+        userDataSupplier = () -> userProfileService.findByID(userId)
+                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+    }
+
+    @Override
+    public UserData getUserData() {
+        return (userDataSupplier == null) ? null : userDataSupplier.get();
+    }
+
+    @Override
+    public void close() {
+        session.close().subscribe();
+        handleClose();
+    }
+
+    @Override
+    public void setOnClose(Runnable onClose) {
+        this.onClose = onClose;
+    }
+
+    @Override
+    public void setOnMessage(Consumer<String> onMessage) {
+        this.onMessage = onMessage;
+    }
+
+    @Override
+    public String getRemoteAddress() {
+        return session.getHandshakeInfo().getRemoteAddress() != null
+                ? session.getHandshakeInfo().getRemoteAddress().toString() : "unknown";
+    }
+
+    /**
+     * Handle incoming message from the WebSocket.
+     */
+    public void handleMessage(String message) {
+        if (onMessage != null) {
+            onMessage.accept(message);
+        }
+    }
+
+    /**
+     * Handle session close: runs the close handler once and completes the outbound flux.
+     */
+    public void handleClose() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        authTimeoutTask.cancel();
+        if (onClose != null) {
+            onClose.run();
+        }
+        queue.clear();
+        FluxSink<WebSocketMessage> emitter = sink;
+        if (emitter != null) {
+            emitter.complete();
+        }
+    }
+
+    public OutboundQueue.Stats getOutboundStats() {
+        return queue.getStats();
+    }
+}
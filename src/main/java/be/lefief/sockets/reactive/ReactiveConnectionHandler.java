@@ -0,0 +1,114 @@
+package be.lefief.sockets.reactive;
+
+import be.lefief.game.GameService;
+import be.lefief.sockets.RateLimiter;
+import be.lefief.sockets.binary.BinaryProtocol;
+import be.lefief.sockets.commands.client.reception.ErrorMessageResponse;
+import be.lefief.sockets.handlers.routing.CommandRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reactive counterpart of {@link be.lefief.sockets.WebSocketConnectionHandler}: same endpoint,
+ * subprotocols and command handling, served by Reactor Netty.
+ * <p>
+ * Incoming commands are handled on the bounded elastic scheduler, in order per session, since
+ * handlers may block (database lookups on login) and must not stall a Netty event loop.
+ */
+@Component
+@Profile(ReactiveWebSocketConfig.PROFILE)
+public class ReactiveConnectionHandler implements WebSocketHandler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReactiveConnectionHandler.class);
+
+    private final CommandRouter commandRouter;
+    private final GameService gameService;
+    private final RateLimiter rateLimiter;
+    private final Map<String, ReactiveClientSession> sessions = new ConcurrentHashMap<>();
+
+    public ReactiveConnectionHandler(CommandRouter commandRouter, GameService gameService, RateLimiter rateLimiter) {
+        this.commandRouter = commandRouter;
+        this.gameService = gameService;
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public List<String> getSubProtocols() {
+        return BinaryProtocol.SUBPROTOCOLS;
+    }
+
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        ReactiveClientSession clientSession = new ReactiveClientSession(session);
+        LOG.info("WebSocket client connected: {} (protocol: {})", clientSession.getRemoteAddress(),
+                Optional.ofNullable(session.getHandshakeInfo().getSubProtocol()).orElse("json"));
+        sessions.put(session.getId(), clientSession);
+
+        clientSession.setOnMessage(message -> {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("WebSocket client {} @ {} sent: {}",
+                        Optional.ofNullable(clientSession.getUserId()).map(UUID::toString).orElse("<unauthenticated>"),
+                        clientSession.getRemoteAddress(),
+                        message);
+            }
+
+            UUID userId = clientSession.getUserId();
+            if (!rateLimiter.allowCommand(userId)) {
+                LOG.warn("Rate limit exceeded for user {}", userId);
+                clientSession.sendCommand(new ErrorMessageResponse("Too many commands, please slow down"));
+                return;
+            }
+
+            commandRouter.handleMessage(message, clientSession);
+        });
+
+        clientSession.setOnClose(() -> {
+            UUID userId = clientSession.getUserId();
+            LOG.info("WebSocket client {} disconnected", userId);
+            sessions.remove(session.getId());
+            if (userId != null) {
+                gameService.handlePlayerDisconnect(userId);
+                rateLimiter.removeUser(userId);
+            }
+        });
+
+        // Payloads are copied out before the hop, Netty releases the buffers after this stage
+        Mono<Void> input = session.receive()
+                .filter(message -> message.getType() == WebSocketMessage.Type.TEXT)
+                .map(WebSocketMessage::getPayloadAsText)
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(message -> {
+                    try {
+                        clientSession.handleMessage(message);
+                    } catch (RuntimeException e) {
+                        LOG.error("Failed to handle message from {}", clientSession.getRemoteAddress(), e);
+                    }
+                })
+                .then();
+        Mono<Void> output = session.send(clientSession.outbound());
+
+        // Input ends when the client goes away; closing the session then completes the output
+        return Mono.when(input.doFinally(signal -> clientSession.handleClose()), output)
+                .doOnError(e -> LOG.error("WebSocket transport error for session {}: {}", session.getId(), e.getMessage()));
+    }
+
+    /**
+     * Get all active WebSocket sessions.
+     */
+    public Map<String, ReactiveClientSession> getSessions() {
+        return sessions;
+    }
+}
@@ -0,0 +1,43 @@
+package be.lefief.sockets.reactive;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.reactive.socket.server.support.WebSocketHandlerAdapter;
+
+import java.util.Map;
+
+/**
+ * Serves {@code /ws/lobby} on Spring WebFlux instead of the servlet WebSocket stack.
+ * <p>
+ * Enabled by the {@value #PROFILE} profile, which also switches the application to the
+ * reactive web server (see {@code application-reactive.properties}). Without it the servlet
+ * transport in {@link be.lefief.config.WebSocketConfig} is used.
+ */
+@Configuration
+@Profile(ReactiveWebSocketConfig.PROFILE)
+public class ReactiveWebSocketConfig {
+
+    public static final String PROFILE = "reactive";
+    public static final String ENDPOINT = "/ws/lobby";
+
+    @Bean
+    public HandlerMapping reactiveWebSocketMapping(ReactiveConnectionHandler handler) {
+        CorsConfiguration cors = new CorsConfiguration();
+        cors.addAllowedOriginPattern("*");
+        SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping(Map.of(ENDPOINT, handler));
+        mapping.setCorsConfigurations(Map.of(ENDPOINT, cors));
+        // Ahead of annotated controllers
+        mapping.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return mapping;
+    }
+
+    @Bean
+    public WebSocketHandlerAdapter webSocketHandlerAdapter() {
+        return new WebSocketHandlerAdapter();
+    }
+}
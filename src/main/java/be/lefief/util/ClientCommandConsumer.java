@@ -15,9 +15,10 @@ public class ClientCommandConsumer {
 
     public static Consumer<String> createCommandConsumer(ClientSession clientSession, CommandRouter commandRouter){
         return (message) -> {
-            LOG.info("Client {} @ {} sent: {}", Optional.ofNullable(clientSession.getUserId()).map(UUID::toString).orElse("<unauthenticated>"), clientSession.getRemoteAddress(), message);
-            Optional.ofNullable(CommandSerializer.deserializeClientToServerCommand(message))
-                    .ifPresent(deserializedCommand -> commandRouter.handle(deserializedCommand, clientSession));
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Client {} @ {} sent: {}", Optional.ofNullable(clientSession.getUserId()).map(UUID::toString).orElse("<unauthenticated>"), clientSession.getRemoteAddress(), message);
+            }
+            commandRouter.handleMessage(message, clientSession);
         };
     }
 
@@ -2,19 +2,59 @@ package be.lefief.util;
 
 import be.lefief.sockets.SocketCommand;
 import be.lefief.sockets.commands.ClientToServerCommand;
+import be.lefief.sockets.commands.JsonPayload;
+import be.lefief.sockets.commands.ServerToClientCommand;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SegmentedStringWriter;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.apache.logging.log4j.util.Strings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
 public class CommandSerializer {
     private static final Logger LOG = LoggerFactory.getLogger(CommandSerializer.class);
     private static final ObjectMapper OM = new ObjectMapper()
             .registerModule(new JavaTimeModule());
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+    // One prebuilt writer per payload record type
+    private static final ClassValue<ObjectWriter> PAYLOAD_WRITERS = new ClassValue<>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+            return OM.writerFor(type);
+        }
+    };
+    // One prebuilt reader per inbound payload record type. Missing or null fields are rejected
+    // rather than defaulting to 0; fields the record does not know are ignored.
+    private static final ClassValue<ObjectReader> PAYLOAD_READERS = new ClassValue<>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> type) {
+            return OM.readerFor(type)
+                    .with(DeserializationFeature.FAIL_ON_MISSING_CREATOR_PROPERTIES)
+                    .with(DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES)
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        }
+    };
+
     public static String serialize(SocketCommand socketCommand){
         if(socketCommand == null) return null;
+        else if (socketCommand instanceof ServerToClientCommand command && command.hasTypedPayload()) {
+            return serializeTyped(command);
+        }
         else {
             try {
                 return OM.writeValueAsString(socketCommand);
@@ -35,6 +75,103 @@ public class CommandSerializer {
         }
     }
 
+    /**
+     * An inbound command together with the route its subject and topic resolved to.
+     */
+    public record RoutedCommand<R>(R route, ClientToServerCommand command) {
+    }
+
+    /**
+     * Streaming decode of an inbound command. The subject and topic tokens are read first and
+     * resolved with {@code router}; the data object is then bound once, or not at all when nothing
+     * handles the command. When {@code payloadType} names a record for the route, the data is
+     * bound straight into that record; otherwise it becomes the command's map. Clients send subject
+     * and topic before data; should data come first it is buffered as tokens until routed.
+     *
+     * @return null for malformed input or when {@code router} returns null
+     */
+    public static <R> RoutedCommand<R> decodeRouted(String line, BiFunction<String, String, R> router,
+                                                    Function<R, Class<? extends Record>> payloadType) {
+        if (Strings.isBlank(line)) return null;
+        try (JsonParser parser = OM.getFactory().createParser(line)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) return null;
+            String subject = null;
+            String topic = null;
+            ClientToServerCommand command = null;
+            TokenBuffer early = null;
+            R route = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "subject" -> subject = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    case "topic" -> topic = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    case "data" -> {
+                        if (value != JsonToken.START_OBJECT) {
+                            parser.skipChildren();
+                        } else if (subject != null && topic != null) {
+                            route = router.apply(subject, topic);
+                            if (route == null) return null;
+                            command = bindData(parser, payloadType.apply(route));
+                        } else {
+                            early = TokenBuffer.asCopyOfValue(parser);
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+            if (subject == null || topic == null) return null;
+            if (route == null) {
+                route = router.apply(subject, topic);
+                if (route == null) return null;
+            }
+            if (command == null && early != null) {
+                try (JsonParser buffered = early.asParser(OM)) {
+                    buffered.nextToken();
+                    command = bindData(buffered, payloadType.apply(route));
+                }
+            }
+            if (command == null) {
+                command = new ClientToServerCommand();
+            }
+            command.setSubject(subject);
+            command.setTopic(topic);
+            return new RoutedCommand<>(route, command);
+        } catch (IOException e) {
+            LOG.warn("Could not decode command: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Bind the data object the parser is positioned on into a command, as {@code type} when set.
+     */
+    private static ClientToServerCommand bindData(JsonParser parser, Class<? extends Record> type) throws IOException {
+        ClientToServerCommand command = new ClientToServerCommand();
+        if (type != null) {
+            command.setTypedPayload(PAYLOAD_READERS.get(type).readValue(parser));
+        } else {
+            command.setData(OM.readValue(parser, MAP_TYPE));
+        }
+        return command;
+    }
+
+    /**
+     * Bind a map of command data into a payload record, with the same rules as the streaming decode.
+     *
+     * @throws IllegalArgumentException when the data does not fit the record
+     */
+    public static <P extends Record> P bindPayload(Map<String, Object> data, Class<P> type) {
+        if (data == null) {
+            throw new IllegalArgumentException("No data for " + type.getSimpleName());
+        }
+        try {
+            return PAYLOAD_READERS.get(type).readValue((JsonNode) OM.valueToTree(data));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid " + type.getSimpleName() + ": " + e.getMessage(), e);
+        }
+    }
+
     public static ClientToServerCommand deserializeClientToServerCommand(String line){
         if(Strings.isBlank(line)) return null;
         try {
@@ -44,4 +181,53 @@ public class CommandSerializer {
             return null;
         }
     }
+
+    /**
+     * Streams the envelope and typed payload straight into the output, producing the
+     * same JSON as the map-based path.
+     */
+    private static String serializeTyped(ServerToClientCommand command) {
+        SegmentedStringWriter out = new SegmentedStringWriter(OM.getFactory()._getBufferRecycler());
+        try (JsonGenerator gen = OM.getFactory().createGenerator(out)) {
+            gen.writeStartObject();
+            gen.writeStringField("subject", command.getSubject());
+            gen.writeStringField("topic", command.getTopic());
+            gen.writeFieldName("data");
+            writeData(command, gen);
+            gen.writeEndObject();
+        } catch (IOException e) {
+            LOG.error(e.getMessage(), e);
+            return null;
+        }
+        return out.getAndClear();
+    }
+
+    private static void writeData(ServerToClientCommand command, JsonGenerator gen) throws IOException {
+        if (command instanceof JsonPayload streamed) {
+            streamed.writeData(gen);
+        } else {
+            Record payload = command.getTypedPayload();
+            PAYLOAD_WRITERS.get(payload.getClass()).writeValue(gen, payload);
+        }
+    }
+
+    /**
+     * Map view of an inbound payload record, for callers that still inspect {@code getData()}.
+     */
+    public static Map<String, Object> payloadAsMap(Record payload) {
+        return OM.convertValue(payload, MAP_TYPE);
+    }
+
+    /**
+     * Map view of a typed command's data, for callers that still inspect {@code getData()}.
+     */
+    public static Map<String, Object> dataAsMap(ServerToClientCommand command) {
+        try (TokenBuffer buffer = new TokenBuffer(OM, false)) {
+            writeData(command, buffer);
+            return OM.readValue(buffer.asParser(), MAP_TYPE);
+        } catch (IOException e) {
+            LOG.error(e.getMessage(), e);
+            return null;
+        }
+    }
 }
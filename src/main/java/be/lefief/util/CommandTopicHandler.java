@@ -34,6 +34,13 @@ public abstract class CommandTopicHandler<T extends ClientToServerCommand> {
         listeners.remove(commandHandler);
     }
 
+    /**
+     * Record the decoder binds this topic's data into directly, or null to bind it as a map.
+     */
+    public Class<? extends Record> getPayloadType() {
+        return null;
+    }
+
     public abstract SecuredClientToServerCommand<T> identify(ClientToServerCommand command, ClientSession clientSession);
     public void handle(ClientToServerCommand clientToServerCommand, ClientSession clientSession) {
         listeners.forEach(listener -> listener.accept(identify(clientToServerCommand, clientSession), clientSession));
@@ -0,0 +1,177 @@
+package be.lefief.benchmark;
+
+import be.lefief.game.GameClock;
+import be.lefief.game.turrest02.commands.CreepDeltaCommand;
+import be.lefief.game.turrest02.commands.CreepKeyframeCommand;
+import be.lefief.game.turrest02.commands.PlaceTowerCommand;
+import be.lefief.game.turrest02.commands.PlayerScoreEntry;
+import be.lefief.game.turrest02.commands.ScoreboardCommand;
+import be.lefief.game.turrest02.creep.CreepGrid;
+import be.lefief.game.turrest02.creep.CreepPool;
+import be.lefief.game.turrest02.creep.PathGeometry;
+import be.lefief.game.turrest02.creep.CreepType;
+import be.lefief.sockets.commands.ServerToClientCommand;
+import be.lefief.sockets.commands.client.ClientSocketSubject;
+import be.lefief.util.CommandSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.awt.Point;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the old map-based command serialization with typed/streamed payloads, and
+ * inbound decoding through a data map with binding straight into the payload record.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=be.lefief.benchmark.CommandSerializationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandSerializationBenchmark {
+
+    private static final ObjectMapper OM = new ObjectMapper();
+    private static final String PLACE_TOWER =
+            "{\"subject\":\"GAME\",\"topic\":\"PLACE_TOWER\",\"data\":{\"x\":12,\"y\":7,\"towerType\":2}}";
+
+    @Param({"50", "500"})
+    private int creeps;
+
+    private CreepPool pool;
+    // A delta where every creep moved to a new segment and took damage
+    private int[] deltaIds;
+    private int[] deltaMasks;
+    private double[] deltaProgress;
+    private int[] deltaHitpoints;
+    private double[] deltaSpeeds;
+    private List<PlayerScoreEntry> scores;
+
+    @Setup
+    public void setup() {
+        List<Point> path = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            path.add(new Point(i, 0));
+        }
+        pool = new CreepPool(List.of(PathGeometry.of(new Point(0, 0), path)), new CreepGrid[]{new CreepGrid(0, 0, 64, 64)}, new GameClock());
+        deltaIds = new int[creeps];
+        deltaMasks = new int[creeps];
+        deltaProgress = new double[creeps];
+        deltaHitpoints = new int[creeps];
+        deltaSpeeds = new double[creeps];
+        for (int i = 0; i < creeps; i++) {
+            int slot = pool.spawn(CreepType.GHOST, 0, CreepPool.NO_SENDER, new Point(0, 0));
+            pool.move(slot, (i % 40) * 0.37);
+            deltaIds[i] = pool.getId(slot);
+            deltaMasks[i] = CreepDeltaCommand.FLAG_PROGRESS | CreepDeltaCommand.FLAG_HP;
+            deltaProgress[i] = pool.getProgress(slot);
+            deltaHitpoints[i] = pool.getHitpoints(slot);
+        }
+        scores = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            scores.add(new PlayerScoreEntry(i, i, "player" + i, i * 100, i % 2 == 0));
+        }
+    }
+
+    @Benchmark
+    public String creepDeltaMaps() throws Exception {
+        List<Map<String, Object>> updates = new ArrayList<>(deltaIds.length);
+        for (int i = 0; i < deltaIds.length; i++) {
+            Map<String, Object> update = new HashMap<>();
+            update.put("id", deltaIds[i]);
+            update.put("progress", deltaProgress[i]);
+            update.put("hp", deltaHitpoints[i]);
+            updates.add(update);
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("tick", 1L);
+        data.put("updates", updates);
+        return OM.writeValueAsString(new ServerToClientCommand(ClientSocketSubject.GAME,
+                CreepDeltaCommand.TOPIC, data));
+    }
+
+    @Benchmark
+    public String creepDeltaStreamed() {
+        return CommandSerializer.serialize(new CreepDeltaCommand(
+                1, deltaIds, deltaMasks, deltaProgress, deltaHitpoints, deltaSpeeds));
+    }
+
+    @Benchmark
+    public String creepKeyframeMaps() throws Exception {
+        List<Map<String, Object>> creepStates = new ArrayList<>(pool.size());
+        for (int i = 0; i < pool.size(); i++) {
+            int slot = pool.slotAt(i);
+            Map<String, Object> creep = new HashMap<>();
+            creep.put("creepId", pool.getId(slot));
+            creep.put("creepType", pool.getType(slot).getId());
+            creep.put("x", pool.getX(slot));
+            creep.put("y", pool.getY(slot));
+            creep.put("progress", pool.getProgress(slot));
+            creep.put("playerNumber", pool.getOwnerPlayerNumber(slot));
+            creep.put("spawnedByPlayer", pool.getSpawnedByPlayerOrNull(slot));
+            creep.put("hitpoints", pool.getHitpoints(slot));
+            creep.put("maxHitpoints", pool.getType(slot).getHitpoints());
+            creep.put("speed", pool.getEffectiveClientSpeed(slot));
+            creepStates.add(creep);
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("tick", 1L);
+        data.put("creeps", creepStates);
+        return OM.writeValueAsString(new ServerToClientCommand(ClientSocketSubject.GAME,
+                CreepKeyframeCommand.TOPIC, data));
+    }
+
+    @Benchmark
+    public String creepKeyframeStreamed() {
+        return CommandSerializer.serialize(new CreepKeyframeCommand(pool, 1));
+    }
+
+    @Benchmark
+    public String scoreboardMaps() throws Exception {
+        List<Map<String, Object>> players = new ArrayList<>();
+        for (PlayerScoreEntry e : scores) {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("playerNumber", e.getPlayerNumber());
+            entry.put("colorIndex", e.getColorIndex());
+            entry.put("username", e.getUsername());
+            entry.put("score", e.getScore());
+            entry.put("isAlive", e.isAlive());
+            players.add(entry);
+        }
+        return OM.writeValueAsString(new ServerToClientCommand(ClientSocketSubject.GAME,
+                ScoreboardCommand.TOPIC, Map.of("players", players)));
+    }
+
+    @Benchmark
+    public String scoreboardRecords() {
+        return CommandSerializer.serialize(new ScoreboardCommand(scores));
+    }
+
+    @Benchmark
+    public int placeTowerDecodeMap() {
+        CommandSerializer.RoutedCommand<String> routed =
+                CommandSerializer.decodeRouted(PLACE_TOWER, (subject, topic) -> topic, route -> null);
+        return new PlaceTowerCommand(routed.command().payload(PlaceTowerCommand.Payload.class)).getX();
+    }
+
+    @Benchmark
+    public int placeTowerDecodeTyped() {
+        CommandSerializer.RoutedCommand<String> routed = CommandSerializer.decodeRouted(
+                PLACE_TOWER, (subject, topic) -> topic, route -> PlaceTowerCommand.Payload.class);
+        return new PlaceTowerCommand(routed.command().payload(PlaceTowerCommand.Payload.class)).getX();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CommandSerializationBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,68 @@
+package be.lefief.game;
+
+import be.lefief.sockets.ClientSession;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Game inbound command queue Tests")
+class GameInboundTest {
+
+    private static class EmptyGame extends Game<Player> {
+        EmptyGame() {
+            super(List.of(), null, Map.of(), null);
+        }
+
+        @Override
+        protected Player createPlayer(ClientSession session, int playerNumber, UUID gameId, int colorIndex) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void stop() {
+        }
+
+        @Override
+        protected void resyncPlayer(Player player) {
+        }
+    }
+
+    private final EmptyGame game = new EmptyGame();
+
+    @Test
+    @DisplayName("Submitted commands only run when the tick drains them, in order")
+    void testDrainOrder() {
+        List<Integer> ran = new ArrayList<>();
+        game.submit(() -> ran.add(1));
+        game.submit(() -> { throw new IllegalStateException("bad command"); });
+        game.submit(() -> ran.add(2));
+        assertEquals(List.of(), ran);
+
+        game.drainInbound();
+        assertEquals(List.of(1, 2), ran, "a failing command does not stop the others");
+    }
+
+    @Test
+    @DisplayName("A tick runs at most MAX_COMMANDS_PER_TICK commands, the rest wait")
+    void testDrainLimit() {
+        int[] ran = new int[1];
+        for (int i = 0; i < Game.MAX_COMMANDS_PER_TICK + 10; i++) {
+            game.submit(() -> ran[0]++);
+        }
+
+        game.drainInbound();
+        assertEquals(Game.MAX_COMMANDS_PER_TICK, ran[0]);
+        game.drainInbound();
+        assertEquals(Game.MAX_COMMANDS_PER_TICK + 10, ran[0]);
+    }
+}
@@ -0,0 +1,133 @@
+package be.lefief.game;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GameTickScheduler Tests")
+class GameTickSchedulerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GameTickScheduler scheduler = newScheduler(2, TickOverrunPolicy.CATCH_UP);
+
+    private GameTickScheduler newScheduler(int shards, TickOverrunPolicy policy) {
+        return new GameTickScheduler(shards, policy, 3, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.destroy();
+    }
+
+    @Test
+    @DisplayName("Games are spread over the least loaded shards")
+    void testAssignBalancesLoad() {
+        GameTickScheduler.TickRegistration first = scheduler.assign("a");
+        scheduler.assign("b");
+        scheduler.assign("c");
+
+        assertArrayEquals(new int[]{2, 1}, scheduler.getShardLoads());
+
+        first.cancel();
+        assertArrayEquals(new int[]{1, 1}, scheduler.getShardLoads());
+    }
+
+    @Test
+    @DisplayName("Started games are ticked until cancelled")
+    void testTickUntilCancelled() throws InterruptedException {
+        GameTickScheduler.TickRegistration registration = scheduler.assign("game");
+        CountDownLatch ticked = new CountDownLatch(2);
+        AtomicInteger ticks = new AtomicInteger();
+        registration.start(delta -> {
+            ticks.incrementAndGet();
+            ticked.countDown();
+        });
+
+        assertTrue(ticked.await(2, TimeUnit.SECONDS));
+        registration.cancel();
+        Thread.sleep(GameTickScheduler.TICK_RATE_MS); // let the removal run
+        int afterCancel = ticks.get();
+        Thread.sleep(GameTickScheduler.TICK_RATE_MS * 2L);
+
+        assertEquals(afterCancel, ticks.get());
+        assertTrue(registration.isCancelled());
+    }
+
+    @Test
+    @DisplayName("A failing game does not stop the other games on its shard")
+    void testFailingTickIsolated() throws InterruptedException {
+        GameTickScheduler single = newScheduler(1, TickOverrunPolicy.CATCH_UP);
+        try {
+            single.assign("broken").start(delta -> {
+                throw new IllegalStateException("boom");
+            });
+            CountDownLatch ticked = new CountDownLatch(2);
+            single.assign("healthy").start(delta -> ticked.countDown());
+
+            assertTrue(ticked.await(2, TimeUnit.SECONDS));
+        } finally {
+            single.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Overrunning ticks are caught up in bounded bursts and the rest is dropped")
+    void testCatchUpAfterOverrun() throws InterruptedException {
+        GameTickScheduler single = newScheduler(1, TickOverrunPolicy.CATCH_UP);
+        try {
+            AtomicInteger ticks = new AtomicInteger();
+            CountDownLatch done = new CountDownLatch(1);
+            single.assign("slow").start(delta -> {
+                // First tick overruns by ~5 periods
+                if (ticks.incrementAndGet() == 1) sleep(GameTickScheduler.TICK_RATE_MS * 5L);
+                if (ticks.get() == 4) done.countDown();
+            });
+
+            assertTrue(done.await(3, TimeUnit.SECONDS));
+            assertTrue(meterRegistry.get("turrest.tick.dropped").tag("shard", "0").counter().count() >= 1);
+            assertTrue(meterRegistry.get("turrest.tick.lateness").timers().stream()
+                    .anyMatch(timer -> timer.max(TimeUnit.MILLISECONDS) >= GameTickScheduler.TICK_RATE_MS));
+        } finally {
+            single.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Stretch policy passes the real elapsed time as delta")
+    void testStretchDelta() throws InterruptedException {
+        GameTickScheduler single = newScheduler(1, TickOverrunPolicy.STRETCH);
+        try {
+            AtomicInteger ticks = new AtomicInteger();
+            double[] secondDelta = new double[1];
+            CountDownLatch done = new CountDownLatch(1);
+            single.assign("slow").start(delta -> {
+                int tick = ticks.incrementAndGet();
+                if (tick == 1) sleep(GameTickScheduler.TICK_RATE_MS * 2L + 50);
+                if (tick == 2) {
+                    secondDelta[0] = delta;
+                    done.countDown();
+                }
+            });
+
+            assertTrue(done.await(3, TimeUnit.SECONDS));
+            assertTrue(secondDelta[0] > GameTickScheduler.TICK_DURATION_SEC);
+        } finally {
+            single.destroy();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package be.lefief.game;
+
+import be.lefief.game.turrest02.commands.CreepDeltaCommand;
+import be.lefief.game.turrest02.commands.CreepKeyframeCommand;
+import be.lefief.game.turrest02.commands.GameOverCommand;
+import be.lefief.game.turrest02.commands.ResourceUpdateResponse;
+import be.lefief.game.turrest02.creep.CreepGrid;
+import be.lefief.game.turrest02.creep.CreepPool;
+import be.lefief.sockets.ClientSession;
+import be.lefief.sockets.OutboundQueue;
+import be.lefief.sockets.PreparedMessage;
+import be.lefief.sockets.binary.BinaryProtocol;
+import be.lefief.sockets.commands.DeliveryPolicy;
+import be.lefief.sockets.commands.ServerToClientCommand;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TickFrame Tests")
+class TickFrameTest {
+
+    private final PreparedMessage delta = PreparedMessage.of(new CreepDeltaCommand(
+            7, new int[]{1}, new int[]{CreepDeltaCommand.FLAG_HP}, new double[1], new int[]{5}, new double[1]));
+    private final PreparedMessage resources = PreparedMessage.of(new ResourceUpdateResponse(1, 2, 3));
+
+    private TickFrame frame() {
+        TickFrame frame = new TickFrame(7);
+        frame.add(delta);
+        frame.add(resources);
+        return frame;
+    }
+
+    @Test
+    @DisplayName("JSON form embeds the already serialized commands in order")
+    void testJsonEnvelope() throws Exception {
+        JsonNode json = new ObjectMapper().readTree(PreparedMessage.of(frame()).getPayload());
+
+        assertEquals(TickFrame.TOPIC, json.get("topic").asText());
+        assertEquals(7, json.get("data").get("tick").asInt());
+        JsonNode commands = json.get("data").get("commands");
+        assertEquals(2, commands.size());
+        assertEquals(new ObjectMapper().readTree(delta.getPayload()), commands.get(0));
+        assertEquals(new ObjectMapper().readTree(resources.getPayload()), commands.get(1));
+    }
+
+    @Test
+    @DisplayName("Binary form nests binary frames and falls back to JSON text")
+    void testBinaryEnvelope() {
+        ByteBuffer in = ByteBuffer.wrap(PreparedMessage.of(frame()).getBinaryFrame());
+
+        assertEquals(BinaryProtocol.VERSION, in.get());
+        assertEquals(BinaryProtocol.OP_TICK_FRAME, in.get());
+        assertEquals(7, in.get());  // tick and count fit in one varint byte
+        assertEquals(2, in.get());
+
+        assertEquals(BinaryProtocol.PART_BINARY, in.get());
+        byte[] nested = new byte[in.get()];
+        in.get(nested);
+        assertArrayEquals(delta.getBinaryFrame(), nested);
+
+        assertEquals(BinaryProtocol.PART_JSON, in.get());
+        byte[] text = Arrays.copyOfRange(in.array(), in.position() + 1, in.limit());
+        assertEquals(resources.getPayload(), new String(text, StandardCharsets.UTF_8));
+    }
+
+    private static PreparedMessage keyframe(long tick) {
+        return PreparedMessage.of(new CreepKeyframeCommand(
+                new CreepPool(List.of(), new CreepGrid[0], new GameClock()), tick));
+    }
+
+    @Test
+    @DisplayName("LATEST_ONLY parts stay out of the frame, the newest per topic is kept")
+    void testLatestOnlyKeptOut() {
+        TickFrame frame = frame();
+        PreparedMessage older = keyframe(6);
+        PreparedMessage newer = keyframe(7);
+        frame.add(older);
+        frame.add(newer);
+
+        assertEquals(2, frame.size());
+        assertEquals(DeliveryPolicy.NORMAL, frame.getDeliveryPolicy());
+        assertEquals(List.of(newer), new ArrayList<>(frame.getLatestOnly()));
+    }
+
+    private static class OnePlayerGame extends Game<Player> {
+        OnePlayerGame(ClientSession session) {
+            super(List.of(session), null, Map.of(), null);
+        }
+
+        @Override
+        protected Player createPlayer(ClientSession session, int playerNumber, UUID gameId, int colorIndex) {
+            return new Player(session, playerNumber, gameId, colorIndex) {
+                @Override
+                public int getScore() {
+                    return 0;
+                }
+
+                @Override
+                public String getScoreLabel() {
+                    return "";
+                }
+            };
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void stop() {
+        }
+
+        @Override
+        protected void resyncPlayer(Player player) {
+        }
+
+        void tick(PreparedMessage... messages) {
+            beginTickFrames();
+            for (PreparedMessage message : messages) {
+                sendToPlayer(getPlayerByNumber().get(0), message);
+            }
+            flushTickFrames();
+        }
+    }
+
+    private final OutboundQueue<PreparedMessage> queue = new OutboundQueue<>(message -> message.getPayload().length());
+
+    /**
+     * A client that reads nothing: every message the game flushes piles up in its outbound queue.
+     */
+    private ClientSession stalledSession() {
+        ClientSession session = mock(ClientSession.class);
+        when(session.getUserId()).thenReturn(UUID.randomUUID());
+        doAnswer(invocation -> {
+            PreparedMessage message = invocation.getArgument(0);
+            ServerToClientCommand command = message.getCommand();
+            return queue.offer(message, command.getTopic(), command.getDeliveryPolicy());
+        }).when(session).sendPrepared(any());
+        return session;
+    }
+
+    private List<PreparedMessage> drain() {
+        List<PreparedMessage> queued = new ArrayList<>();
+        PreparedMessage message;
+        while ((message = queue.poll()) != null) {
+            queued.add(message);
+        }
+        return queued;
+    }
+
+    @Test
+    @DisplayName("Keyframes sent through tick frames are superseded in a backed-up outbound queue")
+    void testKeyframesDroppedUnderBackpressure() {
+        OnePlayerGame game = new OnePlayerGame(stalledSession());
+
+        PreparedMessage lastKeyframe = null;
+        for (int tick = 0; tick < 10; tick++) {
+            lastKeyframe = keyframe(tick);
+            game.tick(delta, resources, lastKeyframe);
+        }
+
+        List<PreparedMessage> queued = drain();
+        List<PreparedMessage> keyframes = queued.stream()
+                .filter(m -> CreepKeyframeCommand.TOPIC.equals(m.getCommand().getTopic()))
+                .toList();
+        assertEquals(List.of(lastKeyframe), keyframes, "only the newest keyframe is still queued");
+        assertEquals(11, queued.size(), "every tick's frame stays queued");
+        assertEquals(9, queue.getStats().dropped());
+        assertEquals(lastKeyframe, queued.get(queued.size() - 1));
+    }
+
+    @Test
+    @DisplayName("Flushed tick frames keep their policies in the queue: deltas kept, keyframes superseded, critical frames kept")
+    void testFlushedFramePolicies() {
+        OnePlayerGame game = new OnePlayerGame(stalledSession());
+
+        for (int tick = 0; tick < 5; tick++) {
+            game.tick(delta, keyframe(tick));
+        }
+        PreparedMessage gameOver = PreparedMessage.of(new GameOverCommand(0, true));
+        PreparedMessage lastKeyframe = keyframe(5);
+        game.tick(resources, gameOver, lastKeyframe);
+
+        List<PreparedMessage> queued = drain();
+        List<String> topics = queued.stream().map(m -> m.getCommand().getTopic()).toList();
+        assertEquals(List.of(CreepDeltaCommand.TOPIC, CreepDeltaCommand.TOPIC, CreepDeltaCommand.TOPIC,
+                CreepDeltaCommand.TOPIC, CreepDeltaCommand.TOPIC, TickFrame.TOPIC, CreepKeyframeCommand.TOPIC), topics);
+        assertSame(lastKeyframe, queued.get(6));
+        assertEquals(DeliveryPolicy.CRITICAL, queued.get(5).getCommand().getDeliveryPolicy(),
+                "a frame with game over stays critical");
+    }
+}
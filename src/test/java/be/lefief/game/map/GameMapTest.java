@@ -0,0 +1,69 @@
+package be.lefief.game.map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GameMap Tests")
+class GameMapTest {
+
+    private static final Structure ROAD = new Structure() {
+        @Override
+        public int getStructureTypeId() {
+            return 1;
+        }
+    };
+
+    private static GameMap twoPlayerMap() throws IOException {
+        LevelLoader level = LevelLoader.load("levels/turrest02/0001.level");
+        return GameMap.createFromLevelWithRoads(level, 2, Set.of(new Point(1, 1)), () -> ROAD);
+    }
+
+    @Test
+    @DisplayName("Each section is owned by its player and gets the same roads")
+    void testSectionsCopied() throws IOException {
+        GameMap map = twoPlayerMap();
+        int offset = map.getPlayerOffsetX(1);
+
+        assertTrue(map.canPlayerBuild(1, 1, 0));
+        assertFalse(map.canPlayerBuild(1, 1, 1));
+        assertTrue(map.canPlayerBuild(offset + 1, 1, 1));
+        assertSame(ROAD, map.getStructure(1, 1));
+        assertSame(ROAD, map.getStructure(offset + 1, 1));
+        assertEquals(map.getTerrainType(2, 3), map.getTerrainType(offset + 2, 3));
+    }
+
+    @Test
+    @DisplayName("Tile views read and write through to the map")
+    void testTileView() throws IOException {
+        GameMap map = twoPlayerMap();
+        Tile tile = map.getTile(3, 2);
+        Structure building = new Structure() {
+            @Override
+            public int getStructureTypeId() {
+                return 2;
+            }
+        };
+
+        tile.setStructure(building);
+        tile.addOwner(1);
+
+        assertSame(building, map.getTile(3, 2).getStructure());
+        assertEquals(Set.of(0, 1), map.getTile(3, 2).getOwners());
+        assertEquals(tile, map.getTile(3, 2));
+        assertNull(map.getTile(-1, 0));
+    }
+
+    @Test
+    @DisplayName("Owner masks decode to ascending player numbers")
+    void testOwnersOf() {
+        assertEquals(List.of(0, 3, 63), GameMap.ownersOf(1L | 1L << 3 | 1L << 63));
+        assertTrue(GameMap.ownersOf(0).isEmpty());
+    }
+}
@@ -0,0 +1,23 @@
+package be.lefief.game.turrest02;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HeadlessMatch Tests")
+class HeadlessMatchTest {
+
+    @Test
+    @DisplayName("Bots play faster than real time on the game clock")
+    void testRunsFasterThanRealTime() {
+        // 3000 ticks = 10 minutes of game time at 5 Hz
+        HeadlessMatch.Result result = HeadlessMatch.play(2, 3000);
+
+        assertTrue(result.ticks() > 0);
+        assertEquals(result.ticks() * 200, result.gameTimeMs());
+        assertTrue(result.wallTimeMs() < result.gameTimeMs(),
+                "wall " + result.wallTimeMs() + "ms vs game " + result.gameTimeMs() + "ms");
+        assertEquals(2, result.hitpoints().size());
+    }
+}
@@ -0,0 +1,32 @@
+package be.lefief.game.turrest02;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SectionTasks Tests")
+class SectionTasksTest {
+
+    @Test
+    @DisplayName("Every section runs exactly once, forked or not")
+    void testEachSectionRunsOnce() {
+        for (int workload : new int[]{0, SectionTasks.PARALLEL_THRESHOLD}) {
+            AtomicIntegerArray runs = new AtomicIntegerArray(7);
+            SectionTasks.forEachSection(7, workload, runs::incrementAndGet);
+
+            for (int section = 0; section < 7; section++) {
+                assertEquals(1, runs.get(section), "section " + section + " with workload " + workload);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Small workloads stay on the calling thread")
+    void testSmallWorkloadRunsInline() {
+        Thread caller = Thread.currentThread();
+        SectionTasks.forEachSection(4, 1, section -> assertSame(caller, Thread.currentThread()));
+    }
+}
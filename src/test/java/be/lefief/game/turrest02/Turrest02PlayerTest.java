@@ -0,0 +1,43 @@
+package be.lefief.game.turrest02;
+
+import be.lefief.game.ai.BotSession;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Turrest02Player Tests")
+class Turrest02PlayerTest {
+
+    private final Turrest02Player player = new Turrest02Player(new BotSession("bot"), 0, UUID.randomUUID(), 0);
+
+    @Test
+    @DisplayName("Hitpoint changes add up until they are consumed")
+    void testHitpointChange() {
+        assertEquals(0, player.consumeHitpointChange());
+
+        player.takeDamage(3);
+        player.takeDamage(2);
+        player.heal(1);
+
+        assertEquals(4, player.consumeHitpointChange());
+        assertEquals(0, player.consumeHitpointChange());
+
+        player.heal(2);
+        assertEquals(-2, player.consumeHitpointChange());
+    }
+
+    @Test
+    @DisplayName("Resources are reported changed once per batch of changes")
+    void testResourcesChanged() {
+        assertFalse(player.consumeResourcesChanged());
+
+        player.getResources().addGold(5);
+        player.getResources().addProduction();
+
+        assertTrue(player.consumeResourcesChanged());
+        assertFalse(player.consumeResourcesChanged());
+    }
+}
@@ -0,0 +1,114 @@
+package be.lefief.game.turrest02;
+
+import be.lefief.game.HeadlessGameLoop;
+import be.lefief.game.ai.BotSession;
+import be.lefief.game.turrest02.commands.PlayerInfoResponse;
+import be.lefief.game.turrest02.creep.CreepPool;
+import be.lefief.game.turrest02.creep.CreepType;
+import be.lefief.game.turrest02.level.LevelRegistry;
+import be.lefief.sockets.ClientSession;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TurrestGameMode02 lifecycle Tests")
+class TurrestGameMode02Test {
+
+    private final BotSession first = new BotSession("Bot 1");
+    private final BotSession second = new BotSession("Bot 2");
+    private final HeadlessGameLoop loop = new HeadlessGameLoop();
+    private final TurrestGameMode02 game = new TurrestGameMode02(List.of(first, second), null, Map.of(), loop,
+            new LevelRegistry().getDefaultTemplate(), null);
+
+    private Turrest02Player player(int playerNumber) {
+        return game.getPlayerByNumber().get(playerNumber);
+    }
+
+    private ClientSession newSession(UUID userId) {
+        ClientSession session = mock(ClientSession.class);
+        when(session.getUserId()).thenReturn(userId);
+        when(session.getUserName()).thenReturn("reconnected");
+        return session;
+    }
+
+    @Test
+    @DisplayName("A disconnect and reconnect during the countdown apply right away")
+    void testLifecycleDuringCountdown() {
+        game.start();
+
+        game.handlePlayerDisconnect(first.getUserId());
+        assertFalse(player(0).isConnected());
+
+        ClientSession session = newSession(first.getUserId());
+        game.reconnectPlayer(first.getUserId(), session);
+        assertTrue(player(0).isConnected());
+        assertSame(session, player(0).getClientSession());
+        verify(session, atLeastOnce()).sendCommand(isA(PlayerInfoResponse.class));
+    }
+
+    @Test
+    @DisplayName("While ticking, lifecycle commands wait for the tick; stopping runs what is still queued")
+    void testLifecycleWhileTickingAndAfterStop() {
+        game.start();
+        loop.run(3);
+
+        game.handlePlayerDisconnect(second.getUserId());
+        assertTrue(player(1).isConnected(), "queued for the next tick");
+        loop.run(1);
+        assertFalse(player(1).isConnected());
+
+        game.handlePlayerDisconnect(first.getUserId());
+        game.stop();
+        assertFalse(player(0).isConnected(), "drained when the game stopped");
+
+        // After the game ended a reconnect still gets its resync
+        ClientSession session = newSession(first.getUserId());
+        game.reconnectPlayer(first.getUserId(), session);
+        assertTrue(player(0).isConnected());
+        verify(session, atLeastOnce()).sendCommand(any());
+
+        // Player commands are no longer accepted
+        int[] ran = new int[1];
+        game.submit(() -> ran[0]++);
+        game.stop();
+        assertEquals(0, ran[0]);
+    }
+
+    @Test
+    @DisplayName("A creep sent by a player spawns when its command is drained and moves in that tick")
+    void testSentCreepSpawnsInTick() {
+        game.start();
+        loop.run(3);
+        CreepPool pool = game.getCreepManager().getCreepPool();
+        Set<Integer> before = new HashSet<>();
+        for (int i = 0; i < pool.size(); i++) {
+            before.add(pool.getId(pool.slotAt(i)));
+        }
+
+        game.submit(() -> game.getCreepManager().spawnSentCreep(CreepType.GHOST, 0, game));
+        loop.run(1);
+
+        boolean moved = false;
+        for (int i = 0; i < pool.size(); i++) {
+            int slot = pool.slotAt(i);
+            if (!before.contains(pool.getId(slot)) && Integer.valueOf(0).equals(pool.getSpawnedByPlayerOrNull(slot))) {
+                assertEquals(1, pool.getOwnerPlayerNumber(slot), "spawned on the opponent's section");
+                moved |= pool.getProgress(slot) > 0;
+            }
+        }
+        assertTrue(moved);
+    }
+}
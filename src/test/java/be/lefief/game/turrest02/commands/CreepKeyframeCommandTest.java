@@ -0,0 +1,100 @@
+package be.lefief.game.turrest02.commands;
+
+import be.lefief.game.GameClock;
+import be.lefief.game.turrest02.creep.CreepGrid;
+import be.lefief.game.turrest02.creep.CreepPool;
+import be.lefief.game.turrest02.creep.CreepType;
+import be.lefief.game.turrest02.creep.PathGeometry;
+import be.lefief.sockets.PreparedMessage;
+import be.lefief.sockets.binary.BinaryProtocol;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CreepKeyframeCommand Tests")
+class CreepKeyframeCommandTest {
+
+    private static final List<Point> PATH = List.of(new Point(1, 0), new Point(2, 0), new Point(3, 0));
+
+    private final CreepPool pool = new CreepPool(List.of(PathGeometry.of(new Point(1, 0), PATH)),
+            new CreepGrid[]{new CreepGrid(0, 0, 20, 20)}, new GameClock());
+
+    private void spawn(int count) {
+        for (int i = 0; i < count; i++) {
+            pool.spawn(CreepType.GHOST, 0, CreepPool.NO_SENDER, new Point(1, 0));
+        }
+    }
+
+    private static int readVarInt(ByteBuffer in) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    @Test
+    @DisplayName("Binary frame carries header, ids and quantized positions")
+    void testBinaryLayout() {
+        int slot = pool.spawn(CreepType.GHOST, 0, CreepPool.NO_SENDER, new Point(1, 0));
+        pool.move(slot, 0.5);
+
+        ByteBuffer in = ByteBuffer.wrap(new CreepKeyframeCommand(pool, 300).toBinaryFrame());
+
+        assertEquals(BinaryProtocol.VERSION, in.get());
+        assertEquals(BinaryProtocol.OP_CREEP_KEYFRAME, in.get());
+        assertEquals(300, readVarInt(in));
+        assertEquals(1, readVarInt(in));
+        assertEquals(pool.getId(slot), readVarInt(in));
+        byte[] type = new byte[readVarInt(in)];
+        in.get(type);
+        assertEquals(CreepType.GHOST.getId(), new String(type, StandardCharsets.UTF_8));
+        assertEquals(Math.round(pool.getX(slot) * BinaryProtocol.POSITION_SCALE), in.getShort() & 0xFFFF);
+        assertEquals(Math.round(pool.getY(slot) * BinaryProtocol.POSITION_SCALE), in.getShort() & 0xFFFF);
+        assertEquals(0, in.get());  // player
+        assertEquals(0, in.get());  // no sender
+        assertEquals(pool.getHitpoints(slot), readVarInt(in));
+        assertEquals(CreepType.GHOST.getHitpoints(), readVarInt(in));
+        assertEquals((float) pool.getEffectiveClientSpeed(slot), in.getFloat());
+        assertEquals((float) pool.getProgress(slot), in.getFloat());
+        assertFalse(in.hasRemaining());
+    }
+
+    @Test
+    @DisplayName("JSON form lists every creep with its full state")
+    void testJsonShape() {
+        spawn(2);
+        CreepKeyframeCommand command = new CreepKeyframeCommand(pool, 7);
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> creeps = (List<Map<String, Object>>) command.getData().get("creeps");
+
+        assertEquals(2, creeps.size());
+        assertEquals(pool.getId(pool.slotAt(1)), creeps.get(1).get("creepId"));
+        assertNull(creeps.get(0).get("spawnedByPlayer"));
+        assertEquals(7, ((Number) command.getData().get("tick")).intValue());
+    }
+
+    @Test
+    @DisplayName("Binary frame is several times smaller than the JSON payload")
+    void testBinaryIsSmaller() {
+        spawn(100);
+        PreparedMessage message = PreparedMessage.of(new CreepKeyframeCommand(pool, 1234));
+
+        int jsonBytes = message.getPayload().getBytes(StandardCharsets.UTF_8).length;
+        int binaryBytes = message.getBinaryFrame().length;
+
+        assertTrue(binaryBytes * 4 < jsonBytes, binaryBytes + " vs " + jsonBytes);
+    }
+}
@@ -0,0 +1,83 @@
+package be.lefief.game.turrest02.creep;
+
+import be.lefief.game.GameClock;
+import be.lefief.util.IntList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CreepGrid Tests")
+class CreepGridTest {
+
+    private static final List<Point> PATH = List.of(new Point(1, 0), new Point(2, 0), new Point(3, 0),
+            new Point(4, 0), new Point(5, 0), new Point(6, 0));
+
+    private final CreepGrid grid = new CreepGrid(0, 0, 20, 20);
+    private final CreepPool pool = new CreepPool(List.of(PathGeometry.of(new Point(0, 0), PATH)), new CreepGrid[]{grid}, new GameClock());
+
+    private int creepAt(int x, int y) {
+        return pool.spawn(CreepType.GHOST, 0, CreepPool.NO_SENDER, new Point(x, y));
+    }
+
+    private IntList query(double x, double y, double radius) {
+        IntList found = new IntList();
+        grid.forEachInRadius(x, y, radius, found::add);
+        return found;
+    }
+
+    @Test
+    @DisplayName("Radius query only returns creeps inside the circle")
+    void testForEachInRadius() {
+        int near = creepAt(2, 2);
+        creepAt(15, 15);
+
+        IntList found = query(3.0, 3.0, 2.0);
+
+        assertEquals(1, found.size());
+        assertEquals(near, found.get(0));
+    }
+
+    @Test
+    @DisplayName("Moving creep is relocated to its new cell")
+    void testMoveRelocatesCreep() {
+        int creep = creepAt(0, 0);
+
+        // Move far enough to cross at least one cell boundary
+        pool.move(creep, 5.0);
+
+        assertTrue(query(0.5, 0.5, 0.5).isEmpty());
+        IntList atNewPosition = query(pool.getX(creep), pool.getY(creep), 0.1);
+        assertEquals(1, atNewPosition.size());
+        assertEquals(creep, atNewPosition.get(0));
+    }
+
+    @Test
+    @DisplayName("Dead and released creeps are not returned")
+    void testDeadAndReleasedCreepsExcluded() {
+        int dead = creepAt(4, 4);
+        int released = creepAt(4, 5);
+
+        pool.takeDamage(dead, pool.getHitpoints(dead));
+        pool.release(released);
+
+        assertTrue(query(4.5, 4.5, 3.0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Released slots are recycled but ids are never reused")
+    void testSlotRecycling() {
+        int first = creepAt(1, 1);
+        int firstId = pool.getId(first);
+        pool.release(first);
+
+        int second = creepAt(1, 1);
+
+        assertEquals(first, second);
+        assertNotEquals(firstId, pool.getId(second));
+        assertEquals(1, pool.size());
+    }
+}
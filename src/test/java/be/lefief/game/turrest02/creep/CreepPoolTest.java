@@ -0,0 +1,47 @@
+package be.lefief.game.turrest02.creep;
+
+import be.lefief.game.GameClock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CreepPool Tests")
+class CreepPoolTest {
+
+    private static final List<Point> PATH = List.of(new Point(1, 0), new Point(2, 0), new Point(3, 0));
+
+    private final CreepPool pool = new CreepPool(List.of(PathGeometry.of(new Point(0, 0), PATH)),
+            new CreepGrid[]{new CreepGrid(0, 0, 10, 10)}, new GameClock());
+
+    @Test
+    @DisplayName("A creep is queued as dead once and cannot be healed back")
+    void testDeathQueue() {
+        int slot = pool.spawn(CreepType.GHOST, 0, CreepPool.NO_SENDER, new Point(0, 0));
+
+        pool.takeDamage(slot, pool.getHitpoints(slot));
+        pool.takeDamage(slot, 5);
+        pool.heal(slot, 5);
+
+        assertTrue(pool.isDead(slot));
+        assertEquals(1, pool.getDeaths(0).size());
+        assertEquals(slot, pool.getDeaths(0).get(0));
+        assertTrue(pool.getArrivals(0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("A creep is queued as arrived when it walks off the end of its path")
+    void testArrivalQueue() {
+        int slot = pool.spawn(CreepType.GHOST, 0, CreepPool.NO_SENDER, new Point(0, 0));
+
+        pool.move(slot, 100);
+        pool.move(slot, 100);
+
+        assertTrue(pool.hasReachedCastle(slot));
+        assertEquals(1, pool.getArrivals(0).size());
+        assertTrue(pool.getDeaths(0).isEmpty());
+    }
+}
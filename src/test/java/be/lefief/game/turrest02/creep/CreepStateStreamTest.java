@@ -0,0 +1,122 @@
+package be.lefief.game.turrest02.creep;
+
+import be.lefief.game.GameClock;
+import be.lefief.game.turrest02.commands.CreepDeltaCommand;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CreepStateStream Tests")
+class CreepStateStreamTest {
+
+    private static final List<Point> PATH = List.of(new Point(0, 0), new Point(10, 0), new Point(10, 10));
+
+    private final GameClock clock = new GameClock();
+    private final CreepPool pool = new CreepPool(List.of(PathGeometry.of(new Point(0, 0), PATH)),
+            new CreepGrid[]{new CreepGrid(0, 0, 20, 20)}, clock);
+    private final CreepStateStream stream = new CreepStateStream(pool);
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> updates() {
+        return (List<Map<String, Object>>) stream.createDelta(0).getData().get("updates");
+    }
+
+    @Test
+    @DisplayName("New creeps announce their progress once, steady movement sends nothing")
+    void testSteadyMovementIsFree() {
+        int slot = pool.spawn(CreepType.GHOST, 0, CreepPool.NO_SENDER, new Point(0, 0));
+        pool.move(slot, 0.01); // reach the first path point, now heading for (10, 0)
+
+        stream.diff();
+        assertEquals(1, stream.changedCount());
+        Map<String, Object> update = updates().get(0);
+        double progress = ((Number) update.get("progress")).doubleValue();
+        assertTrue(progress > 0 && progress < 1, "progress " + progress);
+        assertFalse(update.containsKey("hp"));
+
+        pool.move(slot, 0.2);
+        stream.diff();
+        assertEquals(0, stream.changedCount());
+    }
+
+    @Test
+    @DisplayName("Only changed fields are sent")
+    void testHitpointsAndSlow() {
+        int slot = pool.spawn(CreepType.GHOST, 0, CreepPool.NO_SENDER, new Point(0, 0));
+        stream.diff();
+
+        pool.takeDamage(slot, 3);
+        pool.applySlow(slot, 0.5, 1000);
+        stream.diff();
+
+        Map<String, Object> update = updates().get(0);
+        assertEquals(pool.getHitpoints(slot), update.get("hp"));
+        assertEquals(pool.getEffectiveClientSpeed(slot), ((Number) update.get("speed")).doubleValue());
+        assertTrue(update.containsKey("progress"), "a speed change re-anchors the progress");
+        assertEquals(CreepDeltaCommand.TOPIC, stream.createDelta(0).getTopic());
+    }
+
+    @Test
+    @DisplayName("Released creeps are left to the despawn command, a reused slot counts as a new creep")
+    void testRemovals() {
+        int first = pool.spawn(CreepType.GHOST, 0, CreepPool.NO_SENDER, new Point(0, 0));
+        stream.diff();
+
+        pool.release(first);
+        stream.diff();
+        assertEquals(0, stream.changedCount());
+        assertFalse(stream.createDelta(0).getData().containsKey("removed"));
+
+        int second = pool.spawn(CreepType.GHOST, 0, CreepPool.NO_SENDER, new Point(0, 0));
+        stream.diff();
+        assertEquals(first, second);
+        assertEquals(1, stream.changedCount());
+        assertEquals(pool.getId(second), updates().get(0).get("id"));
+    }
+
+    @Test
+    @DisplayName("Only creeps the pool logged as changed are looked at")
+    void testCostFollowsChanges() {
+        int[] slots = new int[100];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = pool.spawn(CreepType.GHOST, 0, CreepPool.NO_SENDER, new Point(0, 0));
+        }
+        stream.diff();
+        assertEquals(100, stream.changedCount());
+
+        for (int slot : slots) {
+            pool.move(slot, 0.2);
+        }
+        pool.takeDamage(slots[42], 1);
+        pool.takeDamage(slots[42], 1);
+        stream.diff();
+
+        assertEquals(1, stream.visitedCount());
+        assertEquals(1, stream.changedCount());
+        assertEquals(pool.getId(slots[42]), updates().get(0).get("id"));
+    }
+
+    @Test
+    @DisplayName("A slow running out is sent without the pool logging it")
+    void testSlowExpiry() {
+        int slot = pool.spawn(CreepType.GHOST, 0, CreepPool.NO_SENDER, new Point(0, 0));
+        pool.applySlow(slot, 0.5, 1000);
+        stream.diff();
+
+        stream.diff();
+        assertEquals(0, stream.changedCount(), "still slowed, nothing new");
+
+        clock.advance(2.0);
+        stream.diff();
+        assertEquals(1, stream.changedCount());
+        assertEquals(pool.getClientSpeed(slot), ((Number) updates().get(0).get("speed")).doubleValue());
+
+        stream.diff();
+        assertEquals(0, stream.visitedCount(), "back at full speed, no longer rechecked");
+    }
+}
@@ -0,0 +1,52 @@
+package be.lefief.game.turrest02.creep;
+
+import be.lefief.game.GameClock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PathGeometry Tests")
+class PathGeometryTest {
+
+    // Spawner (0, 0), then right along y = 0 and down along x = 10
+    private static final List<Point> PATH = List.of(new Point(0, 0), new Point(10, 0), new Point(10, 10));
+    private static final PathGeometry GEOMETRY = PathGeometry.of(new Point(0, 0), PATH);
+
+    @Test
+    @DisplayName("Progress maps to segment and position along the polyline")
+    void testLookup() {
+        assertEquals(20, GEOMETRY.getLength(), 1e-9);
+        assertEquals(3, GEOMETRY.segmentCount());
+
+        int segment = GEOMETRY.advance(0, 13);
+        assertEquals(2, segment);
+        assertEquals(10.5, GEOMETRY.xAt(segment, 13), 1e-9);
+        assertEquals(3.5, GEOMETRY.yAt(segment, 13), 1e-9);
+
+        assertEquals(GEOMETRY.segmentCount(), GEOMETRY.advance(segment, 25));
+        assertEquals(10.5, GEOMETRY.yAt(GEOMETRY.segmentCount(), 25), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Creeps end up at the same spot however the movement is split into ticks")
+    void testMovementIsTickIndependent() {
+        CreepPool pool = new CreepPool(List.of(GEOMETRY),
+                new CreepGrid[]{new CreepGrid(0, 0, 20, 20)}, new GameClock());
+        int once = pool.spawn(CreepType.GHOST, 0, CreepPool.NO_SENDER, new Point(0, 0));
+        int often = pool.spawn(CreepType.GHOST, 0, CreepPool.NO_SENDER, new Point(0, 0));
+
+        pool.move(once, 3.0);
+        for (int i = 0; i < 30; i++) {
+            pool.move(often, 0.1);
+        }
+
+        assertEquals(pool.getProgress(once), pool.getProgress(often), 1e-9);
+        assertEquals(pool.getX(once), pool.getX(often), 1e-9);
+        assertEquals(pool.getY(once), pool.getY(often), 1e-9);
+        assertEquals(pool.getCurrentPathIndex(once), pool.getCurrentPathIndex(often));
+    }
+}
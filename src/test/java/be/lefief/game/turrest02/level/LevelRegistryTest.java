@@ -0,0 +1,43 @@
+package be.lefief.game.turrest02.level;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LevelRegistry Tests")
+class LevelRegistryTest {
+
+    private final LevelRegistry registry = new LevelRegistry();
+
+    @Test
+    @DisplayName("Default level is loaded with road layouts and waves")
+    void testDefaultLevelLoaded() {
+        LevelTemplate template = registry.getDefaultTemplate();
+
+        assertNotNull(template);
+        assertEquals(LevelRegistry.DEFAULT_LEVEL, template.getName());
+        assertFalse(template.getRoadLayouts().isEmpty());
+        assertFalse(template.getWaves().isEmpty());
+        assertNull(registry.getTemplate("does-not-exist"));
+    }
+
+    @Test
+    @DisplayName("Section paths are shifted copies that start next to the spawner")
+    void testSectionPathIsShiftedCopy() {
+        RoadLayout layout = registry.getDefaultTemplate().getRoadLayouts().get(0);
+
+        List<Point> first = layout.sectionPath(0, 0);
+        List<Point> shifted = layout.sectionPath(100, 0);
+        first.get(0).translate(1000, 1000);  // callers own their copy
+
+        Point spawner = layout.sectionSpawner(100, 0);
+        Point start = shifted.get(0);
+        assertEquals(1, Math.abs(start.x - spawner.x) + Math.abs(start.y - spawner.y));
+        assertEquals(layout.sectionPath(0, 0).get(0).x + 100, start.x);
+        assertEquals(layout.getPathLength(), shifted.size());
+    }
+}
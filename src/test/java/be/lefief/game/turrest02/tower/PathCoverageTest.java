@@ -0,0 +1,98 @@
+package be.lefief.game.turrest02.tower;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PathCoverage Tests")
+class PathCoverageTest {
+
+    private static List<Point> straightPath(int length) {
+        List<Point> path = new ArrayList<>();
+        for (int x = 1; x <= length; x++) {
+            path.add(new Point(x, 0));
+        }
+        return path;
+    }
+
+    @Test
+    @DisplayName("Tower next to a straight path covers one contiguous range")
+    void testStraightPathSingleRange() {
+        // Tower one tile below path point x=10, range 2
+        PathCoverage coverage = PathCoverage.compute(10.5, 1.5, 2.0, straightPath(20), new Point(0, 0));
+
+        assertEquals(1, coverage.rangeCount());
+        assertTrue(coverage.covers(9));   // segment x=9.5..10.5, passes right above the tower
+        assertFalse(coverage.covers(0));
+        assertFalse(coverage.covers(19));
+        assertTrue(coverage.rangeStart(0) <= coverage.rangeEnd(0));
+    }
+
+    @Test
+    @DisplayName("Path looping past a tower twice yields two ranges")
+    void testLoopingPathTwoRanges() {
+        List<Point> path = new ArrayList<>(straightPath(10));
+        for (int y = 1; y <= 4; y++) path.add(new Point(10, y));
+        for (int x = 9; x >= 1; x--) path.add(new Point(x, 4));
+
+        PathCoverage coverage = PathCoverage.compute(5.5, 2.5, 2.1, path, new Point(0, 0));
+
+        assertEquals(2, coverage.rangeCount());
+        assertTrue(coverage.rangeEnd(0) < coverage.rangeStart(1));
+    }
+
+    @Test
+    @DisplayName("Segments that only touch the range at their end are covered")
+    void testSegmentTouchingRangeEdge() {
+        // Range 1 reaches the path only at x=10.5, the shared end of segments 9 and 10;
+        // both midpoints are out of range
+        PathCoverage coverage = PathCoverage.compute(10.5, 1.5, 1.0, straightPath(20), new Point(0, 0));
+
+        assertEquals(1, coverage.rangeCount());
+        assertEquals(9, coverage.rangeStart(0));
+        assertEquals(10, coverage.rangeEnd(0));
+    }
+
+    @Test
+    @DisplayName("Covered indices are exactly those whose segment enters the range")
+    void testCoverageMatchesSegmentDistance() {
+        // Range 3 one tile below the path reaches x in [7.67, 13.33]
+        PathCoverage coverage = PathCoverage.compute(10.5, 1.5, 3.0, straightPath(20), new Point(0, 0));
+
+        assertFalse(coverage.covers(6));  // x=6.5..7.5
+        assertTrue(coverage.covers(7));   // x=7.5..8.5
+        assertTrue(coverage.covers(12));  // x=12.5..13.5
+        assertFalse(coverage.covers(13)); // x=13.5..14.5
+    }
+
+    @Test
+    @DisplayName("Creeps on a partially covered index are only reached within range")
+    void testPartialIndexNeedsExactDistance() {
+        PathCoverage coverage = PathCoverage.compute(10.5, 1.5, 3.0, straightPath(20), new Point(0, 0));
+
+        assertTrue(coverage.isPartial(7));
+        assertFalse(coverage.isPartial(8));
+        assertFalse(coverage.isPartial(11));
+        assertTrue(coverage.isPartial(12));
+
+        assertFalse(coverage.reaches(7, 7.6, 0.5));   // covered index, but 2.9 tiles sideways
+        assertTrue(coverage.reaches(7, 8.4, 0.5));
+        assertTrue(coverage.reaches(12, 12.6, 0.5));
+        assertFalse(coverage.reaches(12, 13.4, 0.5));
+        assertTrue(coverage.reaches(9, 9.5, 0.5));
+        assertFalse(coverage.reaches(13, 13.6, 0.5));
+    }
+
+    @Test
+    @DisplayName("Tower far from the path covers nothing")
+    void testOutOfRange() {
+        PathCoverage coverage = PathCoverage.compute(10.5, 15.5, 3.0, straightPath(20), new Point(0, 0));
+
+        assertTrue(coverage.isEmpty());
+    }
+}
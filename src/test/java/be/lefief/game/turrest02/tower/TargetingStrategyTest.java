@@ -0,0 +1,271 @@
+package be.lefief.game.turrest02.tower;
+
+import be.lefief.game.GameClock;
+import be.lefief.game.turrest02.creep.CreepGrid;
+import be.lefief.game.turrest02.creep.CreepPool;
+import be.lefief.game.turrest02.creep.CreepType;
+import be.lefief.game.turrest02.creep.PathBuckets;
+import be.lefief.game.turrest02.creep.PathGeometry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TargetingStrategy Tests")
+class TargetingStrategyTest {
+
+    private static final Point SPAWNER = new Point(0, 0);
+    private static final List<Point> PATH = new ArrayList<>();
+
+    static {
+        for (int x = 1; x <= 20; x++) {
+            PATH.add(new Point(x, 0));
+        }
+    }
+
+    private final CreepPool pool = new CreepPool(List.of(PathGeometry.of(SPAWNER, PATH)),
+            new CreepGrid[]{new CreepGrid(0, 0, 30, 10)}, new GameClock());
+    // Range 3 one tile below the path: covers path indices 7..12
+    private final Tower tower = new BasicTower(0, 10, 1);
+
+    @BeforeEach
+    void setUp() {
+        tower.setPathCoverage(PathCoverage.compute(tower.getCenterX(), tower.getCenterY(),
+                tower.getShootingRange(), PATH, SPAWNER));
+    }
+
+    /**
+     * Spawn a creep and walk it {@code progress} tiles along the path (path index = floor(progress)).
+     */
+    private int creepAt(double progress) {
+        int slot = pool.spawn(CreepType.GHOST, 0, CreepPool.NO_SENDER, SPAWNER);
+        walk(slot, progress);
+        return slot;
+    }
+
+    private void walk(int slot, double tiles) {
+        pool.move(slot, tiles / pool.getClientSpeed(slot));
+    }
+
+    private int select(TargetingStrategy strategy) {
+        tower.setTargeting(strategy);
+        return strategy.selectTarget(tower, pool, pool.getSectionBuckets(0));
+    }
+
+    @Test
+    @DisplayName("FIRST picks the covered creep furthest along the path")
+    void testFirst() {
+        creepAt(3.5);
+        creepAt(7.5);
+        int furthest = creepAt(11.5);
+        creepAt(9.5);
+        creepAt(14.5);
+
+        assertEquals(furthest, select(TargetingStrategy.FIRST));
+    }
+
+    @Test
+    @DisplayName("LAST picks the covered creep least far along the path")
+    void testLast() {
+        creepAt(3.5);
+        creepAt(9.5);
+        int last = creepAt(7.5);
+        creepAt(11.5);
+        creepAt(14.5);
+
+        assertEquals(last, select(TargetingStrategy.LAST));
+    }
+
+    @Test
+    @DisplayName("STRONGEST picks the covered creep with the most hitpoints")
+    void testStrongest() {
+        int weak = creepAt(7.5);
+        int strong = creepAt(9.5);
+        int middle = creepAt(11.5);
+        creepAt(14.5);  // full hitpoints but out of range
+        pool.takeDamage(weak, 40);
+        pool.takeDamage(strong, 10);
+        pool.takeDamage(middle, 20);
+
+        assertEquals(strong, select(TargetingStrategy.STRONGEST));
+    }
+
+    @Test
+    @DisplayName("WEAKEST picks the covered creep with the fewest hitpoints")
+    void testWeakest() {
+        int weak = creepAt(9.5);
+        int strong = creepAt(7.5);
+        int middle = creepAt(11.5);
+        int outOfRange = creepAt(14.5);
+        pool.takeDamage(weak, 40);
+        pool.takeDamage(strong, 10);
+        pool.takeDamage(middle, 20);
+        pool.takeDamage(outOfRange, 45);
+
+        assertEquals(weak, select(TargetingStrategy.WEAKEST));
+    }
+
+    @Test
+    @DisplayName("CLOSEST picks the covered creep nearest to the tower")
+    void testClosest() {
+        creepAt(7.5);
+        int closest = creepAt(10.2);
+        creepAt(12.5);
+
+        assertEquals(closest, select(TargetingStrategy.CLOSEST));
+    }
+
+    @Test
+    @DisplayName("FIRST and LAST order creeps sharing a path index by progress")
+    void testProgressWithinBucket() {
+        int ahead = creepAt(9.8);
+        creepAt(9.2);  // spawned last, so it heads the bucket
+        assertEquals(ahead, select(TargetingStrategy.FIRST));
+
+        int behind = creepAt(8.2);
+        creepAt(8.8);
+        assertEquals(behind, select(TargetingStrategy.LAST));
+    }
+
+    @Test
+    @DisplayName("STRONGEST and WEAKEST follow hitpoint changes inside a path index")
+    void testHitpointsWithinBucket() {
+        int first = creepAt(9.2);
+        int second = creepAt(9.6);
+        pool.takeDamage(first, 10);
+        assertEquals(second, select(TargetingStrategy.STRONGEST));
+        assertEquals(first, select(TargetingStrategy.WEAKEST));
+
+        pool.takeDamage(second, 20);
+        assertEquals(first, select(TargetingStrategy.STRONGEST));
+        assertEquals(second, select(TargetingStrategy.WEAKEST));
+
+        pool.heal(second, 20);
+        assertEquals(second, select(TargetingStrategy.STRONGEST));
+
+        pool.takeDamage(first, pool.getHitpoints(first));
+        assertEquals(second, select(TargetingStrategy.WEAKEST));
+    }
+
+    @Test
+    @DisplayName("HP ties go to the creep furthest along the path")
+    void testHitpointTie() {
+        creepAt(8.5);
+        int ahead = creepAt(11.5);
+        creepAt(9.5);
+
+        assertEquals(ahead, select(TargetingStrategy.STRONGEST));
+        assertEquals(ahead, select(TargetingStrategy.WEAKEST));
+    }
+
+    @Test
+    @DisplayName("CLOSEST finds the nearest creep even when it sits on a path index scanned late")
+    void testClosestAcrossBuckets() {
+        creepAt(11.9);
+        creepAt(8.1);
+        int closest = creepAt(9.9);
+
+        assertEquals(closest, select(TargetingStrategy.CLOSEST));
+    }
+
+    @Test
+    @DisplayName("Strategies ignore dead creeps and find nothing when no creep is covered")
+    void testNoTarget() {
+        creepAt(3.5);
+        int dead = creepAt(9.5);
+        pool.takeDamage(dead, pool.getHitpoints(dead));
+
+        for (TargetingStrategy strategy : TargetingStrategy.values()) {
+            assertEquals(PathBuckets.NONE, select(strategy), strategy.name());
+        }
+    }
+
+    @Test
+    @DisplayName("Strategies skip creeps out of range on a partially covered index")
+    void testOutOfRangeOnCoveredIndex() {
+        int outOfRange = creepAt(7.1);  // index 7 is covered, but x=7.6 is 2.9 tiles sideways
+        assertTrue(tower.getPathCoverage().covers(pool.getCurrentPathIndex(outOfRange)));
+
+        for (TargetingStrategy strategy : TargetingStrategy.values()) {
+            assertEquals(PathBuckets.NONE, select(strategy), strategy.name());
+        }
+
+        int inRange = creepAt(7.9);
+        for (TargetingStrategy strategy : TargetingStrategy.values()) {
+            assertEquals(inRange, select(strategy), strategy.name());
+        }
+    }
+
+    @Test
+    @DisplayName("A tower keeps its target while it stays in range, even when the strategy prefers another")
+    void testStickyWhileInRange() {
+        tower.setTargeting(TargetingStrategy.FIRST);
+        int target = creepAt(9.5);
+        assertEquals(target, TowerManager.findTarget(tower, pool));
+
+        creepAt(11.5);
+        walk(target, 0.8);
+
+        assertEquals(target, TowerManager.findTarget(tower, pool));
+    }
+
+    @Test
+    @DisplayName("A tower retargets once its target walks out of range")
+    void testRetargetOutOfRange() {
+        tower.setTargeting(TargetingStrategy.FIRST);
+        int target = creepAt(11.5);
+        assertEquals(target, TowerManager.findTarget(tower, pool));
+
+        int next = creepAt(8.5);
+        walk(target, 3.0);
+
+        assertEquals(next, TowerManager.findTarget(tower, pool));
+        assertEquals(next, tower.getStickyTargetSlot());
+    }
+
+    @Test
+    @DisplayName("A tower retargets once its target leaves range without leaving its path index")
+    void testRetargetOutOfRangeOnCoveredIndex() {
+        tower.setTargeting(TargetingStrategy.LAST);
+        int target = creepAt(12.2);
+        assertEquals(target, TowerManager.findTarget(tower, pool));
+
+        walk(target, 0.7);  // x=13.4 is still index 12, but out of range
+        assertEquals(12, pool.getCurrentPathIndex(target));
+
+        assertEquals(PathBuckets.NONE, TowerManager.findTarget(tower, pool));
+    }
+
+    @Test
+    @DisplayName("A tower retargets once its target dies")
+    void testRetargetOnDeath() {
+        tower.setTargeting(TargetingStrategy.LAST);
+        int target = creepAt(8.5);
+        int next = creepAt(10.5);
+        assertEquals(target, TowerManager.findTarget(tower, pool));
+
+        pool.takeDamage(target, pool.getHitpoints(target));
+
+        assertEquals(next, TowerManager.findTarget(tower, pool));
+    }
+
+    @Test
+    @DisplayName("A tower does not follow its target's slot once it is reused by another creep")
+    void testRetargetOnSlotReuse() {
+        tower.setTargeting(TargetingStrategy.LAST);
+        int target = creepAt(8.5);
+        int next = creepAt(10.5);
+        assertEquals(target, TowerManager.findTarget(tower, pool));
+
+        pool.release(target);
+        int reused = creepAt(12.5);
+        assertEquals(target, reused, "freed slot is handed out again");
+
+        assertEquals(next, TowerManager.findTarget(tower, pool));
+    }
+}
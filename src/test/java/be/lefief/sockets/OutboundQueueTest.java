@@ -0,0 +1,59 @@
+package be.lefief.sockets;
+
+import be.lefief.sockets.commands.DeliveryPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OutboundQueue Tests")
+class OutboundQueueTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final OutboundQueue<String> queue = new OutboundQueue<>(String::length, now::get, 2, 100);
+
+    @Test
+    @DisplayName("A newer full-state frame drops the queued ones of its topic")
+    void testSuperseded() {
+        queue.offer("keyframe-1", "CREEP_KEYFRAME", DeliveryPolicy.LATEST_ONLY);
+        queue.offer("delta", "CREEP_DELTA", DeliveryPolicy.NORMAL);
+        queue.offer("keyframe-2", "CREEP_KEYFRAME", DeliveryPolicy.LATEST_ONLY);
+
+        assertEquals("delta", queue.poll());
+        assertEquals("keyframe-2", queue.poll());
+        assertNull(queue.poll());
+
+        OutboundQueue.Stats stats = queue.getStats();
+        assertEquals(1, stats.dropped());
+        assertEquals(2, stats.messagesSent());
+        assertEquals("delta".length() + "keyframe-2".length(), stats.bytesSent());
+    }
+
+    @Test
+    @DisplayName("Sustained overflow asks for a disconnect, critical frames are always accepted")
+    void testOverflow() {
+        assertTrue(queue.offer("a", null, DeliveryPolicy.NORMAL));
+        assertTrue(queue.offer("b", null, DeliveryPolicy.NORMAL));
+        assertTrue(queue.offer("c", null, DeliveryPolicy.NORMAL), "short overflow is tolerated");
+
+        now.addAndGet(OutboundQueue.OVERFLOW_GRACE_MS);
+        assertTrue(queue.offer("game over", null, DeliveryPolicy.CRITICAL));
+        assertFalse(queue.offer("d", null, DeliveryPolicy.NORMAL));
+        assertEquals(5, queue.getStats().queueDepth());
+        assertEquals(1, queue.getStats().overflowed());
+    }
+
+    @Test
+    @DisplayName("Draining back under the limits ends the overflow")
+    void testRecovery() {
+        queue.offer("a", null, DeliveryPolicy.NORMAL);
+        queue.offer("b", null, DeliveryPolicy.NORMAL);
+        queue.offer("c", null, DeliveryPolicy.NORMAL);
+        queue.poll();
+
+        now.addAndGet(OutboundQueue.OVERFLOW_GRACE_MS);
+        assertTrue(queue.offer("d", null, DeliveryPolicy.NORMAL));
+    }
+}
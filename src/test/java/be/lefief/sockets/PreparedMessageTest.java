@@ -0,0 +1,53 @@
+package be.lefief.sockets;
+
+import be.lefief.game.ai.BotSession;
+import be.lefief.sockets.commands.ServerToClientCommand;
+import be.lefief.sockets.commands.client.ClientSocketSubject;
+import be.lefief.util.CommandSerializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PreparedMessage Tests")
+class PreparedMessageTest {
+
+    /**
+     * Command whose data map counts how often Jackson reads it.
+     */
+    private static ServerToClientCommand countingCommand(AtomicInteger reads) {
+        return new ServerToClientCommand(ClientSocketSubject.GAME, "TEST", Map.of()) {
+            @Override
+            public Map<String, Object> getData() {
+                reads.incrementAndGet();
+                return Map.of("value", 42);
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("A broadcast payload is serialized once and shared")
+    void testSerializedOnce() {
+        AtomicInteger reads = new AtomicInteger();
+        PreparedMessage message = PreparedMessage.of(countingCommand(reads));
+
+        assertSame(message.getTextMessage(), message.getTextMessage());
+        assertEquals(message.getPayload(), message.getPayload());
+        assertEquals(1, reads.get());
+        assertEquals(CommandSerializer.serialize(message.getCommand()), message.getPayload());
+    }
+
+    @Test
+    @DisplayName("Bots never force the payload to be serialized")
+    void testBotsSkipSerialization() {
+        AtomicInteger reads = new AtomicInteger();
+        PreparedMessage message = PreparedMessage.of(countingCommand(reads));
+
+        new BotSession("bot").sendPrepared(message);
+
+        assertEquals(0, reads.get());
+    }
+}
@@ -0,0 +1,118 @@
+package be.lefief.sockets;
+
+import be.lefief.sockets.commands.DeliveryPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SessionWriter Tests")
+class SessionWriterTest {
+
+    @Test
+    @DisplayName("Frames of one session are written in order across several pool turns")
+    void testOrdering() throws InterruptedException {
+        int frames = SessionWriter.MAX_FRAMES_PER_TURN * 3 + 5;
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(frames);
+        SessionWriter<String> writer = new SessionWriter<>(String::length, SessionWriter.blocking(frame -> {
+            written.add(frame);
+            done.countDown();
+        }));
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < frames; i++) {
+            String frame = "frame-" + i;
+            expected.add(frame);
+            assertTrue(writer.offer(frame, null, DeliveryPolicy.NORMAL));
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(expected, written);
+    }
+
+    @Test
+    @DisplayName("A failing write does not stop the frames behind it")
+    void testWriteFailure() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        SessionWriter<String> writer = new SessionWriter<>(String::length, SessionWriter.blocking(frame -> {
+            if (frame.equals("bad")) throw new IllegalStateException("broken pipe");
+            done.countDown();
+        }));
+
+        writer.offer("bad", null, DeliveryPolicy.NORMAL);
+        writer.offer("good", null, DeliveryPolicy.NORMAL);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Stalled sessions hold no writer thread and do not delay delivery to others")
+    void testStalledSessionsDoNotBlockOthers() throws InterruptedException {
+        AtomicLong now = new AtomicLong();
+        List<SessionWriter<String>> stalled = new ArrayList<>();
+        CountDownLatch stalledWrites = new CountDownLatch(SessionWriter.THREADS + 2);
+        for (int i = 0; i < SessionWriter.THREADS + 2; i++) {
+            // Never completes, like a client that stopped reading
+            SessionWriter<String> writer = new SessionWriter<>(String::length,
+                    (frame, done) -> stalledWrites.countDown(), now::get, 1000);
+            assertTrue(writer.offer("stuck", null, DeliveryPolicy.NORMAL));
+            stalled.add(writer);
+        }
+        assertTrue(stalledWrites.await(5, TimeUnit.SECONDS));
+
+        int frames = 100;
+        CountDownLatch delivered = new CountDownLatch(frames);
+        SessionWriter<String> healthy = new SessionWriter<>(String::length,
+                SessionWriter.blocking(frame -> delivered.countDown()));
+        for (int i = 0; i < frames; i++) {
+            assertTrue(healthy.offer("frame-" + i, null, DeliveryPolicy.NORMAL));
+        }
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+
+        // Past the send time limit the stalled sessions are reported for closing
+        now.set(1001);
+        for (SessionWriter<String> writer : stalled) {
+            assertTrue(writer.isStalled());
+            assertFalse(writer.offer("more", null, DeliveryPolicy.NORMAL));
+        }
+        assertFalse(healthy.isStalled());
+    }
+
+    @Test
+    @DisplayName("A late completion resumes the session with the frames queued behind it")
+    void testAsyncCompletionResumes() throws InterruptedException {
+        List<Consumer<Throwable>> pending = Collections.synchronizedList(new ArrayList<>());
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+        SessionWriter<String> writer = new SessionWriter<>(String::length, (frame, completion) -> {
+            written.add(frame);
+            if (frame.equals("first")) {
+                pending.add(completion);
+                started.countDown();
+            } else {
+                completion.accept(null);
+            }
+            done.countDown();
+        });
+
+        writer.offer("first", null, DeliveryPolicy.NORMAL);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        writer.offer("second", null, DeliveryPolicy.NORMAL);
+        Thread.sleep(50);
+        assertEquals(List.of("first"), written);
+
+        pending.get(0).accept(null);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("first", "second"), written);
+    }
+}
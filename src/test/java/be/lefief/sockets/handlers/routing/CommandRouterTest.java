@@ -0,0 +1,111 @@
+package be.lefief.sockets.handlers.routing;
+
+import be.lefief.game.turrest02.commands.PlaceTowerCommand;
+import be.lefief.game.turrest02.handlers.PlaceTowerHandler;
+import be.lefief.sockets.ClientSession;
+import be.lefief.sockets.SecuredClientToServerCommand;
+import be.lefief.sockets.commands.ClientToServerCommand;
+import be.lefief.sockets.handlers.CommandHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CommandRouter Tests")
+class CommandRouterTest {
+
+    @Mock
+    private ClientSession clientSession;
+
+    private final CommandRouter router = new CommandRouter();
+    private final List<PlaceTowerCommand> received = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        PlaceTowerHandler topicHandler = new PlaceTowerHandler();
+        new CommandHandler<>(topicHandler) {
+            @Override
+            public void accept(SecuredClientToServerCommand<PlaceTowerCommand> command, ClientSession session) {
+                received.add(command.getCommand());
+            }
+        }.openChannel();
+        router.register(topicHandler);
+    }
+
+    @Test
+    @DisplayName("A raw message is routed by subject and topic and bound into the typed command")
+    void testHandleMessage() {
+        assertTrue(router.handleMessage(
+                "{\"subject\":\"GAME\",\"topic\":\"PLACE_TOWER\",\"data\":{\"x\":3,\"y\":4,\"towerType\":2}}",
+                clientSession));
+
+        assertEquals(1, received.size());
+        PlaceTowerCommand command = received.get(0);
+        assertEquals(3, command.getX());
+        assertEquals(4, command.getY());
+        assertEquals(2, command.getTowerType());
+        assertEquals(new PlaceTowerCommand.Payload(3, 4, 2), command.getTypedPayload());
+    }
+
+    @Test
+    @DisplayName("Topics still match case-insensitively, and data may come before the envelope")
+    void testCasingAndFieldOrder() {
+        assertTrue(router.handleMessage(
+                "{\"data\":{\"x\":1,\"y\":1,\"towerType\":1},\"extra\":[1,{}],\"topic\":\"place_tower\",\"subject\":\"GAME\"}",
+                clientSession));
+        assertEquals(1, received.size());
+        assertEquals(new PlaceTowerCommand.Payload(1, 1, 1), received.get(0).getTypedPayload());
+    }
+
+    @Test
+    @DisplayName("Data missing a payload field, or with a null one, is dropped instead of defaulting to 0")
+    void testIncompletePayload() {
+        assertFalse(router.handleMessage(
+                "{\"subject\":\"GAME\",\"topic\":\"PLACE_TOWER\",\"data\":{\"x\":3,\"y\":4}}", clientSession));
+        assertFalse(router.handleMessage(
+                "{\"subject\":\"GAME\",\"topic\":\"PLACE_TOWER\",\"data\":{\"x\":3,\"y\":null,\"towerType\":1}}",
+                clientSession));
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Unknown data fields are ignored")
+    void testExtraFields() {
+        assertTrue(router.handleMessage(
+                "{\"subject\":\"GAME\",\"topic\":\"PLACE_TOWER\",\"data\":{\"x\":3,\"y\":4,\"towerType\":2,\"rotation\":{\"deg\":90}}}",
+                clientSession));
+        assertEquals(2, received.get(0).getTowerType());
+    }
+
+    @Test
+    @DisplayName("Commands routed from an already bound map still get their typed data")
+    void testHandleBoundCommand() {
+        ClientToServerCommand command = new ClientToServerCommand();
+        command.setSubject("GAME");
+        command.setTopic("PLACE_TOWER");
+        command.setData(Map.of("x", 5, "y", 6, "towerType", 1));
+
+        router.handle(command, clientSession);
+
+        assertEquals(new PlaceTowerCommand.Payload(5, 6, 1), received.get(0).getTypedPayload());
+        assertEquals(Map.of("x", 5, "y", 6, "towerType", 1), received.get(0).getData());
+    }
+
+    @Test
+    @DisplayName("Unknown routes and malformed messages are dropped without reaching a handler")
+    void testUnroutable() {
+        assertFalse(router.handleMessage("{\"subject\":\"GAME\",\"topic\":\"NOPE\",\"data\":{\"x\":1}}", clientSession));
+        assertFalse(router.handleMessage("{\"subject\":\"GAME\",\"topic\":\"PLACE_TOWER\",\"data\":{", clientSession));
+        assertFalse(router.handleMessage("[]", clientSession));
+        assertTrue(received.isEmpty());
+    }
+}
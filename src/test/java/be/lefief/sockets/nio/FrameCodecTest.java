@@ -0,0 +1,83 @@
+package be.lefief.sockets.nio;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FrameCodec Tests")
+class FrameCodecTest {
+
+    private static byte[] frame(String payload) {
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(FrameCodec.HEADER_BYTES + bytes.length).putInt(bytes.length).put(bytes).array();
+    }
+
+    @Test
+    @DisplayName("Frames split over several reads are decoded once complete")
+    void testPartialFrames() {
+        byte[] first = frame("{\"topic\":\"PING\"}");
+        byte[] second = frame("héllo");
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        List<String> received = new ArrayList<>();
+
+        // First read: the whole first frame and half of the second
+        buffer.put(first).put(second, 0, 5);
+        buffer.flip();
+        assertTrue(FrameCodec.LENGTH_PREFIXED.decode(buffer, received::add));
+        buffer.compact();
+        assertEquals(List.of("{\"topic\":\"PING\"}"), received);
+
+        // Second read: the rest
+        buffer.put(second, 5, second.length - 5);
+        buffer.flip();
+        assertTrue(FrameCodec.LENGTH_PREFIXED.decode(buffer, received::add));
+        buffer.compact();
+        assertEquals(List.of("{\"topic\":\"PING\"}", "héllo"), received);
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    @DisplayName("Lines split over several reads are decoded once complete")
+    void testPartialLines() {
+        byte[] bytes = "{\"topic\":\"PING\"}\r\nhéllo\n".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        List<String> received = new ArrayList<>();
+
+        buffer.put(bytes, 0, 22);
+        buffer.flip();
+        assertTrue(FrameCodec.LINES.decode(buffer, received::add));
+        buffer.compact();
+        assertEquals(List.of("{\"topic\":\"PING\"}"), received);
+
+        buffer.put(bytes, 22, bytes.length - 22);
+        buffer.flip();
+        assertTrue(FrameCodec.LINES.decode(buffer, received::add));
+        buffer.compact();
+        assertEquals(List.of("{\"topic\":\"PING\"}", "héllo"), received);
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    @DisplayName("A line that fills the whole read buffer is rejected")
+    void testOversizedLine() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.put("0123456789abcdef".getBytes(StandardCharsets.US_ASCII));
+        buffer.flip();
+        assertFalse(FrameCodec.LINES.decode(buffer, message -> fail("nothing should be decoded")));
+    }
+
+    @Test
+    @DisplayName("A frame that can never fit the read buffer is rejected")
+    void testOversizedFrame() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putInt(13);
+        buffer.flip();
+        assertFalse(FrameCodec.LENGTH_PREFIXED.decode(buffer, message -> fail("nothing should be decoded")));
+    }
+}
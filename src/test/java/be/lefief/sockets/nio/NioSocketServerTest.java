@@ -0,0 +1,122 @@
+package be.lefief.sockets.nio;
+
+import be.lefief.lobby.SocketConnectionAcceptor;
+import be.lefief.sockets.ClientSession;
+import be.lefief.sockets.handlers.routing.CommandRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("NioSocketServer Tests")
+class NioSocketServerTest {
+
+    private final CountDownLatch closed = new CountDownLatch(1);
+    private final NioSocketServer server = new NioSocketServer(0, 2);
+
+    private final SocketConnectionAcceptor echo = new SocketConnectionAcceptor() {
+        @Override
+        public void register(ClientSession session, CommandRouter commandRouter) {
+            session.setOnMessage(message -> session.sendMessage("echo:" + message));
+            session.setOnClose(closed::countDown);
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    private static void writeFrame(DataOutputStream out, String payload) throws IOException {
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readFrame(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Frames are routed to the session handler and replies come back in order")
+    void testRoundTrip() throws Exception {
+        server.start(echo, null);
+        try (Socket socket = new Socket("localhost", server.getLocalPort())) {
+            socket.setSoTimeout(5000);
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+
+            for (int i = 0; i < 100; i++) {
+                writeFrame(out, "message-" + i);
+            }
+            out.flush();
+            for (int i = 0; i < 100; i++) {
+                assertEquals("echo:message-" + i, readFrame(in));
+            }
+        }
+        assertTrue(closed.await(5, TimeUnit.SECONDS), "closing the socket closes the session");
+    }
+
+    @Test
+    @DisplayName("The line codec serves newline-delimited frames")
+    void testLineRoundTrip() throws Exception {
+        NioSocketServer lineServer = new NioSocketServer(0, 1, FrameCodec.LINES);
+        lineServer.start(echo, null);
+        try (Socket socket = new Socket("localhost", lineServer.getLocalPort())) {
+            socket.setSoTimeout(5000);
+            PrintWriter out = new PrintWriter(
+                    new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+            BufferedReader in = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+
+            for (int i = 0; i < 100; i++) {
+                out.print("message-" + i + "\n");
+            }
+            out.flush();
+            for (int i = 0; i < 100; i++) {
+                assertEquals("echo:message-" + i, in.readLine());
+            }
+        } finally {
+            lineServer.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("A frame split over several reads is reassembled without holding a pooled buffer")
+    void testPartialFrame() throws Exception {
+        server.start(echo, null);
+        try (Socket socket = new Socket("localhost", server.getLocalPort())) {
+            socket.setSoTimeout(5000);
+            socket.setTcpNoDelay(true);
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            byte[] bytes = "split-message".getBytes(StandardCharsets.UTF_8);
+
+            out.writeInt(bytes.length);
+            out.write(bytes, 0, 5);
+            out.flush();
+            Thread.sleep(100);
+            // Between the halves the session only keeps the partial frame, its read buffer is back
+            assertTrue(server.getBufferPool().getPooledCount() >= 1);
+
+            out.write(bytes, 5, bytes.length - 5);
+            out.flush();
+            assertEquals("echo:split-message", readFrame(in));
+        }
+    }
+}
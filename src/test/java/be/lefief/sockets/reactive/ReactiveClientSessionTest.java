@@ -0,0 +1,93 @@
+package be.lefief.sockets.reactive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.reactivestreams.Subscription;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.socket.HandshakeInfo;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveClientSession Tests")
+class ReactiveClientSessionTest {
+
+    @Mock
+    private WebSocketSession webSocketSession;
+
+    private ReactiveClientSession session;
+    private final List<String> received = new ArrayList<>();
+    private boolean completed;
+    private Subscription subscription;
+
+    @BeforeEach
+    void setUp() {
+        when(webSocketSession.getHandshakeInfo()).thenReturn(
+                new HandshakeInfo(URI.create("ws://localhost/ws/lobby"), new HttpHeaders(), Mono.empty(), null));
+        lenient().when(webSocketSession.textMessage(anyString())).thenAnswer(invocation -> new WebSocketMessage(
+                WebSocketMessage.Type.TEXT,
+                DefaultDataBufferFactory.sharedInstance.wrap(invocation.<String>getArgument(0).getBytes(StandardCharsets.UTF_8))));
+        session = new ReactiveClientSession(webSocketSession);
+        session.outbound().subscribe(new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription s) {
+                subscription = s;
+            }
+
+            @Override
+            protected void hookOnNext(WebSocketMessage message) {
+                received.add(message.getPayloadAsText());
+            }
+
+            @Override
+            protected void hookOnComplete() {
+                completed = true;
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Frames are emitted in order and only as the transport requests them")
+    void testDemand() {
+        session.sendMessage("a");
+        session.sendMessage("b");
+        session.sendMessage("c");
+        assertEquals(List.of(), received);
+        assertEquals(3, session.getOutboundStats().queueDepth());
+
+        subscription.request(2);
+        assertEquals(List.of("a", "b"), received);
+
+        subscription.request(5);
+        session.sendMessage("d");
+        assertEquals(List.of("a", "b", "c", "d"), received);
+        assertEquals(0, session.getOutboundStats().queueDepth());
+    }
+
+    @Test
+    @DisplayName("Closing completes the outbound stream and drops later frames")
+    void testClose() {
+        session.handleClose();
+        session.sendMessage("late");
+        subscription.request(1);
+
+        assertTrue(completed);
+        assertEquals(List.of(), received);
+    }
+}
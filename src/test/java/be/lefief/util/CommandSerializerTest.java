@@ -0,0 +1,79 @@
+package be.lefief.util;
+
+import be.lefief.game.map.GameMap;
+import be.lefief.game.map.LevelLoader;
+import be.lefief.game.map.Structure;
+import be.lefief.game.turrest02.commands.FullMapResponse;
+import be.lefief.game.turrest02.commands.PlayerScoreEntry;
+import be.lefief.game.turrest02.commands.PlayerTakesDamageCommand;
+import be.lefief.game.turrest02.commands.ScoreboardCommand;
+import be.lefief.sockets.commands.ServerToClientCommand;
+import be.lefief.sockets.commands.client.ClientSocketSubject;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CommandSerializer Tests")
+class CommandSerializerTest {
+
+    private static final ObjectMapper OM = new ObjectMapper();
+
+    private static JsonNode tree(ServerToClientCommand command) throws IOException {
+        return OM.readTree(CommandSerializer.serialize(command));
+    }
+
+    @Test
+    @DisplayName("Record payloads produce the same JSON as the equivalent map")
+    void testRecordMatchesMap() throws IOException {
+        ServerToClientCommand typed = new PlayerTakesDamageCommand(1, 5, 95);
+        ServerToClientCommand legacy = new ServerToClientCommand(ClientSocketSubject.GAME,
+                PlayerTakesDamageCommand.TOPIC, Map.of("playerNumber", 1, "damage", 5, "remainingHitpoints", 95));
+
+        assertEquals(tree(legacy), tree(typed));
+        assertEquals(95, typed.getData().get("remainingHitpoints"));
+    }
+
+    @Test
+    @DisplayName("Boolean record components keep their 'is' prefixed keys")
+    void testBooleanKeys() throws IOException {
+        JsonNode data = tree(new ScoreboardCommand(List.of(new PlayerScoreEntry(0, 2, "alice", 40, true)))).get("data");
+
+        JsonNode player = data.get("players").get(0);
+        assertTrue(player.get("isAlive").asBoolean());
+        assertEquals("alice", player.get("username").asText());
+        assertFalse(player.has("alive"));
+    }
+
+    @Test
+    @DisplayName("Full map is streamed with the tile layout the client expects")
+    void testFullMapLayout() throws IOException {
+        Structure road = new Structure() {
+            @Override
+            public int getStructureTypeId() {
+                return 1;
+            }
+        };
+        GameMap map = GameMap.createFromLevelWithRoads(LevelLoader.load("levels/turrest02/0001.level"), 2,
+                Set.of(new Point(1, 1)), () -> road);
+
+        JsonNode data = tree(new FullMapResponse(map, Map.of(0, 3, 1, 5))).get("data");
+
+        assertEquals(map.getWidth() * map.getHeight(), data.get("tiles").size());
+        JsonNode roadTile = data.get("tiles").get(1 * map.getHeight() + 1);
+        assertEquals(1, roadTile.get("x").asInt());
+        assertEquals(1, roadTile.get("structureType").asInt());
+        assertEquals(List.of(0), OM.convertValue(roadTile.get("owners"), List.class));
+        assertEquals(5, data.get("playerColorMap").get("1").asInt());
+        assertTrue(data.get("creeps").get(0).has("isHealer"));
+        assertTrue(data.get("towers").get(0).has("costGold"));
+    }
+}